@@ -0,0 +1,18 @@
+package io.scalecube.account.api;
+
+import io.scalecube.services.annotations.Service;
+import io.scalecube.services.annotations.ServiceMethod;
+import reactor.core.publisher.Mono;
+
+@Service("organizations-metrics")
+public interface OrganizationMetricsService {
+
+  /**
+   * Returns a snapshot of the organization service metrics in the Prometheus text exposition
+   * format.
+   *
+   * @return metrics snapshot.
+   */
+  @ServiceMethod
+  Mono<String> prometheus();
+}
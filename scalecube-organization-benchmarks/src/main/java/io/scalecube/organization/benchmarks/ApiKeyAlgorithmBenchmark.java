@@ -0,0 +1,93 @@
+package io.scalecube.organization.benchmarks;
+
+import io.scalecube.account.api.AddOrganizationApiKeyRequest;
+import io.scalecube.account.api.ApiKey;
+import io.scalecube.organization.jwt.WebToken;
+import io.scalecube.organization.tokens.KeyAlgorithm;
+import io.scalecube.organization.tokens.ParsedJwt;
+import io.scalecube.organization.tokens.store.ApiKeyBuilder;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares API key algorithms: key pair generation, API key signing, building the API key by
+ * {@link ApiKeyBuilder} and API key verification.
+ *
+ * <p>Run with <code>java -jar target/benchmarks.jar ApiKeyAlgorithmBenchmark</code>.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ApiKeyAlgorithmBenchmark {
+
+  private static final Map<String, String> CLAIMS = Collections.singletonMap("role", "Member");
+
+  @Param({"RSA", "EC"})
+  private String algorithm;
+
+  private KeyPairGenerator keyPairGenerator;
+  private KeyPair keyPair;
+  private WebToken webToken;
+  private String apiKey;
+  private AddOrganizationApiKeyRequest request;
+
+  /** Generates the signing key and the API key. */
+  @Setup
+  public void setUp() {
+    keyPairGenerator = KeyAlgorithm.of(algorithm).newKeyPairGenerator(0);
+    keyPair = keyPairGenerator.generateKeyPair();
+    webToken = new WebToken("scalecube.io", "org-1");
+    apiKey = sign();
+    request = new AddOrganizationApiKeyRequest(null, "org-1", "api-key", new HashMap<>(CLAIMS));
+  }
+
+  @Benchmark
+  public KeyPair generateKeyPair() {
+    return keyPairGenerator.generateKeyPair();
+  }
+
+  @Benchmark
+  public String sign() {
+    return webToken.createToken("org-1", "org-1", null, "key-1", keyPair.getPrivate(), CLAIMS);
+  }
+
+  /**
+   * Builds and signs the API key the way the add API key operation does.
+   *
+   * @return API key.
+   */
+  @Benchmark
+  public ApiKey buildApiKey() {
+    return ApiKeyBuilder.build(keyPair.getPrivate(), "org-1", "key-1", request);
+  }
+
+  /**
+   * Parses and verifies the API key.
+   *
+   * @return parsed API key.
+   */
+  @Benchmark
+  public ParsedJwt verify() {
+    ParsedJwt token = ParsedJwt.parse(apiKey);
+    token.verifySignature(keyPair.getPublic());
+    return token;
+  }
+}
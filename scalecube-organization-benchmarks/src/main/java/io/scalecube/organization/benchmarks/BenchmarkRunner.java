@@ -0,0 +1,50 @@
+package io.scalecube.organization.benchmarks;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.ProfilerConfig;
+
+/**
+ * Entry point of the benchmarks jar. Takes the JMH command line options and always adds the GC
+ * profiler, so every run reports the allocation rate per operation next to the timings, e.g.
+ * <code>java -jar target/benchmarks.jar OrganizationDocumentBenchmark</code>.
+ *
+ * <p>Help and list requests are passed on to the JMH main as they are.
+ */
+public final class BenchmarkRunner {
+
+  private BenchmarkRunner() {
+    // Do not instantiate
+  }
+
+  /**
+   * Runs the benchmarks.
+   *
+   * @param args JMH command line options.
+   * @throws Exception in case the options are invalid or a benchmark fails.
+   */
+  public static void main(String[] args) throws Exception {
+    CommandLineOptions cli = new CommandLineOptions(args);
+    if (cli.shouldHelp()
+        || cli.shouldList()
+        || cli.shouldListWithParams()
+        || cli.shouldListProfilers()
+        || cli.shouldListResultFormats()) {
+      Main.main(args);
+      return;
+    }
+    boolean gcProfiler =
+        cli.getProfilers().stream()
+            .map(ProfilerConfig::getKlass)
+            .anyMatch(name -> name.equals("gc") || name.equals(GCProfiler.class.getName()));
+    OptionsBuilder options = new OptionsBuilder();
+    options.parent(cli);
+    if (!gcProfiler) {
+      options.addProfiler(GCProfiler.class);
+    }
+    new Runner(options.build()).run();
+  }
+}
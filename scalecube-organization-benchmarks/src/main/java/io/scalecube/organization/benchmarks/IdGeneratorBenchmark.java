@@ -0,0 +1,36 @@
+package io.scalecube.organization.benchmarks;
+
+import io.scalecube.organization.tokens.IdGenerator;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link IdGenerator#generateId()}, called for every new organization and API key.
+ *
+ * <p>Run with <code>java -jar target/benchmarks.jar IdGeneratorBenchmark</code>.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IdGeneratorBenchmark {
+
+  @Benchmark
+  public String generateId() {
+    return IdGenerator.generateId();
+  }
+
+  @Benchmark
+  @Threads(4)
+  public String generateIdContended() {
+    return IdGenerator.generateId();
+  }
+}
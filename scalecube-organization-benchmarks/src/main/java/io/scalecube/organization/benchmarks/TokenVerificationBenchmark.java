@@ -0,0 +1,131 @@
+package io.scalecube.organization.benchmarks;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Header;
+import io.jsonwebtoken.Jwt;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.scalecube.account.api.Token;
+import io.scalecube.organization.tokens.InvalidTokenException;
+import io.scalecube.organization.tokens.ParsedJwt;
+import io.scalecube.organization.tokens.PublicKeyProvider;
+import io.scalecube.organization.tokens.TokenVerifier;
+import io.scalecube.organization.tokens.TokenVerifierImpl;
+import io.scalecube.security.api.Profile;
+import io.scalecube.security.jwt.DefaultJwtAuthenticator;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PublicKey;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Mono;
+
+/**
+ * Compares the token verification path which parses the token several times (regex split, unsigned
+ * parse to resolve the key, then a full parse and verify by a per-call {@link
+ * DefaultJwtAuthenticator}) with the single pass {@link TokenVerifierImpl}.
+ *
+ * <p>Run with <code>java -jar target/benchmarks.jar TokenVerificationBenchmark</code>. The GC
+ * profiler also compares the allocation rate per call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TokenVerificationBenchmark {
+
+  private static final String KEY_ID = "42";
+
+  private Map<String, PublicKey> keys;
+  private Token token;
+  private TokenVerifier singlePassVerifier;
+
+  /** Generates the signing key and the token. */
+  @Setup
+  public void setUp() throws Exception {
+    KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+    keyPairGenerator.initialize(2048);
+    KeyPair keyPair = keyPairGenerator.generateKeyPair();
+
+    keys = Collections.singletonMap(KEY_ID, keyPair.getPublic());
+
+    token =
+        new Token(
+            Jwts.builder()
+                .setHeaderParam("kid", KEY_ID)
+                .setIssuer("https://issuer/")
+                .setSubject("user-1")
+                .setAudience("tenant")
+                .setExpiration(new Date(System.currentTimeMillis() + TimeUnit.DAYS.toMillis(1)))
+                .claim("email", "user1@scalecube.io")
+                .claim("email_verified", true)
+                .claim("name", "foo")
+                .claim("family_name", "fname")
+                .claim("given_name", "lname")
+                .signWith(keyPair.getPrivate(), SignatureAlgorithm.RS256)
+                .compact());
+
+    singlePassVerifier = new TokenVerifierImpl(new KeyIdPublicKeyProvider(keys));
+  }
+
+  /**
+   * Verifies the token the way it was done before the single pass verifier.
+   *
+   * @return profile.
+   */
+  @Benchmark
+  public Profile multiPass() {
+    String tokenString = token.token();
+    Jwt<Header, Claims> unsigned = Jwts.parser().parseClaimsJwt(removeSignature(tokenString));
+    PublicKey publicKey = keys.get(unsigned.getHeader().get("kid").toString());
+    return new DefaultJwtAuthenticator(map -> Mono.just(publicKey))
+        .authenticate(tokenString)
+        .block();
+  }
+
+  @Benchmark
+  public Profile singlePass() {
+    return singlePassVerifier.verify(token).block();
+  }
+
+  private static String removeSignature(String token) {
+    String[] parts = token.split("\\.");
+    if (parts.length != 3) {
+      throw new InvalidTokenException("The token was expected to have 3 parts");
+    }
+    return String.format("%s.%s.", parts[0], parts[1]);
+  }
+
+  private static class KeyIdPublicKeyProvider implements PublicKeyProvider {
+
+    private final Map<String, PublicKey> keys;
+
+    private KeyIdPublicKeyProvider(Map<String, PublicKey> keys) {
+      this.keys = keys;
+    }
+
+    @Override
+    public Mono<PublicKey> getPublicKey(String token) {
+      return Mono.fromCallable(() -> ParsedJwt.parse(token)).flatMap(this::getPublicKey);
+    }
+
+    @Override
+    public Mono<PublicKey> getPublicKey(ParsedJwt token) {
+      return Mono.fromCallable(() -> keys.get(token.keyId()));
+    }
+  }
+}
@@ -0,0 +1,87 @@
+package io.scalecube.organization.operation;
+
+import io.scalecube.account.api.OrganizationMember;
+import io.scalecube.account.api.Role;
+import io.scalecube.organization.domain.Organization;
+import io.scalecube.organization.tokens.JwtApiKey;
+import io.scalecube.security.api.Profile;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the role checks of the operations against organizations of growing size: the member
+ * role checks of {@link Organization} and the API key filter of {@link ServiceOperation}. The
+ * checked user is the last member added, and the organization has a single owner, so the checks
+ * scan all members.
+ *
+ * <p>Lives in the package of the operations, as the API key filter is protected. Run with <code>
+ * java -jar target/benchmarks.jar RoleCheckBenchmark</code>.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RoleCheckBenchmark {
+
+  @Param({"1", "100", "10000"})
+  private int members;
+
+  private Organization organization;
+  private Profile profile;
+
+  /** Builds the organization, with 100 API keys of all roles. */
+  @Setup
+  public void setUp() {
+    organization = new Organization("ORG-1", "organization", "org@scalecube.io", "owner");
+    String userId = "owner";
+    for (int i = 1; i < members; i++) {
+      userId = "user-" + i;
+      organization.addMember(new OrganizationMember(userId, Role.Member.name()));
+    }
+    Role[] roles = Role.values();
+    for (int i = 0; i < 100; i++) {
+      organization.addApiKey(
+          new JwtApiKey(
+              "api-key-" + i,
+              Collections.singletonMap("role", roles[i % roles.length].name()),
+              "key",
+              "KEY-" + i));
+    }
+    profile = Profile.builder().userId(userId).name("user").build();
+  }
+
+  @Benchmark
+  public boolean isOwner() {
+    return organization.isInRole(profile.userId(), Role.Owner);
+  }
+
+  @Benchmark
+  public boolean isLastOwner() {
+    return organization.isLastOwner("owner");
+  }
+
+  /**
+   * Counts the API keys an admin may see.
+   *
+   * @return number of API keys.
+   */
+  @Benchmark
+  public long apiKeyFilterBy() {
+    return organization.apiKeys().stream()
+        .filter(ServiceOperation.apiKeyFilterBy(Role.Admin))
+        .count();
+  }
+}
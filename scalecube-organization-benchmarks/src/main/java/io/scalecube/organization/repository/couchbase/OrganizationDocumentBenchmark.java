@@ -0,0 +1,130 @@
+package io.scalecube.organization.repository.couchbase;
+
+import com.couchbase.client.java.document.json.JsonObject;
+import io.scalecube.account.api.OrganizationMember;
+import io.scalecube.account.api.Role;
+import io.scalecube.organization.domain.Organization;
+import io.scalecube.organization.tokens.JwtApiKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures encoding and decoding of organization documents by {@link JacksonTranslationService},
+ * as strings and as bytes, from a single owner up to 10k members, with or without 100 API keys,
+ * in every {@link ApiKeysEncoding}.
+ *
+ * <p>Lives in the package of the translation service, which is package private. Run with <code>
+ * java -jar target/benchmarks.jar OrganizationDocumentBenchmark</code>. The document sizes are
+ * reported by {@link OrganizationDocumentSizes}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrganizationDocumentBenchmark {
+
+  // about the size of a signed RS256 API key
+  private static final int API_KEY_LENGTH = 600;
+
+  @Param({"1", "100", "10000"})
+  private int members;
+
+  @Param({"0", "100"})
+  private int apiKeys;
+
+  @Param({"JSON", "DEFLATE"})
+  private ApiKeysEncoding apiKeysEncoding;
+
+  private JacksonTranslationService translationService;
+  private Organization organization;
+  private String document;
+  private byte[] documentBytes;
+
+  /** Builds the organization and its encoded document. */
+  @Setup
+  public void setUp() {
+    translationService = new JacksonTranslationService(apiKeysEncoding);
+    organization = organization(members, apiKeys);
+    document = translationService.encode(organization);
+    documentBytes = translationService.encodeToBytes(organization);
+  }
+
+  /**
+   * Builds an organization of a single owner and further members of all roles, and API keys of
+   * random bytes.
+   *
+   * @param members number of members, including the owner.
+   * @param apiKeys number of API keys.
+   * @return organization.
+   */
+  static Organization organization(int members, int apiKeys) {
+    Random random = new Random(42);
+    Organization organization =
+        new Organization("ORG-0123456789ABCDEF", "organization", "org@scalecube.io", "owner");
+    Role[] roles = Role.values();
+    for (int i = 1; i < members; i++) {
+      String userId = "google-oauth2|" + (100_000_000 + i);
+      organization.addMember(new OrganizationMember(userId, roles[i % roles.length].name()));
+    }
+    for (int i = 0; i < apiKeys; i++) {
+      byte[] key = new byte[API_KEY_LENGTH * 3 / 4];
+      random.nextBytes(key);
+      organization.addApiKey(
+          new JwtApiKey(
+              "api-key-" + i,
+              Collections.singletonMap("role", roles[i % roles.length].name()),
+              Base64.getUrlEncoder().encodeToString(key),
+              "KEY-" + i));
+    }
+    return organization;
+  }
+
+  @Benchmark
+  public String encode() {
+    return translationService.encode(organization);
+  }
+
+  @Benchmark
+  public Organization decode() {
+    return translationService.decode(document, Organization.class);
+  }
+
+  @Benchmark
+  public byte[] encodeToBytes() {
+    return translationService.encodeToBytes(organization);
+  }
+
+  @Benchmark
+  public Organization decodeBytes() {
+    return translationService.decode(documentBytes, Organization.class);
+  }
+
+  /**
+   * Decodes the document the way it was read as a <code>JsonDocument</code>: parsed into a
+   * <code>JsonObject</code> by the transcoder, printed back and parsed again.
+   *
+   * @return organization.
+   */
+  @Benchmark
+  public Organization decodeJsonObject() {
+    return translationService.decode(
+        JsonObject.fromJson(new String(documentBytes, StandardCharsets.UTF_8)).toString(),
+        Organization.class);
+  }
+}
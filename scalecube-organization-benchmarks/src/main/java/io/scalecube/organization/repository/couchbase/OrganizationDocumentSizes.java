@@ -0,0 +1,44 @@
+package io.scalecube.organization.repository.couchbase;
+
+import io.scalecube.organization.domain.Organization;
+
+/**
+ * Reports the size of the organization documents of {@link OrganizationDocumentBenchmark} in every
+ * {@link ApiKeysEncoding}, as JMH has no fit for a per-trial constant. Run this class from the
+ * benchmarks jar, i.e. <code>java -cp target/benchmarks.jar</code> followed by the class name.
+ */
+public final class OrganizationDocumentSizes {
+
+  private static final int[] MEMBERS = {1, 100, 10_000};
+  private static final int[] API_KEYS = {0, 100};
+
+  private OrganizationDocumentSizes() {
+    // Do not instantiate
+  }
+
+  /**
+   * Prints the document sizes in bytes.
+   *
+   * @param args ignored.
+   */
+  public static void main(String[] args) {
+    ApiKeysEncoding[] encodings = ApiKeysEncoding.values();
+    StringBuilder header = new StringBuilder(String.format("%8s %8s", "members", "apiKeys"));
+    for (ApiKeysEncoding encoding : encodings) {
+      header.append(String.format(" %10s", encoding));
+    }
+    System.out.println(header);
+
+    for (int members : MEMBERS) {
+      for (int apiKeys : API_KEYS) {
+        Organization organization = OrganizationDocumentBenchmark.organization(members, apiKeys);
+        StringBuilder row = new StringBuilder(String.format("%8d %8d", members, apiKeys));
+        for (ApiKeysEncoding encoding : encodings) {
+          int bytes = new JacksonTranslationService(encoding).encodeToBytes(organization).length;
+          row.append(String.format(" %10d", bytes));
+        }
+        System.out.println(row);
+      }
+    }
+  }
+}
@@ -1,5 +1,8 @@
 package io.scalecube.organization;
 
+import static java.util.Objects.requireNonNull;
+
+import com.codahale.metrics.MetricRegistry;
 import io.scalecube.account.api.AddOrganizationApiKeyRequest;
 import io.scalecube.account.api.CreateOrganizationRequest;
 import io.scalecube.account.api.CreateOrganizationResponse;
@@ -22,13 +25,16 @@ import io.scalecube.account.api.LeaveOrganizationRequest;
 import io.scalecube.account.api.LeaveOrganizationResponse;
 import io.scalecube.account.api.OrganizationService;
 import io.scalecube.account.api.OrganizationServiceException;
-import io.scalecube.account.api.ServiceOperationException;
 import io.scalecube.account.api.UpdateOrganizationMemberRoleRequest;
 import io.scalecube.account.api.UpdateOrganizationMemberRoleResponse;
 import io.scalecube.account.api.UpdateOrganizationRequest;
 import io.scalecube.account.api.UpdateOrganizationResponse;
+import io.scalecube.organization.affinity.OrganizationAffinity;
 import io.scalecube.organization.config.AppConfiguration;
+import io.scalecube.organization.metrics.TimedKeyStore;
+import io.scalecube.organization.metrics.TimedOrganizationsRepository;
 import io.scalecube.organization.operation.AddOrganizationApiKey;
+import io.scalecube.organization.operation.ConflictRetryInterceptor;
 import io.scalecube.organization.operation.CreateOrganization;
 import io.scalecube.organization.operation.DeleteOrganization;
 import io.scalecube.organization.operation.DeleteOrganizationApiKey;
@@ -38,29 +44,48 @@ import io.scalecube.organization.operation.GetUserOrganizationsMembership;
 import io.scalecube.organization.operation.InviteMember;
 import io.scalecube.organization.operation.KickoutMember;
 import io.scalecube.organization.operation.LeaveOrganization;
+import io.scalecube.organization.operation.OperationChain;
+import io.scalecube.organization.operation.OperationInterceptor;
+import io.scalecube.organization.operation.OperationInterceptors;
 import io.scalecube.organization.operation.UpdateOrganization;
 import io.scalecube.organization.operation.UpdateOrganizationMemberRole;
+import io.scalecube.organization.repository.CoalescingOrganizationsRepository;
 import io.scalecube.organization.repository.OrganizationsRepository;
+import io.scalecube.organization.tokens.KeyAlgorithm;
+import io.scalecube.organization.tokens.KeyPairPool;
 import io.scalecube.organization.tokens.TokenVerifier;
+import io.scalecube.organization.tokens.store.ApiKeysCleanupWorker;
 import io.scalecube.organization.tokens.store.KeyStore;
-import java.security.KeyPairGenerator;
-import java.security.NoSuchAlgorithmException;
-import java.util.concurrent.Executors;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Scheduler;
-import reactor.core.scheduler.Schedulers;
 
 public class OrganizationServiceImpl implements OrganizationService {
 
   private static final Logger logger = LoggerFactory.getLogger(OrganizationServiceImpl.class);
 
-  private final TokenVerifier tokenVerifier;
-  private final OrganizationsRepository repository;
   private final KeyStore keyStore;
-  private final KeyPairGenerator keyPairGenerator;
-  private final Scheduler scheduler;
+  private final KeyPairPool keyPairPool;
+  private final ApiKeysCleanupWorker apiKeysCleanupWorker;
+  private final ServiceSchedulers schedulers;
+  private final OperationChain chain;
+
+  // operations are stateless, so they are built once and shared by all requests
+  private final CreateOrganization createOrganization;
+  private final GetUserOrganizationsMembership getUserOrganizationsMembership;
+  private final DeleteOrganization deleteOrganization;
+  private final UpdateOrganization updateOrganization;
+  private final GetOrganizationMembers getOrganizationMembers;
+  private final InviteMember inviteMember;
+  private final KickoutMember kickoutMember;
+  private final LeaveOrganization leaveOrganization;
+  private final AddOrganizationApiKey addOrganizationApiKey;
+  private final DeleteOrganizationApiKey deleteOrganizationApiKey;
+  private final GetOrganization getOrganization;
+  private final UpdateOrganizationMemberRole updateOrganizationMemberRole;
 
   /**
    * Create instance of organization service.
@@ -71,300 +96,392 @@ public class OrganizationServiceImpl implements OrganizationService {
    */
   public OrganizationServiceImpl(
       OrganizationsRepository repository, KeyStore keyStore, TokenVerifier tokenVerifier) {
-    this.repository = repository;
+    this(builder().repository(repository).keyStore(keyStore).tokenVerifier(tokenVerifier));
+  }
+
+  /**
+   * Create instance of organization service.
+   *
+   * @param repository data access repository
+   * @param keyStore key store
+   * @param tokenVerifier token verifier
+   * @param keyPairPool pool of api key pairs
+   */
+  public OrganizationServiceImpl(
+      OrganizationsRepository repository,
+      KeyStore keyStore,
+      TokenVerifier tokenVerifier,
+      KeyPairPool keyPairPool) {
+    this(
+        builder()
+            .repository(repository)
+            .keyStore(keyStore)
+            .tokenVerifier(tokenVerifier)
+            .keyPairPool(keyPairPool));
+  }
+
+  private OrganizationServiceImpl(Builder builder) {
+    OrganizationsRepository repository = requireNonNull(builder.repository, "repository");
+    final TokenVerifier tokenVerifier = requireNonNull(builder.tokenVerifier, "tokenVerifier");
+    KeyStore keyStore = requireNonNull(builder.keyStore, "keyStore");
+    this.keyPairPool = builder.keyPairPool != null ? builder.keyPairPool : keyPairPool();
+    this.apiKeysCleanupWorker =
+        builder.apiKeysCleanupWorker != null
+            ? builder.apiKeysCleanupWorker
+            : ApiKeysCleanupWorker.builder().repository(repository).keyStore(keyStore).build();
+    if (builder.writeCoalescing) {
+      repository = new CoalescingOrganizationsRepository(repository);
+    }
+    if (builder.stageTimings) {
+      // the cleanup worker runs outside of requests, so it keeps the untimed ones;
+      // coalesced batches are saved outside of requests too, so their callers are timed instead
+      repository = new TimedOrganizationsRepository(repository);
+      keyStore = new TimedKeyStore(keyStore);
+    }
     this.keyStore = keyStore;
-    this.tokenVerifier = tokenVerifier;
-    this.keyPairGenerator = keyPairGenerator();
-    this.scheduler =
-        Schedulers.fromExecutor(
-            Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors()));
+    this.schedulers =
+        builder.schedulers != null ? builder.schedulers : ServiceSchedulers.builder().build();
+
+    OperationChain.Builder chain =
+        OperationChain.builder()
+            .interceptor(OperationInterceptors.errorMapping());
+    if (builder.affinity != null) {
+      chain.interceptor(builder.affinity);
+    }
+    if (builder.stageTimings) {
+      chain.interceptor(
+          OperationInterceptors.stageTimings(
+              builder.metricRegistry, OrganizationServiceImpl.class));
+    }
+    chain.interceptor(OperationInterceptors.logging(logger));
+    if (builder.metricRegistry != null) {
+      chain.interceptor(
+          OperationInterceptors.metrics(builder.metricRegistry, OrganizationServiceImpl.class));
+    }
+    chain.interceptor(
+        ConflictRetryInterceptor.builder()
+            .maxRetries(builder.conflictRetries)
+            .backoff(builder.conflictFirstBackoff, builder.conflictMaxBackoff)
+            .metrics(builder.metricRegistry, OrganizationServiceImpl.class)
+            .build());
+    builder.interceptors.forEach(chain::interceptor);
+    this.chain = chain.interceptor(OperationInterceptors.scheduling(schedulers)).build();
+
+    this.createOrganization =
+        CreateOrganization.builder()
+            .tokenVerifier(tokenVerifier)
+            .repository(repository)
+            .build();
+    this.getUserOrganizationsMembership =
+        GetUserOrganizationsMembership.builder()
+            .tokenVerifier(tokenVerifier)
+            .repository(repository)
+            .build();
+    this.deleteOrganization =
+        DeleteOrganization.builder()
+            .tokenVerifier(tokenVerifier)
+            .repository(repository)
+            .apiKeysCleanupWorker(apiKeysCleanupWorker)
+            .build();
+    this.updateOrganization =
+        UpdateOrganization.builder()
+            .tokenVerifier(tokenVerifier)
+            .repository(repository)
+            .build();
+    this.getOrganizationMembers =
+        GetOrganizationMembers.builder()
+            .tokenVerifier(tokenVerifier)
+            .repository(repository)
+            .build();
+    this.inviteMember =
+        InviteMember.builder()
+            .tokenVerifier(tokenVerifier)
+            .repository(repository)
+            .build();
+    this.kickoutMember =
+        KickoutMember.builder()
+            .tokenVerifier(tokenVerifier)
+            .repository(repository)
+            .build();
+    this.leaveOrganization =
+        LeaveOrganization.builder()
+            .tokenVerifier(tokenVerifier)
+            .repository(repository)
+            .build();
+    this.addOrganizationApiKey =
+        AddOrganizationApiKey.builder()
+            .tokenVerifier(tokenVerifier)
+            .repository(repository)
+            .keyPairPool(keyPairPool)
+            .keyStore(keyStore)
+            .build();
+    this.deleteOrganizationApiKey =
+        DeleteOrganizationApiKey.builder()
+            .tokenVerifier(tokenVerifier)
+            .repository(repository)
+            .keyStore(keyStore)
+            .build();
+    this.getOrganization =
+        GetOrganization.builder()
+            .tokenVerifier(tokenVerifier)
+            .repository(repository)
+            .build();
+    this.updateOrganizationMemberRole =
+        UpdateOrganizationMemberRole.builder()
+            .tokenVerifier(tokenVerifier)
+            .repository(repository)
+            .build();
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /** Stops background work and disposes the schedulers of the service methods. */
+  public void shutdown() {
+    apiKeysCleanupWorker.stop();
+    keyPairPool.shutdown();
+    schedulers.dispose();
   }
 
   @Override
   public Mono<CreateOrganizationResponse> createOrganization(CreateOrganizationRequest request) {
-    return Mono.fromRunnable(() -> logger.debug("createOrganization: enter, request: {}", request))
-        .subscribeOn(scheduler)
-        .then(
-            Mono.defer(
-                () ->
-                    CreateOrganization.builder()
-                        .tokenVerifier(tokenVerifier)
-                        .repository(repository)
-                        .build()
-                        .execute(request)))
-        .doOnSuccess(
-            response ->
-                logger.debug(
-                    "createOrganization: exit, response: {}, request: {}", response, request))
-        .doOnError(th -> logger.error("createOrganization: ERROR", th))
-        .onErrorMap(ServiceOperationException.class, Throwable::getCause);
+    return chain.dispatch("createOrganization", request, createOrganization::execute);
   }
 
   @Override
   public Mono<GetMembershipResponse> getUserOrganizationsMembership(GetMembershipRequest request) {
-    return Mono.fromRunnable(
-        () -> logger.debug("getUserOrganizationsMembership: enter, request: {}", request))
-        .subscribeOn(scheduler)
-        .then(
-            Mono.defer(
-                () ->
-                    GetUserOrganizationsMembership.builder()
-                        .tokenVerifier(tokenVerifier)
-                        .repository(repository)
-                        .build()
-                        .execute(request)))
-        .doOnSuccess(
-            response ->
-                logger.debug(
-                    "getUserOrganizationsMembership: exit, request: {}, response: {} memberships",
-                    request,
-                    response.organizations().length))
-        .doOnError(th -> logger.error("getUserOrganizationsMembership: ERROR", th))
-        .onErrorMap(ServiceOperationException.class, Throwable::getCause);
+    return chain.dispatch("getMyOrganizations", request, getUserOrganizationsMembership::execute);
   }
 
   @Override
   public Mono<DeleteOrganizationResponse> deleteOrganization(DeleteOrganizationRequest request) {
-    return Mono.fromRunnable(() -> logger.debug("deleteOrganization: enter, request: {}", request))
-        .subscribeOn(scheduler)
-        .then(
-            Mono.defer(
-                () ->
-                    DeleteOrganization.builder()
-                        .tokenVerifier(tokenVerifier)
-                        .repository(repository)
-                        .keyStore(keyStore)
-                        .build()
-                        .execute(request)))
-        .doOnSuccess(
-            response ->
-                logger.debug(
-                    "deleteOrganization: exit, response: {}, request: {}", response, request))
-        .doOnError(th -> logger.error("deleteOrganization: ERROR", th))
-        .onErrorMap(ServiceOperationException.class, Throwable::getCause);
+    return chain.dispatch("deleteOrganization", request, deleteOrganization::execute);
   }
 
   @Override
   public Mono<UpdateOrganizationResponse> updateOrganization(UpdateOrganizationRequest request) {
-    return Mono.fromRunnable(() -> logger.debug("updateOrganization: enter, request: {}", request))
-        .subscribeOn(scheduler)
-        .then(
-            Mono.defer(
-                () ->
-                    UpdateOrganization.builder()
-                        .tokenVerifier(tokenVerifier)
-                        .repository(repository)
-                        .build()
-                        .execute(request)))
-        .doOnSuccess(
-            response ->
-                logger.debug(
-                    "updateOrganization: exit, response: {}, request: {}", response, request))
-        .doOnError(th -> logger.error("updateOrganization: ERROR", th))
-        .onErrorMap(ServiceOperationException.class, Throwable::getCause);
+    return chain.dispatch("updateOrganization", request, updateOrganization::execute);
   }
 
   @Override
   public Mono<GetOrganizationMembersResponse> getOrganizationMembers(
       GetOrganizationMembersRequest request) {
-    return Mono.fromRunnable(
-        () -> logger.debug("getOrganizationMembers: enter, request: {}", request))
-        .subscribeOn(scheduler)
-        .then(
-            Mono.defer(
-                () ->
-                    GetOrganizationMembers.builder()
-                        .tokenVerifier(tokenVerifier)
-                        .repository(repository)
-                        .build()
-                        .execute(request)))
-        .doOnSuccess(
-            response ->
-                logger.debug(
-                    "getOrganizationMembers: exit, response: {}, request: {}", response, request))
-        .doOnError(th -> logger.error("getOrganizationMembers: ERROR", th))
-        .onErrorMap(ServiceOperationException.class, Throwable::getCause);
+    return chain.dispatch("getOrganizationMembers", request, getOrganizationMembers::execute);
   }
 
   @Override
   public Mono<InviteOrganizationMemberResponse> inviteMember(
       InviteOrganizationMemberRequest request) {
-    return Mono.fromRunnable(() -> logger.debug("inviteMember: enter, request: {}", request))
-        .subscribeOn(scheduler)
-        .then(
-            Mono.defer(
-                () ->
-                    InviteMember.builder()
-                        .tokenVerifier(tokenVerifier)
-                        .repository(repository)
-                        .build()
-                        .execute(request)))
-        .doOnSuccess(
-            response ->
-                logger.debug("inviteMember: exit, response: {}, request: {}", response, request))
-        .doOnError(th -> logger.error("inviteMember: ERROR", th))
-        .onErrorMap(ServiceOperationException.class, Throwable::getCause);
+    return chain.dispatch("inviteMember", request, inviteMember::execute);
   }
 
   @Override
   public Mono<KickoutOrganizationMemberResponse> kickoutMember(
       KickoutOrganizationMemberRequest request) {
-    return Mono.fromRunnable(() -> logger.debug("kickoutMember: enter, request: {}", request))
-        .subscribeOn(scheduler)
-        .then(
-            Mono.defer(
-                () ->
-                    KickoutMember.builder()
-                        .tokenVerifier(tokenVerifier)
-                        .repository(repository)
-                        .build()
-                        .execute(request)))
-        .doOnSuccess(
-            response ->
-                logger.debug("kickoutMember: exit, response: {}, request: {}", response, request))
-        .doOnError(th -> logger.error("kickoutMember: ERROR", th))
-        .onErrorMap(ServiceOperationException.class, Throwable::getCause);
+    return chain.dispatch("kickoutMember", request, kickoutMember::execute);
   }
 
   @Override
   public Mono<LeaveOrganizationResponse> leaveOrganization(LeaveOrganizationRequest request) {
-    return Mono.fromRunnable(() -> logger.debug("leaveOrganization: enter, request: {}", request))
-        .subscribeOn(scheduler)
-        .then(
-            Mono.defer(
-                () ->
-                    LeaveOrganization.builder()
-                        .tokenVerifier(tokenVerifier)
-                        .repository(repository)
-                        .build()
-                        .execute(request)))
-        .doOnSuccess(
-            response ->
-                logger.debug(
-                    "leaveOrganization: exit, response: {}, request: {}", response, request))
-        .doOnError(th -> logger.error("leaveOrganization: ERROR", th))
-        .onErrorMap(ServiceOperationException.class, Throwable::getCause);
+    return chain.dispatch("leaveOrganization", request, leaveOrganization::execute);
   }
 
   @Override
   public Mono<GetOrganizationResponse> addOrganizationApiKey(AddOrganizationApiKeyRequest request) {
-    return Mono.fromRunnable(
-        () -> logger.debug("addOrganizationApiKey: enter, request: {}", request))
-        .subscribeOn(scheduler)
-        .then(
-            Mono.defer(
-                () ->
-                    AddOrganizationApiKey.builder()
-                        .tokenVerifier(tokenVerifier)
-                        .repository(repository)
-                        .keyPairGenerator(keyPairGenerator)
-                        .keyStore(keyStore)
-                        .build()
-                        .execute(request)))
-        .doOnSuccess(
-            response ->
-                logger.debug(
-                    "addOrganizationApiKey: exit, response: {}, request: {}", response, request))
-        .doOnError(th -> logger.error("addOrganizationApiKey: ERROR", th))
-        .onErrorMap(ServiceOperationException.class, Throwable::getCause);
+    return chain.dispatch("addApiKey", request, addOrganizationApiKey::execute);
   }
 
   @Override
   public Mono<GetOrganizationResponse> deleteOrganizationApiKey(
       DeleteOrganizationApiKeyRequest request) {
-    return Mono.fromRunnable(
-        () -> logger.debug("deleteOrganizationApiKey: enter, request: {}", request))
-        .subscribeOn(scheduler)
-        .then(
-            Mono.defer(
-                () ->
-                    DeleteOrganizationApiKey.builder()
-                        .tokenVerifier(tokenVerifier)
-                        .repository(repository)
-                        .keyStore(keyStore)
-                        .build()
-                        .execute(request)))
-        .doOnSuccess(
-            response ->
-                logger.debug(
-                    "deleteOrganizationApiKey: exit, response: {}, request: {}", response, request))
-        .doOnError(th -> logger.error("deleteOrganizationApiKey: ERROR", th))
-        .onErrorMap(ServiceOperationException.class, Throwable::getCause);
+    return chain.dispatch("deleteApiKey", request, deleteOrganizationApiKey::execute);
   }
 
   @Override
   public Mono<GetOrganizationResponse> getOrganization(GetOrganizationRequest request) {
-    return Mono.fromRunnable(() -> logger.debug("getOrganization: enter, request: {}", request))
-        .subscribeOn(scheduler)
-        .then(
-            Mono.defer(
-                () ->
-                    GetOrganization.builder()
-                        .tokenVerifier(tokenVerifier)
-                        .repository(repository)
-                        .build()
-                        .execute(request)))
-        .doOnSuccess(
-            response ->
-                logger.debug("getOrganization: exit, response: {}, request: {}", response, request))
-        .doOnError(th -> logger.error("getOrganization: ERROR", th))
-        .onErrorMap(ServiceOperationException.class, Throwable::getCause);
+    return chain.dispatch("getOrganization", request, getOrganization::execute);
   }
 
   @Override
   public Mono<UpdateOrganizationMemberRoleResponse> updateOrganizationMemberRole(
       UpdateOrganizationMemberRoleRequest request) {
-    return Mono.fromRunnable(
-        () -> logger.debug("updateOrganizationMemberRole: enter, request: {}", request))
-        .subscribeOn(scheduler)
-        .then(
-            Mono.defer(
-                () ->
-                    UpdateOrganizationMemberRole.builder()
-                        .tokenVerifier(tokenVerifier)
-                        .repository(repository)
-                        .build()
-                        .execute(request)))
-        .doOnSuccess(
-            response ->
-                logger.debug(
-                    "updateOrganizationMemberRole: exit, response: {}, request: {}",
-                    response,
-                    request))
-        .doOnError(th -> logger.error("updateOrganizationMemberRole: ERROR", th))
-        .onErrorMap(ServiceOperationException.class, Throwable::getCause);
+    return chain.dispatch("updateMemberRole", request, updateOrganizationMemberRole::execute);
   }
 
   @Override
   public Mono<GetPublicKeyResponse> getPublicKey(GetPublicKeyRequest request) {
-    return Mono.fromRunnable(() -> logger.debug("getPublicKey: enter, request: {}", request))
-        .subscribeOn(scheduler)
-        .then(Mono.fromCallable(() -> keyStore.getPublicKey(request.keyId())))
+    return chain.dispatch("getPublicKey", request, this::publicKey);
+  }
+
+  private Mono<GetPublicKeyResponse> publicKey(GetPublicKeyRequest request) {
+    return keyStore
+        .getPublicKey(request.keyId())
         .map(
             publicKey ->
                 new GetPublicKeyResponse(
                     publicKey.getAlgorithm(),
                     publicKey.getFormat(),
                     publicKey.getEncoded(),
-                    request.keyId()))
-        .doOnSuccess(
-            response ->
-                logger.debug("getPublicKey: exit: response: {}, request: {}", response, request))
-        .doOnError(th -> logger.error("getPublicKey: ERROR", th))
-        .onErrorMap(ServiceOperationException.class, Throwable::getCause);
+                    request.keyId()));
   }
 
-  private KeyPairGenerator keyPairGenerator() {
+  private static KeyPairPool keyPairPool() {
     try {
-      String algorithm = AppConfiguration.configRegistry().stringValue("crypto.algorithm", "RSA");
-      int keySize = AppConfiguration.configRegistry().intValue("crypto.key.size", 2048);
+      KeyAlgorithm algorithm =
+          KeyAlgorithm.of(AppConfiguration.configRegistry().stringValue("crypto.algorithm", "RSA"));
+      return KeyPairPool.builder()
+          .algorithm(algorithm)
+          .keySize(
+              AppConfiguration.configRegistry()
+                  .intValue("crypto.key.size", algorithm.defaultKeySize()))
+          .build();
+    } catch (IllegalArgumentException e) {
+      throw new OrganizationServiceException("Error during initialing KeyPairGenerator", e);
+    }
+  }
 
-      KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance(algorithm);
-      keyPairGenerator.initialize(keySize);
+  public static class Builder {
+    private OrganizationsRepository repository;
+    private KeyStore keyStore;
+    private TokenVerifier tokenVerifier;
+    private KeyPairPool keyPairPool;
+    private ApiKeysCleanupWorker apiKeysCleanupWorker;
+    private ServiceSchedulers schedulers;
+    private MetricRegistry metricRegistry;
+    private boolean stageTimings;
+    private boolean writeCoalescing;
+    private OrganizationAffinity affinity;
+    private int conflictRetries = 3;
+    private Duration conflictFirstBackoff = Duration.ofMillis(5);
+    private Duration conflictMaxBackoff = Duration.ofMillis(100);
+    private final List<OperationInterceptor> interceptors = new ArrayList<>();
 
-      return keyPairGenerator;
-    } catch (NoSuchAlgorithmException e) {
-      throw new OrganizationServiceException("Error during initialing KeyPairGenerator", e);
+    public Builder repository(OrganizationsRepository repository) {
+      this.repository = repository;
+      return this;
+    }
+
+    public Builder keyStore(KeyStore keyStore) {
+      this.keyStore = keyStore;
+      return this;
+    }
+
+    public Builder tokenVerifier(TokenVerifier tokenVerifier) {
+      this.tokenVerifier = tokenVerifier;
+      return this;
+    }
+
+    public Builder keyPairPool(KeyPairPool keyPairPool) {
+      this.keyPairPool = keyPairPool;
+      return this;
+    }
+
+    public Builder apiKeysCleanupWorker(ApiKeysCleanupWorker apiKeysCleanupWorker) {
+      this.apiKeysCleanupWorker = apiKeysCleanupWorker;
+      return this;
+    }
+
+    public Builder schedulers(ServiceSchedulers schedulers) {
+      this.schedulers = schedulers;
+      return this;
+    }
+
+    /**
+     * Sets the registry of the service method metrics. Service methods are not instrumented by
+     * default.
+     *
+     * @param metricRegistry metric registry.
+     * @return this builder.
+     */
+    public Builder metricRegistry(MetricRegistry metricRegistry) {
+      this.metricRegistry = metricRegistry;
+      return this;
+    }
+
+    /**
+     * Enables timing of the stages of every request: token verification, validation, repository
+     * reads and writes and key store calls. The timings are recorded to the metric registry, if
+     * set, and appended to the debug log line of the response. Disabled by default.
+     *
+     * @param stageTimings whether to time the request stages.
+     * @return this builder.
+     */
+    public Builder stageTimings(boolean stageTimings) {
+      this.stageTimings = stageTimings;
+      return this;
+    }
+
+    /**
+     * Enables coalescing of the concurrent changes of an organization on this node: while a change
+     * of an organization is being saved, further changes of it are queued, and saved together with
+     * a single read and write of the organization. Disabled by default.
+     *
+     * @param writeCoalescing whether to coalesce the changes of an organization.
+     * @return this builder.
+     * @see CoalescingOrganizationsRepository
+     */
+    public Builder writeCoalescing(boolean writeCoalescing) {
+      this.writeCoalescing = writeCoalescing;
+      return this;
+    }
+
+    /**
+     * Sets the number of times a request which modified an organization concurrently modified by
+     * another one is repeated, on a fresh read of the organization. 3 by default.
+     *
+     * @param conflictRetries retries, 0 to fail such requests right away.
+     * @return this builder.
+     * @see ConflictRetryInterceptor
+     */
+    public Builder conflictRetries(int conflictRetries) {
+      this.conflictRetries = conflictRetries;
+      return this;
+    }
+
+    /**
+     * Sets the bounds of the jittered exponential backoff between the attempts of a conflicting
+     * request, 5 and 100 millis by default.
+     *
+     * @param firstBackoff upper bound of the delay before the first retry.
+     * @param maxBackoff upper bound of the delay before any retry.
+     * @return this builder.
+     */
+    public Builder conflictBackoff(Duration firstBackoff, Duration maxBackoff) {
+      this.conflictFirstBackoff = firstBackoff;
+      this.conflictMaxBackoff = maxBackoff;
+      return this;
+    }
+
+    /**
+     * Routes the requests of an organization to its owner node in the cluster, which processes
+     * them, instead of processing them on this node. Requests are processed locally by default.
+     *
+     * @param affinity organization affinity, started once the node joins the cluster.
+     * @return this builder.
+     * @see OrganizationAffinity
+     */
+    public Builder affinity(OrganizationAffinity affinity) {
+      this.affinity = affinity;
+      return this;
+    }
+
+    /**
+     * Adds an interceptor of the service methods. Interceptors are applied in the order they are
+     * added, inside the error mapping, affinity, logging, metrics and conflict retry interceptors,
+     * and outside the scheduling one.
+     *
+     * @param interceptor operation interceptor.
+     * @return this builder.
+     */
+    public Builder interceptor(OperationInterceptor interceptor) {
+      interceptors.add(interceptor);
+      return this;
+    }
+
+    public OrganizationServiceImpl build() {
+      return new OrganizationServiceImpl(this);
     }
   }
+
 }
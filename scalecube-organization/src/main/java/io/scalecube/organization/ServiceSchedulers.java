@@ -0,0 +1,237 @@
+package io.scalecube.organization;
+
+import static java.util.Objects.requireNonNull;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Schedulers the organization service methods are subscribed on.
+ *
+ * <p>Every method runs on the shared scheduler of the configured {@link ExecutionModel}, unless it
+ * has a bulkhead. A bulkhead is a dedicated bounded pool with a bounded queue, so a slow method
+ * cannot starve the other methods, and its requests are rejected once the bulkhead is saturated.
+ * All threads are named daemon threads.
+ */
+public final class ServiceSchedulers {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ServiceSchedulers.class);
+
+  private static final String THREAD_NAME_PREFIX = "organization-";
+
+  /** Execution model of the shared scheduler. */
+  public enum ExecutionModel {
+    /** Fixed pool of threads, for non-blocking and CPU-bound work. */
+    PARALLEL,
+    /** Bounded pool of threads with a bounded queue, for blocking work. */
+    ELASTIC,
+    /** Virtual thread per task, for blocking work on JDK 21+. Falls back to ELASTIC otherwise. */
+    VIRTUAL;
+
+    /**
+     * Returns the execution model of the given name, case insensitive.
+     *
+     * @param name execution model name.
+     * @return execution model.
+     * @throws IllegalArgumentException in case the execution model is not supported.
+     */
+    public static ExecutionModel of(String name) {
+      for (ExecutionModel model : values()) {
+        if (model.name().equalsIgnoreCase(name)) {
+          return model;
+        }
+      }
+      throw new IllegalArgumentException("Unsupported execution model: " + name);
+    }
+  }
+
+  private final Scheduler defaultScheduler;
+  private final Map<String, Scheduler> bulkheads;
+  private final List<ExecutorService> executors;
+
+  private ServiceSchedulers(
+      Scheduler defaultScheduler,
+      Map<String, Scheduler> bulkheads,
+      List<ExecutorService> executors) {
+    this.defaultScheduler = defaultScheduler;
+    this.bulkheads = bulkheads;
+    this.executors = executors;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Returns the scheduler of the given service method.
+   *
+   * @param method service method name.
+   * @return bulkhead scheduler of the method, or the shared scheduler.
+   */
+  public Scheduler scheduler(String method) {
+    return bulkheads.getOrDefault(method, defaultScheduler);
+  }
+
+  /** Disposes all schedulers, tasks which are not started yet are discarded. */
+  public void dispose() {
+    defaultScheduler.dispose();
+    bulkheads.values().forEach(Scheduler::dispose);
+    executors.forEach(ExecutorService::shutdownNow);
+  }
+
+  public static class Builder {
+    private ExecutionModel model = ExecutionModel.PARALLEL;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private int queueSize = 10_000;
+    private final Map<String, Integer> bulkheads = new LinkedHashMap<>();
+
+    public Builder model(ExecutionModel model) {
+      this.model = requireNonNull(model, "model");
+      return this;
+    }
+
+    /**
+     * Sets the number of threads of the shared scheduler. Ignored by the virtual thread model.
+     *
+     * @param threads number of threads.
+     * @return this builder.
+     */
+    public Builder threads(int threads) {
+      this.threads = threads;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of queued tasks per bounded pool, both of the shared elastic
+     * scheduler and of the bulkheads.
+     *
+     * @param queueSize queue size.
+     * @return this builder.
+     */
+    public Builder queueSize(int queueSize) {
+      this.queueSize = queueSize;
+      return this;
+    }
+
+    /**
+     * Isolates the service method in a dedicated bounded pool.
+     *
+     * @param method service method name.
+     * @param threads number of threads of the bulkhead.
+     * @return this builder.
+     */
+    public Builder bulkhead(String method, int threads) {
+      bulkheads.put(requireNonNull(method, "method"), threads);
+      return this;
+    }
+
+    /**
+     * Creates the schedulers.
+     *
+     * @return service schedulers.
+     */
+    public ServiceSchedulers build() {
+      if (threads <= 0 || queueSize <= 0) {
+        throw new IllegalArgumentException("threads and queueSize must be positive");
+      }
+      List<ExecutorService> executors = new ArrayList<>();
+      Scheduler defaultScheduler = defaultScheduler(executors);
+
+      Map<String, Scheduler> bulkheadSchedulers = new HashMap<>();
+      bulkheads.forEach(
+          (method, bulkheadThreads) -> {
+            if (bulkheadThreads <= 0) {
+              throw new IllegalArgumentException("bulkhead threads must be positive: " + method);
+            }
+            ExecutorService executor = boundedPool(method, bulkheadThreads, queueSize);
+            executors.add(executor);
+            bulkheadSchedulers.put(method, Schedulers.fromExecutorService(executor));
+          });
+
+      return new ServiceSchedulers(
+          defaultScheduler, Collections.unmodifiableMap(bulkheadSchedulers), executors);
+    }
+
+    private Scheduler defaultScheduler(List<ExecutorService> executors) {
+      ExecutorService executor;
+      switch (model) {
+        case PARALLEL:
+          return Schedulers.newParallel(THREAD_NAME_PREFIX + "parallel", threads, true);
+        case VIRTUAL:
+          executor = virtualThreadPerTask();
+          if (executor != null) {
+            break;
+          }
+          LOGGER.warn("Virtual threads are not available, falling back to elastic scheduler");
+          executor = boundedPool("elastic", threads, queueSize);
+          break;
+        default:
+          executor = boundedPool("elastic", threads, queueSize);
+          break;
+      }
+      executors.add(executor);
+      return Schedulers.fromExecutorService(executor);
+    }
+  }
+
+  private static ExecutorService boundedPool(String name, int threads, int queueSize) {
+    ThreadPoolExecutor executor =
+        new ThreadPoolExecutor(
+            threads,
+            threads,
+            60,
+            TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueSize),
+            threadFactory(THREAD_NAME_PREFIX + name + "-"));
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  private static ThreadFactory threadFactory(String prefix) {
+    AtomicInteger counter = new AtomicInteger();
+    return runnable -> {
+      Thread thread = new Thread(runnable, prefix + counter.getAndIncrement());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  /**
+   * Creates an executor of named virtual threads. Resolved by reflection, so the service still
+   * builds and runs on Java 8.
+   *
+   * @return virtual thread per task executor, or null if the runtime has no virtual threads.
+   */
+  private static ExecutorService virtualThreadPerTask() {
+    try {
+      Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+      Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+      builder =
+          builderType
+              .getMethod("name", String.class, long.class)
+              .invoke(builder, THREAD_NAME_PREFIX + "virtual-", 0L);
+      ThreadFactory factory = (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+      Method newExecutor =
+          Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+      return (ExecutorService) newExecutor.invoke(null, factory);
+    } catch (ReflectiveOperationException ex) {
+      return null;
+    }
+  }
+}
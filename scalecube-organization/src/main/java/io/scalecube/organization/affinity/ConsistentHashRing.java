@@ -0,0 +1,84 @@
+package io.scalecube.organization.affinity;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Immutable consistent hash ring which assigns keys to members. Every member is placed on the ring
+ * at a number of virtual node positions hashed from its id, and a key is owned by the member of
+ * the first position at or after the hash of the key. Adding or removing a member moves only the
+ * keys of the positions it takes or leaves, about <code>1/n</code> of all keys.
+ *
+ * @param <T> member type.
+ */
+public final class ConsistentHashRing<T> {
+
+  private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+  private static final long FNV_PRIME = 0x100000001b3L;
+
+  private final NavigableMap<Long, T> positions;
+  private final int size;
+
+  /**
+   * Creates the ring of the members.
+   *
+   * @param members members by their ids, which must be the same on every node.
+   * @param virtualNodes positions of every member on the ring.
+   */
+  public ConsistentHashRing(Map<String, T> members, int virtualNodes) {
+    if (virtualNodes < 1) {
+      throw new IllegalArgumentException("virtualNodes must be positive: " + virtualNodes);
+    }
+    NavigableMap<Long, T> positions = new TreeMap<>();
+    new TreeMap<>(members)
+        .forEach(
+            (id, member) -> {
+              for (int i = 0; i < virtualNodes; i++) {
+                // on the rare collision the smallest id wins, on every node alike
+                positions.putIfAbsent(hash(id + "#" + i), member);
+              }
+            });
+    this.positions = Collections.unmodifiableNavigableMap(positions);
+    this.size = members.size();
+  }
+
+  /**
+   * Returns the member which owns the key.
+   *
+   * @param key key, e.g. an organization id.
+   * @return owner of the key, or null if the ring is empty.
+   */
+  public T owner(String key) {
+    if (positions.isEmpty()) {
+      return null;
+    }
+    Map.Entry<Long, T> position = positions.ceilingEntry(hash(key));
+    return position != null ? position.getValue() : positions.firstEntry().getValue();
+  }
+
+  /** Returns the number of members on the ring. */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * 64 bit FNV-1a hash of the UTF-8 bytes, finalized with the MurmurHash3 mixer so that similar
+   * keys spread evenly over the ring.
+   */
+  static long hash(String key) {
+    long hash = FNV_OFFSET_BASIS;
+    for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+      hash ^= b & 0xff;
+      hash *= FNV_PRIME;
+    }
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb9fe1a85ec53L;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+}
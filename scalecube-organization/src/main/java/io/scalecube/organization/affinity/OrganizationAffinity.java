@@ -0,0 +1,367 @@
+package io.scalecube.organization.affinity;
+
+import static java.util.Objects.requireNonNull;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import io.scalecube.account.api.AddOrganizationApiKeyRequest;
+import io.scalecube.account.api.DeleteOrganizationApiKeyRequest;
+import io.scalecube.account.api.DeleteOrganizationRequest;
+import io.scalecube.account.api.GetOrganizationMembersRequest;
+import io.scalecube.account.api.GetOrganizationRequest;
+import io.scalecube.account.api.InviteOrganizationMemberRequest;
+import io.scalecube.account.api.KickoutOrganizationMemberRequest;
+import io.scalecube.account.api.LeaveOrganizationRequest;
+import io.scalecube.account.api.OrganizationService;
+import io.scalecube.account.api.UpdateOrganizationMemberRoleRequest;
+import io.scalecube.account.api.UpdateOrganizationRequest;
+import io.scalecube.net.Address;
+import io.scalecube.organization.operation.OperationInterceptor;
+import io.scalecube.services.Microservices;
+import io.scalecube.services.ServiceCall;
+import io.scalecube.services.ServiceEndpoint;
+import io.scalecube.services.ServiceRegistration;
+import io.scalecube.services.annotations.ServiceMethod;
+import io.scalecube.services.api.ServiceMessage;
+import io.scalecube.services.discovery.api.ServiceDiscovery;
+import io.scalecube.services.discovery.api.ServiceDiscoveryEvent;
+import io.scalecube.services.exceptions.ServiceException;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Mono;
+
+/**
+ * Routes the requests of an organization to its owner node, chosen by consistent hashing of the
+ * organization id over the cluster members which serve the {@link OrganizationOwnerService}. The
+ * owner serves the organization from its caches and coalesces its writes, and concurrent writes of
+ * the organization no longer conflict across nodes.
+ *
+ * <p>Requests of organizations owned by another node are forwarded to it over the service
+ * transport, requests which name no organization are processed locally. The ownership rebalances
+ * as members join and leave, moving only the organizations of the joining or leaving member.
+ * Members may briefly disagree on the owner meanwhile, so forwarded requests are processed by the
+ * receiving node, and never forwarded again.
+ *
+ * <p>Ownership is an optimization only, so a read which fails to be forwarded, or times out, is
+ * processed locally. A write is processed locally only if the connection to the owner could not
+ * be established. Otherwise the owner may have processed the write already, and running it again
+ * would e.g. add an API key twice, so the error is returned to the caller.
+ *
+ * <p>The following meters are named after the owner class and the method, e.g. <code>
+ * io.scalecube.organization.OrganizationServiceImpl.inviteMember.forwarded</code>:
+ *
+ * <ul>
+ *   <li><code>forwarded</code> of every request forwarded to its owner;
+ *   <li><code>forwarded.failed</code> of the requests processed locally as they could not be
+ *       forwarded.
+ * </ul>
+ */
+public final class OrganizationAffinity implements OperationInterceptor {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(OrganizationAffinity.class);
+
+  private static final String FORWARDED = OrganizationAffinity.class.getName() + ".forwarded";
+  private static final Map<Class<?>, Function<Object, String>> ORGANIZATION_IDS = new HashMap<>();
+  private static final Map<String, Type> RESPONSE_TYPES = responseTypes();
+  private static final Set<String> READ_METHODS =
+      new HashSet<>(Arrays.asList("getOrganization", "getOrganizationMembers"));
+
+  private static final int FORWARDS = 0;
+  private static final int FAILURES = 1;
+
+  static {
+    organizationId(GetOrganizationRequest.class, GetOrganizationRequest::organizationId);
+    organizationId(UpdateOrganizationRequest.class, UpdateOrganizationRequest::organizationId);
+    organizationId(DeleteOrganizationRequest.class, DeleteOrganizationRequest::organizationId);
+    organizationId(
+        GetOrganizationMembersRequest.class, GetOrganizationMembersRequest::organizationId);
+    organizationId(
+        InviteOrganizationMemberRequest.class, InviteOrganizationMemberRequest::organizationId);
+    organizationId(
+        KickoutOrganizationMemberRequest.class, KickoutOrganizationMemberRequest::organizationId);
+    organizationId(LeaveOrganizationRequest.class, LeaveOrganizationRequest::organizationId);
+    organizationId(
+        AddOrganizationApiKeyRequest.class, AddOrganizationApiKeyRequest::organizationId);
+    organizationId(
+        DeleteOrganizationApiKeyRequest.class, DeleteOrganizationApiKeyRequest::organizationId);
+    organizationId(
+        UpdateOrganizationMemberRoleRequest.class,
+        UpdateOrganizationMemberRoleRequest::organizationId);
+  }
+
+  private final int virtualNodes;
+  private final Duration forwardTimeout;
+  private final MetricRegistry registry;
+  private final Class<?> owner;
+  private final Map<String, Meter[]> meters = new ConcurrentHashMap<>();
+  private final Map<String, Address> members = new HashMap<>();
+  private final Disposable.Composite subscriptions = Disposables.composite();
+  private ServiceEndpoint self;
+  private ServiceCall call;
+  private volatile Routing routing;
+
+  private OrganizationAffinity(Builder builder) {
+    this.virtualNodes = builder.virtualNodes;
+    this.forwardTimeout = builder.forwardTimeout;
+    this.registry = builder.registry;
+    this.owner = builder.owner;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Tracks the members of the cluster which serve the {@link OrganizationOwnerService} through the
+   * service discovery. To see all members, the discovery is tracked before it starts.
+   *
+   * @param discovery service discovery of this node.
+   * @return the same service discovery.
+   */
+  public ServiceDiscovery track(ServiceDiscovery discovery) {
+    subscriptions.add(
+        discovery
+            .listenDiscovery()
+            .subscribe(
+                this::onDiscoveryEvent,
+                th -> LOGGER.error("Failed to track the cluster members", th)));
+    return discovery;
+  }
+
+  /**
+   * Starts routing the requests, once this node has joined the cluster. Requests are processed
+   * locally until then.
+   *
+   * @param microservices microservices of this node.
+   */
+  public synchronized void start(Microservices microservices) {
+    this.self = microservices.discovery().serviceEndpoint();
+    this.call = microservices.call();
+    updateRouting();
+  }
+
+  /** Stops tracking the cluster members and routing the requests. */
+  public synchronized void stop() {
+    subscriptions.dispose();
+    self = null;
+    routing = null;
+  }
+
+  /**
+   * Marks the response of the service method as one of a forwarded request, so that the request
+   * is processed by this node.
+   *
+   * @param response response of the service method.
+   * @param <T> response type.
+   * @return marked response.
+   */
+  static <T> Mono<T> forwarded(Mono<T> response) {
+    return response.subscriberContext(context -> context.put(FORWARDED, true));
+  }
+
+  @Override
+  public <I, O> Mono<O> intercept(String method, I request, Mono<O> next) {
+    Function<Object, String> organizationId =
+        request != null ? ORGANIZATION_IDS.get(request.getClass()) : null;
+    if (organizationId == null || !RESPONSE_TYPES.containsKey(method)) {
+      return next;
+    }
+    return Mono.subscriberContext()
+        .flatMap(
+            context -> {
+              Routing routing = this.routing;
+              String id = organizationId.apply(request);
+              if (routing == null || id == null || context.hasKey(FORWARDED)) {
+                return next;
+              }
+              Address address = routing.owner(id);
+              return address != null ? forward(routing, method, request, address, next) : next;
+            });
+  }
+
+  private <I, O> Mono<O> forward(
+      Routing routing, String method, I request, Address address, Mono<O> next) {
+    ServiceMessage message =
+        ServiceMessage.builder()
+            .qualifier(OrganizationOwnerService.NAMESPACE, method)
+            .data(request)
+            .build();
+    return routing
+        .call
+        .requestOne(message, RESPONSE_TYPES.get(method), address)
+        .timeout(forwardTimeout)
+        .doOnSubscribe(subscription -> mark(method, FORWARDS))
+        .flatMap(response -> Mono.justOrEmpty(response.<O>data()))
+        .onErrorResume(
+            th -> isProcessableLocally(method, th),
+            th -> {
+              mark(method, FAILURES);
+              LOGGER.warn("{}: failed to forward to {}, processing locally", method, address, th);
+              return next;
+            });
+  }
+
+  /**
+   * Returns whether the request may be processed locally after failing to be forwarded. Errors of
+   * the owner are returned as they are, and so are the errors of writes which may have reached it.
+   */
+  private static boolean isProcessableLocally(String method, Throwable th) {
+    if (th instanceof ServiceException) {
+      return false;
+    }
+    if (READ_METHODS.contains(method)) {
+      return true;
+    }
+    for (Throwable cause = th; cause != null; cause = cause.getCause()) {
+      if (cause instanceof ConnectException) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private synchronized void onDiscoveryEvent(ServiceDiscoveryEvent event) {
+    if (event.isEndpointAdded() && isOwnerService(event.serviceEndpoint())) {
+      members.put(event.serviceEndpoint().id(), event.serviceEndpoint().address());
+      updateRouting();
+    } else if (event.isEndpointLeaving() || event.isEndpointRemoved()) {
+      if (members.remove(event.serviceEndpoint().id()) != null) {
+        updateRouting();
+      }
+    }
+  }
+
+  private void updateRouting() {
+    if (self == null) {
+      return;
+    }
+    Map<String, Address> ring = new HashMap<>(members);
+    ring.put(self.id(), self.address());
+    routing = new Routing(new ConsistentHashRing<>(ring, virtualNodes), self.address(), call);
+    LOGGER.info("Organizations are owned by {} members: {}", ring.size(), ring.values());
+  }
+
+  private static boolean isOwnerService(ServiceEndpoint endpoint) {
+    return endpoint.serviceRegistrations().stream()
+        .map(ServiceRegistration::namespace)
+        .anyMatch(OrganizationOwnerService.NAMESPACE::equals);
+  }
+
+  private void mark(String method, int meter) {
+    if (registry != null) {
+      meters.computeIfAbsent(method, this::registerMeters)[meter].mark();
+    }
+  }
+
+  private Meter[] registerMeters(String method) {
+    String name = MetricRegistry.name(owner, method, "forwarded");
+    Meter[] methodMeters = new Meter[2];
+    methodMeters[FORWARDS] = registry.meter(name);
+    methodMeters[FAILURES] = registry.meter(MetricRegistry.name(name, "failed"));
+    return methodMeters;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> void organizationId(Class<T> type, Function<T, String> organizationId) {
+    ORGANIZATION_IDS.put(type, (Function<Object, String>) organizationId);
+  }
+
+  /** Response types of the organization service methods by their names. */
+  private static Map<String, Type> responseTypes() {
+    Map<String, Type> types = new HashMap<>();
+    for (Method method : OrganizationService.class.getMethods()) {
+      ServiceMethod serviceMethod = method.getAnnotation(ServiceMethod.class);
+      if (serviceMethod != null) {
+        String name = serviceMethod.value().isEmpty() ? method.getName() : serviceMethod.value();
+        Type returnType = method.getGenericReturnType();
+        types.put(name, ((ParameterizedType) returnType).getActualTypeArguments()[0]);
+      }
+    }
+    return types;
+  }
+
+  private static final class Routing {
+
+    private final ConsistentHashRing<Address> ring;
+    private final Address self;
+    private final ServiceCall call;
+
+    private Routing(ConsistentHashRing<Address> ring, Address self, ServiceCall call) {
+      this.ring = ring;
+      this.self = self;
+      this.call = call;
+    }
+
+    /** Returns the address of the owner of the organization, or null if this node owns it. */
+    private Address owner(String organizationId) {
+      Address owner = ring.owner(organizationId);
+      return self.equals(owner) ? null : owner;
+    }
+  }
+
+  public static class Builder {
+    private int virtualNodes = 128;
+    private Duration forwardTimeout = Duration.ofSeconds(10);
+    private MetricRegistry registry;
+    private Class<?> owner = OrganizationAffinity.class;
+
+    /**
+     * Sets the number of positions of every member on the consistent hash ring, 128 by default.
+     * More positions spread the organizations more evenly over the members.
+     *
+     * @param virtualNodes positions of every member.
+     * @return this builder.
+     */
+    public Builder virtualNodes(int virtualNodes) {
+      if (virtualNodes < 1) {
+        throw new IllegalArgumentException("virtualNodes must be positive: " + virtualNodes);
+      }
+      this.virtualNodes = virtualNodes;
+      return this;
+    }
+
+    /**
+     * Sets how long a forwarded request may take, 10 seconds by default. A read which times out is
+     * processed locally, a write fails with a {@link java.util.concurrent.TimeoutException}.
+     *
+     * @param forwardTimeout timeout of forwarded requests.
+     * @return this builder.
+     */
+    public Builder forwardTimeout(Duration forwardTimeout) {
+      this.forwardTimeout = requireNonNull(forwardTimeout, "forwardTimeout");
+      return this;
+    }
+
+    /**
+     * Sets the registry of the forwarding meters, and the class their names start with. Requests
+     * are not metered by default.
+     *
+     * @param registry metric registry.
+     * @param owner class the metric names start with.
+     * @return this builder.
+     */
+    public Builder metrics(MetricRegistry registry, Class<?> owner) {
+      this.registry = registry;
+      this.owner = owner;
+      return this;
+    }
+
+    public OrganizationAffinity build() {
+      return new OrganizationAffinity(this);
+    }
+  }
+}
@@ -0,0 +1,19 @@
+package io.scalecube.organization.affinity;
+
+import io.scalecube.account.api.OrganizationService;
+import io.scalecube.services.annotations.Service;
+
+/**
+ * The organization service methods, published under a namespace of their own for requests
+ * forwarded to the owner node of the organization. See {@link OrganizationAffinity}.
+ *
+ * <p>The namespace is published like any other service, so it is reachable by every client of the
+ * gateway as well, and its requests are processed by the node which receives them, skipping the
+ * routing to the owner. It is not an access boundary: the requests are authorized exactly as those
+ * of the organization service, but a client calling it directly gives up the affinity.
+ */
+@Service(OrganizationOwnerService.NAMESPACE)
+public interface OrganizationOwnerService extends OrganizationService {
+
+  String NAMESPACE = "organizations-owner";
+}
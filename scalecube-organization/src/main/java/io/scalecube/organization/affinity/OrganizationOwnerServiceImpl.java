@@ -0,0 +1,112 @@
+package io.scalecube.organization.affinity;
+
+import io.scalecube.account.api.AddOrganizationApiKeyRequest;
+import io.scalecube.account.api.CreateOrganizationRequest;
+import io.scalecube.account.api.CreateOrganizationResponse;
+import io.scalecube.account.api.DeleteOrganizationApiKeyRequest;
+import io.scalecube.account.api.DeleteOrganizationRequest;
+import io.scalecube.account.api.DeleteOrganizationResponse;
+import io.scalecube.account.api.GetMembershipRequest;
+import io.scalecube.account.api.GetMembershipResponse;
+import io.scalecube.account.api.GetOrganizationMembersRequest;
+import io.scalecube.account.api.GetOrganizationMembersResponse;
+import io.scalecube.account.api.GetOrganizationRequest;
+import io.scalecube.account.api.GetOrganizationResponse;
+import io.scalecube.account.api.GetPublicKeyRequest;
+import io.scalecube.account.api.GetPublicKeyResponse;
+import io.scalecube.account.api.InviteOrganizationMemberRequest;
+import io.scalecube.account.api.InviteOrganizationMemberResponse;
+import io.scalecube.account.api.KickoutOrganizationMemberRequest;
+import io.scalecube.account.api.KickoutOrganizationMemberResponse;
+import io.scalecube.account.api.LeaveOrganizationRequest;
+import io.scalecube.account.api.LeaveOrganizationResponse;
+import io.scalecube.account.api.OrganizationService;
+import io.scalecube.account.api.UpdateOrganizationMemberRoleRequest;
+import io.scalecube.account.api.UpdateOrganizationMemberRoleResponse;
+import io.scalecube.account.api.UpdateOrganizationRequest;
+import io.scalecube.account.api.UpdateOrganizationResponse;
+import reactor.core.publisher.Mono;
+
+/**
+ * Serves the requests forwarded to this node as the owner of their organizations. The requests
+ * are processed by the organization service right here, and never forwarded again, even if this
+ * node does not consider itself the owner since the membership changed meanwhile.
+ */
+public class OrganizationOwnerServiceImpl implements OrganizationOwnerService {
+
+  private final OrganizationService service;
+
+  public OrganizationOwnerServiceImpl(OrganizationService service) {
+    this.service = service;
+  }
+
+  @Override
+  public Mono<CreateOrganizationResponse> createOrganization(CreateOrganizationRequest request) {
+    return OrganizationAffinity.forwarded(service.createOrganization(request));
+  }
+
+  @Override
+  public Mono<GetMembershipResponse> getUserOrganizationsMembership(GetMembershipRequest request) {
+    return OrganizationAffinity.forwarded(service.getUserOrganizationsMembership(request));
+  }
+
+  @Override
+  public Mono<GetOrganizationResponse> getOrganization(GetOrganizationRequest request) {
+    return OrganizationAffinity.forwarded(service.getOrganization(request));
+  }
+
+  @Override
+  public Mono<DeleteOrganizationResponse> deleteOrganization(DeleteOrganizationRequest request) {
+    return OrganizationAffinity.forwarded(service.deleteOrganization(request));
+  }
+
+  @Override
+  public Mono<UpdateOrganizationResponse> updateOrganization(UpdateOrganizationRequest request) {
+    return OrganizationAffinity.forwarded(service.updateOrganization(request));
+  }
+
+  @Override
+  public Mono<GetOrganizationMembersResponse> getOrganizationMembers(
+      GetOrganizationMembersRequest request) {
+    return OrganizationAffinity.forwarded(service.getOrganizationMembers(request));
+  }
+
+  @Override
+  public Mono<InviteOrganizationMemberResponse> inviteMember(
+      InviteOrganizationMemberRequest request) {
+    return OrganizationAffinity.forwarded(service.inviteMember(request));
+  }
+
+  @Override
+  public Mono<KickoutOrganizationMemberResponse> kickoutMember(
+      KickoutOrganizationMemberRequest request) {
+    return OrganizationAffinity.forwarded(service.kickoutMember(request));
+  }
+
+  @Override
+  public Mono<LeaveOrganizationResponse> leaveOrganization(LeaveOrganizationRequest request) {
+    return OrganizationAffinity.forwarded(service.leaveOrganization(request));
+  }
+
+  @Override
+  public Mono<GetOrganizationResponse> addOrganizationApiKey(AddOrganizationApiKeyRequest request) {
+    return OrganizationAffinity.forwarded(service.addOrganizationApiKey(request));
+  }
+
+  @Override
+  public Mono<GetOrganizationResponse> deleteOrganizationApiKey(
+      DeleteOrganizationApiKeyRequest request) {
+    return OrganizationAffinity.forwarded(service.deleteOrganizationApiKey(request));
+  }
+
+  @Override
+  public Mono<UpdateOrganizationMemberRoleResponse> updateOrganizationMemberRole(
+      UpdateOrganizationMemberRoleRequest request) {
+    return OrganizationAffinity.forwarded(service.updateOrganizationMemberRole(request));
+  }
+
+  @Override
+  public Mono<GetPublicKeyResponse> getPublicKey(GetPublicKeyRequest request) {
+    return OrganizationAffinity.forwarded(service.getPublicKey(request));
+  }
+}
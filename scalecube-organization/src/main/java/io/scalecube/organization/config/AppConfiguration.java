@@ -1,5 +1,7 @@
 package io.scalecube.organization.config;
 
+import com.bettercloud.vault.VaultConfig;
+import com.bettercloud.vault.VaultException;
 import io.scalecube.config.ConfigRegistry;
 import io.scalecube.config.ConfigRegistrySettings;
 import io.scalecube.config.ConfigRegistrySettings.Builder;
@@ -11,8 +13,10 @@ import io.scalecube.config.vault.EnvironmentVaultTokenSupplier;
 import io.scalecube.config.vault.KubernetesVaultTokenSupplier;
 import io.scalecube.config.vault.VaultConfigSource;
 import io.scalecube.config.vault.VaultInvoker;
+import io.scalecube.config.vault.VaultTokenSupplier;
 import java.nio.file.Path;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.regex.Pattern;
 
 /** Configures the ConfigRegistry with sources. */
@@ -31,6 +35,9 @@ public class AppConfiguration {
 
   private static final ConfigRegistry configRegistry;
   private static VaultInvoker vaultInvoker;
+  private static String vaultAddress;
+  private static int vaultEngineVersion;
+  private static Supplier<String> vaultTokenSupplier;
 
   static {
     Builder builder =
@@ -52,15 +59,20 @@ public class AppConfiguration {
       if (vaultToken != null && kubernetesVaultRolePropName != null) {
         throw new IllegalArgumentException("Vault auth scheme is unclear");
       }
-      VaultInvoker.Builder vaultInvokerBuilder = VaultInvoker.builder();
+      VaultTokenSupplier tokenSupplier =
+          vaultToken != null
+              ? new EnvironmentVaultTokenSupplier()
+              : new KubernetesVaultTokenSupplier();
 
-      if (vaultToken != null) {
-        vaultInvokerBuilder.tokenSupplier(new EnvironmentVaultTokenSupplier());
-      }
-      if (kubernetesVaultRolePropName != null) {
-        vaultInvokerBuilder.tokenSupplier(new KubernetesVaultTokenSupplier());
-      }
-      vaultInvoker = vaultInvokerBuilder.options(c -> c.engineVersion(vaultEngineVersion)).build();
+      vaultInvoker =
+          VaultInvoker.builder()
+              .tokenSupplier(tokenSupplier)
+              .options(c -> c.engineVersion(vaultEngineVersion))
+              .build();
+
+      AppConfiguration.vaultAddress = vaultAddr;
+      AppConfiguration.vaultEngineVersion = vaultEngineVersion;
+      AppConfiguration.vaultTokenSupplier = () -> vaultToken(tokenSupplier);
 
       builder.addLastSource(
           "vault",
@@ -80,4 +92,35 @@ public class AppConfiguration {
   public static VaultInvoker vaultInvoker() {
     return vaultInvoker;
   }
+
+  public static String vaultAddress() {
+    return vaultAddress;
+  }
+
+  public static int vaultEngineVersion() {
+    return vaultEngineVersion;
+  }
+
+  /**
+   * Returns the supplier of Vault tokens, it logs in to Vault if the auth scheme requires it and
+   * so it may block.
+   *
+   * @return Vault token supplier, or <code>null</code> if Vault is not configured.
+   */
+  public static Supplier<String> vaultTokenSupplier() {
+    return vaultTokenSupplier;
+  }
+
+  private static String vaultToken(VaultTokenSupplier tokenSupplier) {
+    try {
+      VaultConfig config =
+          new VaultConfig()
+              .environmentLoader(VaultInvoker.Builder.ENVIRONMENT_LOADER)
+              .engineVersion(vaultEngineVersion)
+              .build();
+      return tokenSupplier.getToken(VaultInvoker.Builder.ENVIRONMENT_LOADER, config);
+    } catch (VaultException ex) {
+      throw new IllegalStateException("Failed to get Vault token", ex);
+    }
+  }
 }
@@ -0,0 +1,49 @@
+package io.scalecube.organization.domain;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Pending removal of the API key pairs of a deleted organization.
+ *
+ * <p>The cleanup record is saved before the organization is deleted and is removed once every key
+ * pair is deleted from the key store, so key pairs are not orphaned if the service stops half way.
+ */
+public final class ApiKeysCleanup {
+
+  private final String organizationId;
+  private final List<String> keyIds;
+
+  /**
+   * Creates new instance of API keys cleanup.
+   *
+   * @param organizationId id of the deleted organization.
+   * @param keyIds ids of the key pairs to delete.
+   */
+  public ApiKeysCleanup(String organizationId, Collection<String> keyIds) {
+    this.organizationId = requireNonNull(organizationId, "organization id cannot be null");
+    this.keyIds =
+        Collections.unmodifiableList(new ArrayList<>(requireNonNull(keyIds, "key ids")));
+  }
+
+  public String organizationId() {
+    return organizationId;
+  }
+
+  public List<String> keyIds() {
+    return keyIds;
+  }
+
+  @Override
+  public String toString() {
+    return new StringJoiner(", ", ApiKeysCleanup.class.getSimpleName() + "[", "]")
+        .add("organizationId='" + organizationId + "'")
+        .add("keyIds=" + keyIds.size())
+        .toString();
+  }
+}
@@ -5,19 +5,33 @@ import static java.util.Objects.requireNonNull;
 import io.scalecube.account.api.ApiKey;
 import io.scalecube.account.api.OrganizationMember;
 import io.scalecube.account.api.Role;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.StringJoiner;
 
-/** Represents an Organization. */
+/**
+ * Represents an Organization.
+ *
+ * <p>Members are indexed by user id, so membership and role checks do not scan the members, and
+ * the number of owners is maintained as members are added, removed and change roles.
+ */
 public class Organization extends Entity {
 
   private String name;
   private String email;
-  private Set<OrganizationMember> members = new HashSet<>();
+  private Map<String, Role> members = new LinkedHashMap<>();
   private Set<ApiKey> apiKeys = new HashSet<>();
 
+  // counted on first use after the members are read
+  private transient int owners = -1;
+  // built on first use after the members change
+  private transient List<OrganizationMember> memberList;
+
   Organization() {}
 
   /**
@@ -47,8 +61,20 @@ public class Organization extends Entity {
     return email;
   }
 
-  public Set<OrganizationMember> members() {
-    return Collections.unmodifiableSet(members);
+  /**
+   * Returns the members of the organization, in the order they joined. The list is built once and
+   * shared until the members change, so repeated calls are cheap.
+   *
+   * @return members.
+   */
+  public List<OrganizationMember> members() {
+    List<OrganizationMember> list = memberList;
+    if (list == null) {
+      List<OrganizationMember> newList = new ArrayList<>(members.size());
+      members.forEach((userId, role) -> newList.add(new OrganizationMember(userId, role.name())));
+      list = memberList = Collections.unmodifiableList(newList);
+    }
+    return list;
   }
 
   public Set<ApiKey> apiKeys() {
@@ -63,21 +89,69 @@ public class Organization extends Entity {
     this.email = email;
   }
 
+  /**
+   * Adds the member, unless the user is a member already.
+   *
+   * @param member organization member.
+   */
   public void addMember(OrganizationMember member) {
-    members.add(member);
+    Role role = Role.valueOf(member.role());
+    if (members.putIfAbsent(member.id(), role) == null) {
+      countOwners(null, role);
+      memberList = null;
+    }
   }
 
+  /**
+   * Removes the member, if the user is a member.
+   *
+   * @param userId user id.
+   */
   public void removeMember(String userId) {
-    members.removeIf(member -> member.id().equals(userId));
+    Role removed = members.remove(userId);
+    if (removed != null) {
+      countOwners(removed, null);
+      memberList = null;
+    }
   }
 
   public boolean isMember(String userId) {
-    return members.stream().anyMatch(member -> member.id().equals(userId));
+    return members.containsKey(userId);
+  }
+
+  /**
+   * Returns the role of the member.
+   *
+   * @param userId user id.
+   * @return role, or null in case the user is not a member.
+   */
+  public Role role(String userId) {
+    return members.get(userId);
   }
 
+  public boolean isInRole(String userId, Role role) {
+    return role != null && role == members.get(userId);
+  }
+
+  /**
+   * Checks whether the organization has no owner other than the given user.
+   *
+   * @param userId user id.
+   * @return true in case no other member is an owner.
+   */
+  public boolean isLastOwner(String userId) {
+    return ownerCount() - (isInRole(userId, Role.Owner) ? 1 : 0) == 0;
+  }
+
+  /**
+   * Sets the role of the user, who becomes a member in case they are not.
+   *
+   * @param userId user id.
+   * @param role new role.
+   */
   public void updateMemberRole(String userId, Role role) {
-    removeMember(userId);
-    addMember(new OrganizationMember(userId, role.name()));
+    countOwners(members.put(userId, requireNonNull(role, "role")), role);
+    memberList = null;
   }
 
   public void addApiKey(ApiKey apiKey) {
@@ -88,6 +162,25 @@ public class Organization extends Entity {
     apiKeys.removeIf(apiKey -> apiKey.name().equals(apiKeyName));
   }
 
+  private int ownerCount() {
+    if (owners < 0) {
+      owners = (int) members.values().stream().filter(role -> role == Role.Owner).count();
+    }
+    return owners;
+  }
+
+  private void countOwners(Role removed, Role added) {
+    if (owners < 0) {
+      return;
+    }
+    if (removed == Role.Owner) {
+      owners--;
+    }
+    if (added == Role.Owner) {
+      owners++;
+    }
+  }
+
   @Override
   public String toString() {
     return new StringJoiner(", ", Organization.class.getSimpleName() + "[", "]")
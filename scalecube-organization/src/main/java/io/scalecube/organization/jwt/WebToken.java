@@ -4,6 +4,7 @@ import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtBuilder;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.scalecube.organization.tokens.KeyAlgorithm;
 import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
@@ -66,8 +67,8 @@ public class WebToken {
       Key signingKey,
       Map<String, String> claims) {
 
-    // The JWT signature algorithm we will be using to sign the token
-    SignatureAlgorithm signatureAlgorithm = SignatureAlgorithm.RS256;
+    // The JWT signature algorithm we will be using to sign the token, RS256 or ES256
+    SignatureAlgorithm signatureAlgorithm = KeyAlgorithm.signatureAlgorithm(signingKey);
 
     long nowMillis = System.currentTimeMillis();
     Date now = new Date(nowMillis);
@@ -0,0 +1,180 @@
+package io.scalecube.organization.metrics;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.codahale.metrics.Reservoir;
+import com.codahale.metrics.Snapshot;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free log-linear histogram of non-negative values, in the spirit of HdrHistogram.
+ *
+ * <p>Every power of two range is split into 64 linear sub-buckets, so a recorded value is off by
+ * less than 1.6% of its magnitude, while recording is a single atomic increment without
+ * allocation. Unlike the sampling reservoirs of Dropwizard, all recorded values contribute to the
+ * percentiles, so tail latencies (p99, p999) are not lost. Values above 2<sup>40</sup> (about 18
+ * minutes in nanoseconds) are recorded as 2<sup>40</sup>.
+ */
+public final class LatencyHistogram implements Reservoir {
+
+  private static final int SUB_BUCKET_BITS = 6;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int MAX_EXPONENT = 40;
+  private static final long MAX_VALUE = 1L << MAX_EXPONENT;
+  private static final int BUCKETS = SUB_BUCKETS * (MAX_EXPONENT - SUB_BUCKET_BITS + 2);
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+  private final LongAdder count = new LongAdder();
+  private final LongAdder sum = new LongAdder();
+  private final DoubleAdder sumOfSquares = new DoubleAdder();
+  private final LongAccumulator min = new LongAccumulator(Math::min, Long.MAX_VALUE);
+  private final LongAccumulator max = new LongAccumulator(Math::max, Long.MIN_VALUE);
+
+  @Override
+  public int size() {
+    return (int) Math.min(Integer.MAX_VALUE, count.sum());
+  }
+
+  @Override
+  public void update(long value) {
+    long v = Math.min(Math.max(value, 0), MAX_VALUE);
+    counts.incrementAndGet(bucketIndex(v));
+    count.increment();
+    sum.add(v);
+    sumOfSquares.add((double) v * v);
+    min.accumulate(v);
+    max.accumulate(v);
+  }
+
+  @Override
+  public Snapshot getSnapshot() {
+    long[] copy = new long[BUCKETS];
+    long total = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      copy[i] = counts.get(i);
+      total += copy[i];
+    }
+    return new HistogramSnapshot(copy, total, sum.sum(), sumOfSquares.sum(), min.get(), max.get());
+  }
+
+  static int bucketIndex(long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+    int exponent = 63 - Long.numberOfLeadingZeros(value);
+    int shift = exponent - SUB_BUCKET_BITS;
+    int subBucket = (int) (value >>> shift) - SUB_BUCKETS;
+    return SUB_BUCKETS * (shift + 1) + subBucket;
+  }
+
+  /** Returns the highest value recorded in the bucket of the given index. */
+  static long highestValue(int index) {
+    if (index < SUB_BUCKETS) {
+      return index;
+    }
+    int shift = index / SUB_BUCKETS - 1;
+    long subBucket = index % SUB_BUCKETS + SUB_BUCKETS;
+    return ((subBucket + 1) << shift) - 1;
+  }
+
+  private static final class HistogramSnapshot extends Snapshot {
+
+    private final long[] counts;
+    private final long total;
+    private final long sum;
+    private final double sumOfSquares;
+    private final long min;
+    private final long max;
+
+    private HistogramSnapshot(
+        long[] counts, long total, long sum, double sumOfSquares, long min, long max) {
+      this.counts = counts;
+      this.total = total;
+      this.sum = sum;
+      this.sumOfSquares = sumOfSquares;
+      this.min = total > 0 ? min : 0;
+      this.max = total > 0 ? max : 0;
+    }
+
+    @Override
+    public double getValue(double quantile) {
+      if (quantile < 0.0 || quantile > 1.0 || Double.isNaN(quantile)) {
+        throw new IllegalArgumentException(quantile + " is not in [0..1]");
+      }
+      if (total == 0) {
+        return 0.0;
+      }
+      long rank = Math.max(1, (long) Math.ceil(quantile * total));
+      long seen = 0;
+      for (int i = 0; i < counts.length; i++) {
+        seen += counts[i];
+        if (seen >= rank) {
+          return Math.max(min, Math.min(max, highestValue(i)));
+        }
+      }
+      return max;
+    }
+
+    /**
+     * Returns the highest value of every non-empty bucket, a compact approximation of the recorded
+     * values.
+     */
+    @Override
+    public long[] getValues() {
+      long[] values = new long[counts.length];
+      int size = 0;
+      for (int i = 0; i < counts.length; i++) {
+        if (counts[i] > 0) {
+          values[size++] = Math.min(max, highestValue(i));
+        }
+      }
+      return Arrays.copyOf(values, size);
+    }
+
+    @Override
+    public int size() {
+      return (int) Math.min(Integer.MAX_VALUE, total);
+    }
+
+    @Override
+    public long getMax() {
+      return max;
+    }
+
+    @Override
+    public double getMean() {
+      return total > 0 ? (double) sum / total : 0.0;
+    }
+
+    @Override
+    public long getMin() {
+      return min;
+    }
+
+    @Override
+    public double getStdDev() {
+      if (total <= 1) {
+        return 0.0;
+      }
+      double mean = getMean();
+      double variance = (sumOfSquares - total * mean * mean) / (total - 1);
+      return Math.sqrt(Math.max(0.0, variance));
+    }
+
+    @Override
+    public void dump(OutputStream output) {
+      try (PrintWriter out = new PrintWriter(new OutputStreamWriter(output, UTF_8))) {
+        for (long value : getValues()) {
+          out.printf("%d%n", value);
+        }
+      }
+    }
+  }
+}
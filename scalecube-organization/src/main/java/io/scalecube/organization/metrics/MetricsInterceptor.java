@@ -0,0 +1,153 @@
+package io.scalecube.organization.metrics;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import io.scalecube.account.api.ServiceOperationException;
+import io.scalecube.organization.operation.OperationInterceptor;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import reactor.core.publisher.Mono;
+
+/**
+ * Instruments every service method with the following metrics, named after the owner class and
+ * the method, e.g. <code>io.scalecube.organization.OrganizationServiceImpl.getOrganization.latency
+ * </code>:
+ *
+ * <ul>
+ *   <li><code>latency</code> timer of completed and failed requests, backed by a {@link
+ *       LatencyHistogram};
+ *   <li><code>success</code> meter of completed requests;
+ *   <li><code>errors.&lt;ExceptionType&gt;</code> meter of failed requests by exception type;
+ *   <li><code>in-flight</code> gauge of requests being processed.
+ * </ul>
+ *
+ * <p>The <code>in-flight</code> gauge of the owner class counts the requests of all methods.
+ * Interceptors of the same owner class may share a registry, and then share its metrics.
+ */
+public final class MetricsInterceptor implements OperationInterceptor {
+
+  private final MetricRegistry registry;
+  private final Class<?> owner;
+  private final AtomicLong inFlight;
+  private final Map<String, MethodMetrics> methods = new ConcurrentHashMap<>();
+
+  /**
+   * Creates the interceptor and registers the total in-flight gauge.
+   *
+   * @param registry metric registry.
+   * @param owner class the metric names start with.
+   */
+  public MetricsInterceptor(MetricRegistry registry, Class<?> owner) {
+    this.registry = registry;
+    this.owner = owner;
+    this.inFlight = inFlightGauge(registry, MetricRegistry.name(owner, "in-flight"));
+  }
+
+  @Override
+  public <I, O> Mono<O> intercept(String method, I request, Mono<O> next) {
+    MethodMetrics metrics = methods.computeIfAbsent(method, MethodMetrics::new);
+    return Mono.defer(
+        () -> {
+          long start = metrics.start();
+          return next.doOnSuccess(response -> metrics.succeeded(start))
+              .doOnError(th -> metrics.failed(start, th))
+              .doFinally(signal -> metrics.finished());
+        });
+  }
+
+  /**
+   * Registers a timer backed by a {@link LatencyHistogram}, or returns the timer already
+   * registered under the name.
+   *
+   * @param registry metric registry.
+   * @param name timer name.
+   * @return timer.
+   */
+  public static Timer latencyTimer(MetricRegistry registry, String name) {
+    Timer timer = registry.getTimers().get(name);
+    if (timer != null) {
+      return timer;
+    }
+    try {
+      return registry.register(name, new Timer(new LatencyHistogram()));
+    } catch (IllegalArgumentException ex) {
+      // registered concurrently
+      return registry.timer(name);
+    }
+  }
+
+  /**
+   * Registers an in-flight gauge, or returns the counter of the gauge already registered under the
+   * name.
+   */
+  private static AtomicLong inFlightGauge(MetricRegistry registry, String name) {
+    Gauge<?> gauge = registry.getGauges().get(name);
+    if (gauge == null) {
+      try {
+        gauge = registry.register(name, new InFlightGauge());
+      } catch (IllegalArgumentException ex) {
+        // registered concurrently
+        gauge = registry.getGauges().get(name);
+      }
+    }
+    // a gauge of another kind keeps the name, the requests are still counted but not reported
+    return gauge instanceof InFlightGauge ? ((InFlightGauge) gauge).count : new AtomicLong();
+  }
+
+  private static final class InFlightGauge implements Gauge<Long> {
+
+    private final AtomicLong count = new AtomicLong();
+
+    @Override
+    public Long getValue() {
+      return count.get();
+    }
+  }
+
+  private final class MethodMetrics {
+
+    private final String name;
+    private final Timer latency;
+    private final Meter success;
+    private final AtomicLong methodInFlight;
+    private final Map<Class<?>, Meter> errors = new ConcurrentHashMap<>();
+
+    private MethodMetrics(String method) {
+      this.name = MetricRegistry.name(owner, method);
+      this.latency = latencyTimer(registry, MetricRegistry.name(name, "latency"));
+      this.success = registry.meter(MetricRegistry.name(name, "success"));
+      this.methodInFlight = inFlightGauge(registry, MetricRegistry.name(name, "in-flight"));
+    }
+
+    private long start() {
+      inFlight.incrementAndGet();
+      methodInFlight.incrementAndGet();
+      return System.nanoTime();
+    }
+
+    private void succeeded(long start) {
+      latency.update(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      success.mark();
+    }
+
+    private void failed(long start, Throwable th) {
+      latency.update(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      Throwable cause =
+          th instanceof ServiceOperationException && th.getCause() != null ? th.getCause() : th;
+      errors
+          .computeIfAbsent(
+              cause.getClass(),
+              type -> registry.meter(MetricRegistry.name(name, "errors", type.getSimpleName())))
+          .mark();
+    }
+
+    private void finished() {
+      methodInFlight.decrementAndGet();
+      inFlight.decrementAndGet();
+    }
+  }
+}
@@ -0,0 +1,19 @@
+package io.scalecube.organization.metrics;
+
+import com.codahale.metrics.MetricRegistry;
+import io.scalecube.account.api.OrganizationMetricsService;
+import reactor.core.publisher.Mono;
+
+public class OrganizationMetricsServiceImpl implements OrganizationMetricsService {
+
+  private final MetricRegistry registry;
+
+  public OrganizationMetricsServiceImpl(MetricRegistry registry) {
+    this.registry = registry;
+  }
+
+  @Override
+  public Mono<String> prometheus() {
+    return Mono.fromCallable(() -> PrometheusTextFormat.format(registry));
+  }
+}
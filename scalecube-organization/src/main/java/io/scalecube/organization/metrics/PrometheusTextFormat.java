@@ -0,0 +1,128 @@
+package io.scalecube.organization.metrics;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Snapshot;
+import com.codahale.metrics.Timer;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Formats the metrics of a {@link MetricRegistry} in the Prometheus text exposition format.
+ *
+ * <p>Metric names are sanitized by replacing every character which is not allowed in Prometheus
+ * metric names with an underscore. Timers are exported as summaries in seconds with the <code>
+ * _seconds</code> suffix, histograms as summaries, meters as counters with the <code>_total
+ * </code> suffix, and counters and numeric gauges as gauges.
+ */
+public final class PrometheusTextFormat {
+
+  private static final double[] QUANTILES = {0.5, 0.75, 0.95, 0.99, 0.999};
+  private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+  private PrometheusTextFormat() {
+    // Do not instantiate
+  }
+
+  /**
+   * Formats a snapshot of all metrics of the registry.
+   *
+   * @param registry metric registry.
+   * @return metrics in the Prometheus text exposition format.
+   */
+  public static String format(MetricRegistry registry) {
+    StringBuilder out = new StringBuilder(4096);
+
+    for (Map.Entry<String, Gauge> entry : registry.getGauges().entrySet()) {
+      Object value = entry.getValue().getValue();
+      if (value instanceof Number || value instanceof Boolean) {
+        String name = sanitize(entry.getKey());
+        double number =
+            value instanceof Boolean
+                ? ((Boolean) value ? 1 : 0)
+                : ((Number) value).doubleValue();
+        type(out, name, "gauge");
+        sample(out, name, null, number);
+      }
+    }
+
+    for (Map.Entry<String, Counter> entry : registry.getCounters().entrySet()) {
+      String name = sanitize(entry.getKey());
+      type(out, name, "gauge");
+      sample(out, name, null, entry.getValue().getCount());
+    }
+
+    for (Map.Entry<String, Meter> entry : registry.getMeters().entrySet()) {
+      String name = sanitize(entry.getKey()) + "_total";
+      type(out, name, "counter");
+      sample(out, name, null, entry.getValue().getCount());
+    }
+
+    for (Map.Entry<String, Histogram> entry : registry.getHistograms().entrySet()) {
+      Histogram histogram = entry.getValue();
+      summary(out, sanitize(entry.getKey()), histogram.getSnapshot(), histogram.getCount(), 1);
+    }
+
+    for (Map.Entry<String, Timer> entry : registry.getTimers().entrySet()) {
+      Timer timer = entry.getValue();
+      String name = sanitize(entry.getKey()) + "_seconds";
+      summary(out, name, timer.getSnapshot(), timer.getCount(), NANOS_PER_SECOND);
+    }
+
+    return out.toString();
+  }
+
+  private static void summary(
+      StringBuilder out, String name, Snapshot snapshot, long count, double divisor) {
+    type(out, name, "summary");
+    for (double quantile : QUANTILES) {
+      sample(out, name, quantile, snapshot.getValue(quantile) / divisor);
+    }
+    sample(out, name + "_count", null, count);
+    sample(out, name + "_sum", null, snapshot.getMean() * count / divisor);
+  }
+
+  private static void type(StringBuilder out, String name, String type) {
+    out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+  }
+
+  private static void sample(StringBuilder out, String name, Double quantile, double value) {
+    out.append(name);
+    if (quantile != null) {
+      out.append("{quantile=\"").append(quantile).append("\"}");
+    }
+    out.append(' ').append(formatValue(value)).append('\n');
+  }
+
+  private static String formatValue(double value) {
+    if (Double.isNaN(value)) {
+      return "NaN";
+    }
+    if (Double.isInfinite(value)) {
+      return value > 0 ? "+Inf" : "-Inf";
+    }
+    if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+      return Long.toString((long) value);
+    }
+    return String.format(Locale.ROOT, "%.9g", value);
+  }
+
+  static String sanitize(String name) {
+    StringBuilder sanitized = new StringBuilder(name.length());
+    for (int i = 0; i < name.length(); i++) {
+      char c = name.charAt(i);
+      boolean valid =
+          (c >= 'a' && c <= 'z')
+              || (c >= 'A' && c <= 'Z')
+              || c == '_'
+              || c == ':'
+              || (c >= '0' && c <= '9' && i > 0);
+      sanitized.append(valid ? c : '_');
+    }
+    return sanitized.toString();
+  }
+}
@@ -0,0 +1,22 @@
+package io.scalecube.organization.metrics;
+
+/**
+ * Stages of a service operation which are timed by {@link StageTimings}.
+ */
+public enum Stage {
+  TOKEN_VERIFY("token-verify"),
+  VALIDATE("validate"),
+  REPOSITORY_READ("repository-read"),
+  REPOSITORY_WRITE("repository-write"),
+  KEY_STORE("key-store");
+
+  private final String metricName;
+
+  Stage(String metricName) {
+    this.metricName = metricName;
+  }
+
+  public String metricName() {
+    return metricName;
+  }
+}
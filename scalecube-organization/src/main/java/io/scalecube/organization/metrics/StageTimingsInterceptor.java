@@ -0,0 +1,68 @@
+package io.scalecube.organization.metrics;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import io.scalecube.organization.operation.OperationInterceptor;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import reactor.core.publisher.Mono;
+
+/**
+ * Puts new {@link StageTimings} into the subscriber context of every request. Once the request
+ * terminates, the time spent in every stage is recorded to a timer named after the owner class,
+ * the method and the stage, e.g. <code>
+ * io.scalecube.organization.OrganizationServiceImpl.addApiKey.stage.key-store</code>.
+ *
+ * <p>Interceptors applied inside this one find the timings of the request in the subscriber
+ * context, e.g. the logging interceptor logs them on exit.
+ */
+public final class StageTimingsInterceptor implements OperationInterceptor {
+
+  private static final Stage[] STAGES = Stage.values();
+
+  private final MetricRegistry registry;
+  private final Class<?> owner;
+  private final Map<String, Timer[]> timers = new ConcurrentHashMap<>();
+
+  /**
+   * Creates the interceptor.
+   *
+   * @param registry metric registry, or null to collect the timings for logging only.
+   * @param owner class the metric names start with.
+   */
+  public StageTimingsInterceptor(MetricRegistry registry, Class<?> owner) {
+    this.registry = registry;
+    this.owner = owner;
+  }
+
+  @Override
+  public <I, O> Mono<O> intercept(String method, I request, Mono<O> next) {
+    return Mono.defer(
+        () -> {
+          StageTimings timings = new StageTimings();
+          return next.doFinally(signal -> record(method, timings))
+              .subscriberContext(context -> context.put(StageTimings.class, timings));
+        });
+  }
+
+  private void record(String method, StageTimings timings) {
+    if (registry == null) {
+      return;
+    }
+    Timer[] methodTimers = timers.computeIfAbsent(method, m -> new Timer[STAGES.length]);
+    for (Stage stage : STAGES) {
+      if (timings.count(stage) > 0) {
+        Timer timer = methodTimers[stage.ordinal()];
+        if (timer == null) {
+          // registered on first use, so methods only export the stages they go through
+          timer =
+              MetricsInterceptor.latencyTimer(
+                  registry, MetricRegistry.name(owner, method, "stage", stage.metricName()));
+          methodTimers[stage.ordinal()] = timer;
+        }
+        timer.update(timings.nanos(stage), TimeUnit.NANOSECONDS);
+      }
+    }
+  }
+}
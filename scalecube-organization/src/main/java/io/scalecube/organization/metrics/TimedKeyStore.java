@@ -0,0 +1,39 @@
+package io.scalecube.organization.metrics;
+
+import io.scalecube.organization.tokens.store.KeyStore;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import reactor.core.publisher.Mono;
+
+/**
+ * Key store which attributes its calls to the {@link Stage#KEY_STORE} stage of the request.
+ */
+public final class TimedKeyStore implements KeyStore {
+
+  private final KeyStore delegate;
+
+  public TimedKeyStore(KeyStore delegate) {
+    this.delegate = delegate;
+  }
+
+  @Override
+  public Mono<Void> store(String alias, KeyPair keyPair) {
+    return StageTimings.time(Stage.KEY_STORE, delegate.store(alias, keyPair));
+  }
+
+  @Override
+  public Mono<PublicKey> getPublicKey(String keyId) {
+    return StageTimings.time(Stage.KEY_STORE, delegate.getPublicKey(keyId));
+  }
+
+  @Override
+  public Mono<PrivateKey> getPrivateKey(String keyId) {
+    return StageTimings.time(Stage.KEY_STORE, delegate.getPrivateKey(keyId));
+  }
+
+  @Override
+  public Mono<Void> delete(String keyId) {
+    return StageTimings.time(Stage.KEY_STORE, delegate.delete(keyId));
+  }
+}
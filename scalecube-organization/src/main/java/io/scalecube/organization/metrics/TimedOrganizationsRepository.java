@@ -0,0 +1,111 @@
+package io.scalecube.organization.metrics;
+
+import static io.scalecube.organization.metrics.Stage.REPOSITORY_READ;
+import static io.scalecube.organization.metrics.Stage.REPOSITORY_WRITE;
+
+import io.scalecube.organization.domain.ApiKeysCleanup;
+import io.scalecube.organization.domain.Organization;
+import io.scalecube.organization.repository.OrganizationsRepository;
+import java.util.function.Function;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Organizations repository which attributes its calls to the {@link Stage#REPOSITORY_READ} and
+ * {@link Stage#REPOSITORY_WRITE} stages of the request. Mutations, which read and then write the
+ * organization, are attributed to the write stage.
+ */
+public final class TimedOrganizationsRepository implements OrganizationsRepository {
+
+  private final OrganizationsRepository delegate;
+
+  public TimedOrganizationsRepository(OrganizationsRepository delegate) {
+    this.delegate = delegate;
+  }
+
+  @Override
+  public Mono<Boolean> existByProperty(String propertyName, Object propertyValue) {
+    return StageTimings.time(
+        REPOSITORY_READ, delegate.existByProperty(propertyName, propertyValue));
+  }
+
+  @Override
+  public Mono<Organization> findById(String id) {
+    return StageTimings.time(REPOSITORY_READ, delegate.findById(id));
+  }
+
+  @Override
+  public Mono<Boolean> existsById(String id) {
+    return StageTimings.time(REPOSITORY_READ, delegate.existsById(id));
+  }
+
+  @Override
+  public Mono<Organization> save(String id, Organization entity) {
+    return StageTimings.time(REPOSITORY_WRITE, delegate.save(id, entity));
+  }
+
+  @Override
+  public Mono<Void> deleteById(String id) {
+    return StageTimings.time(REPOSITORY_WRITE, delegate.deleteById(id));
+  }
+
+  @Override
+  public Flux<Organization> findAll() {
+    return StageTimings.time(REPOSITORY_READ, delegate.findAll());
+  }
+
+  @Override
+  public Mono<Boolean> existsByName(String name) {
+    return StageTimings.time(REPOSITORY_READ, delegate.existsByName(name));
+  }
+
+  @Override
+  public Mono<Boolean> reserveName(String name, String organizationId) {
+    return StageTimings.time(REPOSITORY_WRITE, delegate.reserveName(name, organizationId));
+  }
+
+  @Override
+  public Mono<Void> releaseName(String name, String organizationId) {
+    return StageTimings.time(REPOSITORY_WRITE, delegate.releaseName(name, organizationId));
+  }
+
+  @Override
+  public Flux<Organization> findByMemberId(String memberId) {
+    return StageTimings.time(REPOSITORY_READ, delegate.findByMemberId(memberId));
+  }
+
+  @Override
+  public Mono<Organization> findMembershipById(String id) {
+    return StageTimings.time(REPOSITORY_READ, delegate.findMembershipById(id));
+  }
+
+  @Override
+  public <R> Mono<R> mutate(String id, Function<Organization, R> mutation) {
+    return StageTimings.time(REPOSITORY_WRITE, delegate.mutate(id, mutation));
+  }
+
+  @Override
+  public <R> Mono<R> mutateMembers(String id, Function<Organization, R> mutation) {
+    return StageTimings.time(REPOSITORY_WRITE, delegate.mutateMembers(id, mutation));
+  }
+
+  @Override
+  public Mono<Void> saveApiKeysCleanup(ApiKeysCleanup cleanup) {
+    return StageTimings.time(REPOSITORY_WRITE, delegate.saveApiKeysCleanup(cleanup));
+  }
+
+  @Override
+  public Mono<Void> updateApiKeysCleanup(ApiKeysCleanup cleanup) {
+    return StageTimings.time(REPOSITORY_WRITE, delegate.updateApiKeysCleanup(cleanup));
+  }
+
+  @Override
+  public Mono<Void> deleteApiKeysCleanup(String organizationId) {
+    return StageTimings.time(REPOSITORY_WRITE, delegate.deleteApiKeysCleanup(organizationId));
+  }
+
+  @Override
+  public Flux<ApiKeysCleanup> findApiKeysCleanups() {
+    return StageTimings.time(REPOSITORY_READ, delegate.findApiKeysCleanups());
+  }
+}
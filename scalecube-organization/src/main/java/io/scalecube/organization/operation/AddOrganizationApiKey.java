@@ -6,27 +6,29 @@ import io.scalecube.account.api.GetOrganizationResponse;
 import io.scalecube.account.api.OrganizationServiceException;
 import io.scalecube.account.api.Role;
 import io.scalecube.account.api.Token;
+import io.scalecube.organization.domain.Organization;
 import io.scalecube.organization.repository.OrganizationsRepository;
 import io.scalecube.organization.repository.exception.AccessPermissionException;
+import io.scalecube.organization.repository.exception.DataAccessException;
+import io.scalecube.organization.repository.exception.OptimisticLockingFailureException;
+import io.scalecube.organization.tokens.KeyPairPool;
 import io.scalecube.organization.tokens.TokenVerifier;
 import io.scalecube.organization.tokens.store.ApiKeyBuilder;
 import io.scalecube.organization.tokens.store.KeyStore;
 import java.security.KeyPair;
-import java.security.KeyPairGenerator;
 import java.util.EnumSet;
 import java.util.UUID;
-import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 public class AddOrganizationApiKey
     extends ServiceOperation<AddOrganizationApiKeyRequest, GetOrganizationResponse> {
 
-  private final KeyPairGenerator keyPairGenerator;
+  private final KeyPairPool keyPairPool;
   private final KeyStore keyStore;
 
   private AddOrganizationApiKey(Builder builder) {
     super(builder.tokenVerifier, builder.repository);
-    this.keyPairGenerator = builder.keyPairGenerator;
+    this.keyPairPool = builder.keyPairPool;
     this.keyStore = builder.keyStore;
   }
 
@@ -34,52 +36,76 @@ public class AddOrganizationApiKey
   protected Mono<GetOrganizationResponse> process(
       AddOrganizationApiKeyRequest request, OperationServiceContext context) {
     return getOrganization(request.organizationId())
-        .doOnNext(
+        .doOnNext(organization -> checkApiKey(organization, request, context))
+        .flatMap(
             organization -> {
-              checkSuperUserAccess(organization, context.profile());
-
-              Role callerRole = getRole(context.profile().userId(), organization);
-
-              if (request.claims() != null) {
-                String roleClaim = request.claims().get("role");
-
-                if (roleClaim != null) {
-                  if (EnumSet.allOf(Role.class).stream()
-                      .noneMatch(role -> role.name().equals(roleClaim))) {
-                    throw new OrganizationServiceException(
-                        String.format("Role '%s' is invalid", roleClaim));
-                  }
-
-                  Role targetRole = Role.valueOf(roleClaim);
-
-                  if (targetRole.isHigherThan(callerRole)) {
-                    throw new AccessPermissionException(
-                        String.format(
-                            "user: '%s', name: '%s', role: '%s' "
-                                + "cannot add api key with higher role '%s'",
-                            context.profile().userId(),
-                            context.profile().name(),
-                            callerRole,
-                            targetRole));
-                  }
-                }
-              }
-
               String keyId = UUID.randomUUID().toString();
-
-              KeyPair keyPair = generateKeyPair(keyId);
+              KeyPair keyPair = keyPairPool.take();
               ApiKey apiKey =
                   ApiKeyBuilder.build(keyPair.getPrivate(), organization.id(), keyId, request);
-              organization.addApiKey(apiKey);
-            })
-        .flatMap(organization -> context.repository().save(organization.id(), organization))
-        .map(
-            organization -> {
-              Role role = getRole(context.profile().userId(), organization);
-              return getOrganizationResponse(organization, apiKeyFilterBy(role));
+
+              return keyStore
+                  .store(keyId, keyPair)
+                  .then(
+                      mutateOrganization(
+                          organization.id(),
+                          org -> {
+                            // checked again, the organization may have changed meanwhile
+                            checkApiKey(org, request, context);
+                            org.addApiKey(apiKey);
+                            Role role = getRole(context.profile().userId(), org);
+                            return getOrganizationResponse(org, apiKeyFilterBy(role));
+                          }))
+                  // the key pair of a rejected or conflicting request is not used, drop it
+                  .onErrorResume(
+                      th ->
+                          !(th instanceof DataAccessException)
+                              || th instanceof OptimisticLockingFailureException,
+                      th ->
+                          keyStore
+                              .delete(keyId)
+                              .onErrorResume(ex -> Mono.empty())
+                              .then(Mono.error(th)));
             });
   }
 
+  private void checkApiKey(
+      Organization organization,
+      AddOrganizationApiKeyRequest request,
+      OperationServiceContext context) {
+    if (organization.apiKeys().stream()
+        .anyMatch(apiKey -> apiKey.name().equals(request.apiKeyName()))) {
+      throw new IllegalArgumentException(
+          "apiKey name:'" + request.apiKeyName() + "' already exists");
+    }
+
+    checkSuperUserAccess(organization, context.profile());
+
+    Role callerRole = getRole(context.profile().userId(), organization);
+
+    if (request.claims() != null) {
+      String roleClaim = request.claims().get("role");
+
+      if (roleClaim != null) {
+        if (EnumSet.allOf(Role.class).stream().noneMatch(role -> role.name().equals(roleClaim))) {
+          throw new OrganizationServiceException(String.format("Role '%s' is invalid", roleClaim));
+        }
+
+        Role targetRole = Role.valueOf(roleClaim);
+
+        if (targetRole.isHigherThan(callerRole)) {
+          throw new AccessPermissionException(
+              String.format(
+                  "user: '%s', name: '%s', role: '%s' cannot add api key with higher role '%s'",
+                  context.profile().userId(),
+                  context.profile().name(),
+                  callerRole,
+                  targetRole));
+        }
+      }
+    }
+  }
+
   @Override
   protected Mono<Void> validate(
       AddOrganizationApiKeyRequest request, OperationServiceContext context) {
@@ -87,22 +113,7 @@ public class AddOrganizationApiKey
         () -> {
           requireNonNullOrEmpty(request.organizationId(), "organizationId is a required argument");
           requireNonNullOrEmpty(request.apiKeyName(), "apiKeyName is a required argument");
-        })
-        .then(Mono.defer(() -> getOrganization(request.organizationId())))
-        .flatMapMany(organization -> Flux.fromIterable(organization.apiKeys()))
-        .filter(apiKey -> apiKey.name().equals(request.apiKeyName()))
-        .doOnNext(
-            apiKey -> {
-              throw new IllegalArgumentException(
-                  "apiKey name:'" + apiKey.name() + "' already exists");
-            })
-        .then();
-  }
-
-  private KeyPair generateKeyPair(String keyId) {
-    KeyPair keyPair = keyPairGenerator.generateKeyPair();
-    keyStore.store(keyId, keyPair);
-    return keyPair;
+        });
   }
 
   @Override
@@ -117,7 +128,7 @@ public class AddOrganizationApiKey
   public static class Builder {
     private TokenVerifier tokenVerifier;
     private OrganizationsRepository repository;
-    private KeyPairGenerator keyPairGenerator;
+    private KeyPairPool keyPairPool;
     private KeyStore keyStore;
 
     public Builder tokenVerifier(TokenVerifier tokenVerifier) {
@@ -130,8 +141,8 @@ public class AddOrganizationApiKey
       return this;
     }
 
-    public Builder keyPairGenerator(KeyPairGenerator keyPairGenerator) {
-      this.keyPairGenerator = keyPairGenerator;
+    public Builder keyPairPool(KeyPairPool keyPairPool) {
+      this.keyPairPool = keyPairPool;
       return this;
     }
 
@@ -0,0 +1,156 @@
+package io.scalecube.organization.operation;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import io.scalecube.account.api.ServiceOperationException;
+import io.scalecube.organization.repository.exception.OptimisticLockingFailureException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import reactor.core.publisher.Mono;
+
+/**
+ * Repeats service methods which failed with an {@link OptimisticLockingFailureException}, as the
+ * organization they modified was modified concurrently. Every attempt runs the whole operation
+ * again, so the organization is read, the request validated and the change applied anew.
+ *
+ * <p>Attempts are delayed by an exponential backoff with full jitter, so concurrent writers of the
+ * same organization spread out. Once the retries are exhausted the conflict is returned to the
+ * caller. The following meters are named after the owner class and the method, e.g. <code>
+ * io.scalecube.organization.OrganizationServiceImpl.inviteMember.conflicts</code>:
+ *
+ * <ul>
+ *   <li><code>conflicts</code> of every failed attempt;
+ *   <li><code>conflicts.exhausted</code> of the requests which failed after all retries.
+ * </ul>
+ */
+public final class ConflictRetryInterceptor implements OperationInterceptor {
+
+  private static final int CONFLICTS = 0;
+  private static final int EXHAUSTED = 1;
+
+  private final int maxRetries;
+  private final long firstBackoffNanos;
+  private final long maxBackoffNanos;
+  private final MetricRegistry registry;
+  private final Class<?> owner;
+  private final Map<String, Meter[]> meters = new ConcurrentHashMap<>();
+
+  private ConflictRetryInterceptor(Builder builder) {
+    this.maxRetries = builder.maxRetries;
+    this.firstBackoffNanos = builder.firstBackoff.toNanos();
+    this.maxBackoffNanos = builder.maxBackoff.toNanos();
+    this.registry = builder.registry;
+    this.owner = builder.owner;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  @Override
+  public <I, O> Mono<O> intercept(String method, I request, Mono<O> next) {
+    return attempt(method, next, 0);
+  }
+
+  private <O> Mono<O> attempt(String method, Mono<O> next, int retry) {
+    return next.onErrorResume(
+        ConflictRetryInterceptor::isConflict,
+        th -> {
+          mark(method, CONFLICTS);
+          if (retry >= maxRetries) {
+            mark(method, EXHAUSTED);
+            return Mono.error(th);
+          }
+          return Mono.delay(backoff(retry)).then(attempt(method, next, retry + 1));
+        });
+  }
+
+  private Duration backoff(int retry) {
+    long ceiling = firstBackoffNanos << Math.min(retry, 30);
+    if (ceiling <= 0 || ceiling > maxBackoffNanos) {
+      ceiling = maxBackoffNanos;
+    }
+    return Duration.ofNanos(ThreadLocalRandom.current().nextLong(ceiling + 1));
+  }
+
+  private void mark(String method, int meter) {
+    if (registry != null) {
+      meters.computeIfAbsent(method, this::registerMeters)[meter].mark();
+    }
+  }
+
+  private Meter[] registerMeters(String method) {
+    String name = MetricRegistry.name(owner, method, "conflicts");
+    Meter[] methodMeters = new Meter[2];
+    methodMeters[CONFLICTS] = registry.meter(name);
+    methodMeters[EXHAUSTED] = registry.meter(MetricRegistry.name(name, "exhausted"));
+    return methodMeters;
+  }
+
+  private static boolean isConflict(Throwable th) {
+    Throwable cause =
+        th instanceof ServiceOperationException && th.getCause() != null ? th.getCause() : th;
+    return cause instanceof OptimisticLockingFailureException;
+  }
+
+  public static class Builder {
+    private int maxRetries = 3;
+    private Duration firstBackoff = Duration.ofMillis(5);
+    private Duration maxBackoff = Duration.ofMillis(100);
+    private MetricRegistry registry;
+    private Class<?> owner = ConflictRetryInterceptor.class;
+
+    /**
+     * Sets the number of times a conflicting request is repeated, 3 by default.
+     *
+     * @param maxRetries retries, 0 to return conflicts right away.
+     * @return this builder.
+     */
+    public Builder maxRetries(int maxRetries) {
+      if (maxRetries < 0) {
+        throw new IllegalArgumentException("maxRetries must not be negative: " + maxRetries);
+      }
+      this.maxRetries = maxRetries;
+      return this;
+    }
+
+    /**
+     * Sets the backoff bounds. The delay before the n-th retry is random up to <code>
+     * firstBackoff * 2^(n-1)</code>, capped at <code>maxBackoff</code>. 5 and 100 millis by
+     * default.
+     *
+     * @param firstBackoff upper bound of the delay before the first retry.
+     * @param maxBackoff upper bound of the delay before any retry.
+     * @return this builder.
+     */
+    public Builder backoff(Duration firstBackoff, Duration maxBackoff) {
+      if (firstBackoff.isNegative() || maxBackoff.compareTo(firstBackoff) < 0) {
+        throw new IllegalArgumentException(
+            "Invalid backoff: " + firstBackoff + " to " + maxBackoff);
+      }
+      this.firstBackoff = firstBackoff;
+      this.maxBackoff = maxBackoff;
+      return this;
+    }
+
+    /**
+     * Sets the registry of the conflict meters, and the class their names start with. Conflicts
+     * are not metered by default.
+     *
+     * @param registry metric registry.
+     * @param owner class the metric names start with.
+     * @return this builder.
+     */
+    public Builder metrics(MetricRegistry registry, Class<?> owner) {
+      this.registry = registry;
+      this.owner = owner;
+      return this;
+    }
+
+    public ConflictRetryInterceptor build() {
+      return new ConflictRetryInterceptor(this);
+    }
+  }
+}
@@ -48,9 +48,19 @@ public final class CreateOrganization
 
   private Mono<Organization> createOrganization(
       CreateOrganizationRequest request, OperationServiceContext context, String id) {
-    return Mono.fromCallable(
-        () -> new Organization(id, request.name(), request.email(), context.profile().userId()))
-        .flatMap(organization -> context.repository().save(organization.id(), organization));
+    return reserveName(request.name(), id, context)
+        .then(
+            Mono.fromCallable(
+                () ->
+                    new Organization(
+                        id, request.name(), request.email(), context.profile().userId())))
+        .flatMap(
+            organization ->
+                context
+                    .repository()
+                    .save(organization.id(), organization)
+                    .onErrorResume(
+                        th -> releaseName(organization.name(), id, context).then(Mono.error(th))));
   }
 
   @Override
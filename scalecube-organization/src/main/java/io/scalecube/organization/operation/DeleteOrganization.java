@@ -4,19 +4,25 @@ import io.scalecube.account.api.ApiKey;
 import io.scalecube.account.api.DeleteOrganizationRequest;
 import io.scalecube.account.api.DeleteOrganizationResponse;
 import io.scalecube.account.api.Token;
+import io.scalecube.organization.domain.ApiKeysCleanup;
+import io.scalecube.organization.domain.Organization;
 import io.scalecube.organization.repository.OrganizationsRepository;
 import io.scalecube.organization.tokens.TokenVerifier;
-import io.scalecube.organization.tokens.store.KeyStore;
+import io.scalecube.organization.tokens.store.ApiKeysCleanupWorker;
+import java.util.List;
+import java.util.stream.Collectors;
 import reactor.core.publisher.Mono;
 
 public class DeleteOrganization
     extends ServiceOperation<DeleteOrganizationRequest, DeleteOrganizationResponse> {
-  private final KeyStore keyStore;
+  private final ApiKeysCleanupWorker apiKeysCleanupWorker;
 
   private DeleteOrganization(
-      TokenVerifier tokenVerifier, OrganizationsRepository repository, KeyStore keyStore) {
+      TokenVerifier tokenVerifier,
+      OrganizationsRepository repository,
+      ApiKeysCleanupWorker apiKeysCleanupWorker) {
     super(tokenVerifier, repository);
-    this.keyStore = keyStore;
+    this.apiKeysCleanupWorker = apiKeysCleanupWorker;
   }
 
   @Override
@@ -24,18 +30,48 @@ public class DeleteOrganization
       DeleteOrganizationRequest request, OperationServiceContext context) {
     return getOrganization(request.organizationId())
         .doOnNext(organization -> checkOwnerAccess(organization, context.profile()))
-        .flatMap(
-            organization ->
-                context
-                    .repository()
-                    .deleteById(organization.id())
-                    .doOnSuccess(
-                        ignore ->
-                            organization.apiKeys().stream()
-                                .map(ApiKey::keyId)
-                                .filter(keyId -> keyId != null && !keyId.isEmpty())
-                                .forEach(keyStore::delete))
-                    .then(Mono.just(new DeleteOrganizationResponse(organization.id(), true))));
+        .flatMap(organization -> delete(organization, context));
+  }
+
+  /**
+   * Deletes the organization. The API key pairs cleanup is saved first and the key pairs are
+   * deleted in the background once the organization is deleted, so the response does not wait for
+   * the key store. The cleanup is cancelled if the organization fails to be deleted.
+   *
+   * <p>The cleanup covers the API keys of the organization as read by this request. A key added by
+   * a concurrent request after that read and before the delete is not covered, and its key pair
+   * stays in the key store.
+   */
+  private Mono<DeleteOrganizationResponse> delete(
+      Organization organization, OperationServiceContext context) {
+    List<String> keyIds =
+        organization.apiKeys().stream()
+            .map(ApiKey::keyId)
+            .filter(keyId -> keyId != null && !keyId.isEmpty())
+            .collect(Collectors.toList());
+    ApiKeysCleanup cleanup = new ApiKeysCleanup(organization.id(), keyIds);
+
+    return apiKeysCleanupWorker
+        .schedule(cleanup)
+        .then(
+            context
+                .repository()
+                .deleteById(organization.id())
+                .onErrorResume(th -> cancel(cleanup, th)))
+        .then(
+            context
+                .repository()
+                .releaseName(organization.name(), organization.id())
+                .onErrorResume(th -> Mono.empty()))
+        .doOnSuccess(ignored -> apiKeysCleanupWorker.runAsync(cleanup))
+        .then(Mono.just(new DeleteOrganizationResponse(organization.id(), true)));
+  }
+
+  private Mono<Void> cancel(ApiKeysCleanup cleanup, Throwable th) {
+    return apiKeysCleanupWorker
+        .cancel(cleanup)
+        .onErrorResume(ex -> Mono.empty())
+        .then(Mono.error(th));
   }
 
   @Override
@@ -59,7 +95,7 @@ public class DeleteOrganization
   public static class Builder {
     private TokenVerifier tokenVerifier;
     private OrganizationsRepository repository;
-    private KeyStore keyStore;
+    private ApiKeysCleanupWorker apiKeysCleanupWorker;
 
     public Builder tokenVerifier(TokenVerifier tokenVerifier) {
       this.tokenVerifier = tokenVerifier;
@@ -71,13 +107,13 @@ public class DeleteOrganization
       return this;
     }
 
-    public DeleteOrganization build() {
-      return new DeleteOrganization(tokenVerifier, repository, keyStore);
+    public Builder apiKeysCleanupWorker(ApiKeysCleanupWorker apiKeysCleanupWorker) {
+      this.apiKeysCleanupWorker = apiKeysCleanupWorker;
+      return this;
     }
 
-    public Builder keyStore(KeyStore keyStore) {
-      this.keyStore = keyStore;
-      return this;
+    public DeleteOrganization build() {
+      return new DeleteOrganization(tokenVerifier, repository, apiKeysCleanupWorker);
     }
   }
 }
@@ -1,9 +1,11 @@
 package io.scalecube.organization.operation;
 
+import io.scalecube.account.api.ApiKey;
 import io.scalecube.account.api.DeleteOrganizationApiKeyRequest;
 import io.scalecube.account.api.GetOrganizationResponse;
 import io.scalecube.account.api.Role;
 import io.scalecube.account.api.Token;
+import io.scalecube.organization.domain.Organization;
 import io.scalecube.organization.repository.OrganizationsRepository;
 import io.scalecube.organization.tokens.TokenVerifier;
 import io.scalecube.organization.tokens.store.KeyStore;
@@ -23,33 +25,36 @@ public class DeleteOrganizationApiKey
   @Override
   protected Mono<GetOrganizationResponse> process(
       DeleteOrganizationApiKeyRequest request, OperationServiceContext context) {
-    return getOrganization(request.organizationId())
-        .doOnNext(
-            organization -> {
-              if (organization.apiKeys() == null) {
-                throw new IllegalStateException("organization.apiKeys is null");
-              }
-
-              checkSuperUserAccess(organization, context.profile());
-
-              organization.apiKeys().stream()
-                  .filter(apiKey -> apiKey.name().equalsIgnoreCase(request.apiKeyName()))
-                  .findAny()
-                  .ifPresent(
-                      foundApiKey -> {
-                        if (foundApiKey.keyId() != null) {
-                          keyStore.delete(foundApiKey.keyId());
-                        }
-                      });
-
-              organization.removeApiKey(request.apiKeyName());
-            })
-        .flatMap(organization -> context.repository().save(organization.id(), organization))
-        .map(
-            organization -> {
-              Role role = getRole(context.profile().userId(), organization);
-              return getOrganizationResponse(organization, apiKeyFilterBy(role));
-            });
+    return mutateOrganization(
+            request.organizationId(), organization -> deleteApiKey(organization, request, context))
+        // the key pair is deleted once the organization does not refer to it anymore
+        .flatMap(
+            deletion ->
+                Mono.justOrEmpty(deletion.keyId)
+                    .flatMap(keyStore::delete)
+                    .thenReturn(deletion.response));
+  }
+
+  private Deletion deleteApiKey(
+      Organization organization,
+      DeleteOrganizationApiKeyRequest request,
+      OperationServiceContext context) {
+    if (organization.apiKeys() == null) {
+      throw new IllegalStateException("organization.apiKeys is null");
+    }
+
+    checkSuperUserAccess(organization, context.profile());
+
+    String keyId =
+        organization.apiKeys().stream()
+            .filter(apiKey -> apiKey.name().equalsIgnoreCase(request.apiKeyName()))
+            .findFirst()
+            .map(ApiKey::keyId)
+            .orElse(null);
+    organization.removeApiKey(request.apiKeyName());
+
+    Role role = getRole(context.profile().userId(), organization);
+    return new Deletion(keyId, getOrganizationResponse(organization, apiKeyFilterBy(role)));
   }
 
   @Override
@@ -95,4 +100,15 @@ public class DeleteOrganizationApiKey
       return new DeleteOrganizationApiKey(tokenVerifier, repository, keyStore);
     }
   }
+
+  private static final class Deletion {
+
+    private final String keyId;
+    private final GetOrganizationResponse response;
+
+    private Deletion(String keyId, GetOrganizationResponse response) {
+      this.keyId = keyId;
+      this.response = response;
+    }
+  }
 }
@@ -18,7 +18,7 @@ public class GetOrganizationMembers
   @Override
   protected Mono<GetOrganizationMembersResponse> process(
       GetOrganizationMembersRequest request, OperationServiceContext context) {
-    return getOrganization(request.organizationId())
+    return getOrganizationMembership(request.organizationId())
         .doOnNext(organization -> checkSuperUserAccess(organization, context.profile()))
         .map(organization -> organization.members().toArray(new OrganizationMember[0]))
         .map(GetOrganizationMembersResponse::new);
@@ -23,8 +23,7 @@ public class GetUserOrganizationsMembership
       GetMembershipRequest request, OperationServiceContext context) {
     return context
         .repository()
-        .findAll()
-        .filter(organization -> organization.isMember(context.profile().userId()))
+        .findByMemberId(context.profile().userId())
         .map(
             organization -> {
               Role role = getRole(context.profile().userId(), organization);
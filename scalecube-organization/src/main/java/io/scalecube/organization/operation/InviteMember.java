@@ -20,29 +20,28 @@ public class InviteMember
   @Override
   protected Mono<InviteOrganizationMemberResponse> process(
       InviteOrganizationMemberRequest request, OperationServiceContext context) {
-    return getOrganization(request.organizationId())
-        .doOnNext(
-            organization -> {
-              checkSuperUserAccess(organization, context.profile());
-              Role invitedMemberRole = toRole(request.role());
+    return mutateMembership(
+        request.organizationId(),
+        organization -> {
+          checkSuperUserAccess(organization, context.profile());
+          Role invitedMemberRole = toRole(request.role());
 
-              Role callerRole = getRole(context.profile().userId(), organization);
+          Role callerRole = getRole(context.profile().userId(), organization);
 
-              if (invitedMemberRole.isHigherThan(callerRole)) {
-                throw new AccessPermissionException(
-                    String.format(
-                        "user: '%s', name: '%s', role: '%s' cannot invite to a higher role: '%s'",
-                        context.profile().userId(),
-                        context.profile().name(),
-                        callerRole,
-                        invitedMemberRole.toString()));
-              }
+          if (invitedMemberRole.isHigherThan(callerRole)) {
+            throw new AccessPermissionException(
+                String.format(
+                    "user: '%s', name: '%s', role: '%s' cannot invite to a higher role: '%s'",
+                    context.profile().userId(),
+                    context.profile().name(),
+                    callerRole,
+                    invitedMemberRole.toString()));
+          }
 
-              organization.addMember(
-                  new OrganizationMember(request.userId(), invitedMemberRole.name()));
-            })
-        .flatMap(organization -> context.repository().save(organization.id(), organization))
-        .map(organization -> new InviteOrganizationMemberResponse());
+          organization.addMember(
+              new OrganizationMember(request.userId(), invitedMemberRole.name()));
+          return new InviteOrganizationMemberResponse();
+        });
   }
 
   @Override
@@ -21,18 +21,16 @@ public class KickoutMember
   @Override
   protected Mono<KickoutOrganizationMemberResponse> process(
       KickoutOrganizationMemberRequest request, OperationServiceContext context) {
-    return getOrganization(request.organizationId())
-        .doOnNext(
-            organization -> {
-              checkSuperUserAccess(organization, context.profile());
-              checkIsMember(request.userId(), organization);
-              ensureCallerIsInHigherRoleThanKickedOutUser(request, context, organization);
-              checkLastOwner(request.userId(), organization);
-
-              organization.removeMember(request.userId());
-            })
-        .flatMap(organization -> context.repository().save(organization.id(), organization))
-        .map(organization -> new KickoutOrganizationMemberResponse());
+    return mutateMembership(
+        request.organizationId(),
+        organization -> {
+          checkSuperUserAccess(organization, context.profile());
+          checkIsMember(request.userId(), organization);
+          ensureCallerIsInHigherRoleThanKickedOutUser(request, context, organization);
+          checkLastOwner(request.userId(), organization);
+          organization.removeMember(request.userId());
+          return new KickoutOrganizationMemberResponse();
+        });
   }
 
   private void ensureCallerIsInHigherRoleThanKickedOutUser(
@@ -17,14 +17,13 @@ public class LeaveOrganization
   @Override
   protected Mono<LeaveOrganizationResponse> process(
       LeaveOrganizationRequest request, OperationServiceContext context) {
-    return getOrganization(request.organizationId())
-        .doOnNext(
-            organization -> {
-              checkLastOwner(context.profile().userId(), organization);
-              organization.removeMember(context.profile().userId());
-            })
-        .flatMap(organization -> context.repository().save(organization.id(), organization))
-        .map(organization -> new LeaveOrganizationResponse());
+    return mutateMembership(
+        request.organizationId(),
+        organization -> {
+          checkLastOwner(context.profile().userId(), organization);
+          organization.removeMember(context.profile().userId());
+          return new LeaveOrganizationResponse();
+        });
   }
 
   @Override
@@ -0,0 +1,63 @@
+package io.scalecube.organization.operation;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import reactor.core.publisher.Mono;
+
+/**
+ * Dispatches service method requests through a chain of {@link OperationInterceptor}s. The first
+ * interceptor is the outermost one.
+ */
+public final class OperationChain {
+
+  private final OperationInterceptor[] interceptors;
+
+  private OperationChain(List<OperationInterceptor> interceptors) {
+    this.interceptors = interceptors.toArray(new OperationInterceptor[0]);
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Dispatches the request to the operation through the interceptors. The operation is invoked
+   * on subscription.
+   *
+   * @param method service method name.
+   * @param request service method request.
+   * @param operation service method implementation.
+   * @param <I> request type.
+   * @param <O> response type.
+   * @return service method response.
+   */
+  public <I, O> Mono<O> dispatch(String method, I request, Function<I, Mono<O>> operation) {
+    Mono<O> result = Mono.defer(() -> operation.apply(request));
+    for (int i = interceptors.length - 1; i >= 0; i--) {
+      result = interceptors[i].intercept(method, request, result);
+    }
+    return result;
+  }
+
+  public static class Builder {
+    private final List<OperationInterceptor> interceptors = new ArrayList<>();
+
+    /**
+     * Appends the interceptor to the chain, it is applied inside the interceptors added before.
+     *
+     * @param interceptor operation interceptor.
+     * @return this builder.
+     */
+    public Builder interceptor(OperationInterceptor interceptor) {
+      interceptors.add(requireNonNull(interceptor, "interceptor"));
+      return this;
+    }
+
+    public OperationChain build() {
+      return new OperationChain(interceptors);
+    }
+  }
+}
@@ -0,0 +1,23 @@
+package io.scalecube.organization.operation;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Stage of the {@link OperationChain} which decorates the invocation of a service method, e.g. with
+ * logging, metrics, error mapping or scheduling.
+ */
+@FunctionalInterface
+public interface OperationInterceptor {
+
+  /**
+   * Decorates the invocation of the service method.
+   *
+   * @param method service method name.
+   * @param request service method request.
+   * @param next lazy invocation of the next stages and the service method itself.
+   * @param <I> request type.
+   * @param <O> response type.
+   * @return decorated invocation.
+   */
+  <I, O> Mono<O> intercept(String method, I request, Mono<O> next);
+}
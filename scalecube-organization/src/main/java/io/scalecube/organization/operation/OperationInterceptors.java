@@ -0,0 +1,119 @@
+package io.scalecube.organization.operation;
+
+import com.codahale.metrics.MetricRegistry;
+import io.scalecube.account.api.GetMembershipResponse;
+import io.scalecube.account.api.ServiceOperationException;
+import io.scalecube.organization.ServiceSchedulers;
+import io.scalecube.organization.metrics.MetricsInterceptor;
+import io.scalecube.organization.metrics.StageTimings;
+import io.scalecube.organization.metrics.StageTimingsInterceptor;
+import org.slf4j.Logger;
+import reactor.core.publisher.Mono;
+
+/**
+ * Standard {@link OperationInterceptor}s of the organization service.
+ */
+public final class OperationInterceptors {
+
+  private OperationInterceptors() {
+    // Do not instantiate
+  }
+
+  /**
+   * Unwraps {@link ServiceOperationException} to the service error it was caused by.
+   *
+   * @return error mapping interceptor.
+   */
+  public static OperationInterceptor errorMapping() {
+    return new OperationInterceptor() {
+      @Override
+      public <I, O> Mono<O> intercept(String method, I request, Mono<O> next) {
+        return next.onErrorMap(ServiceOperationException.class, Throwable::getCause);
+      }
+    };
+  }
+
+  /**
+   * Logs errors, and requests and responses at debug level. The memberships of a user are logged
+   * by their count only. The exit line carries the {@link StageTimings} of the request, if the
+   * interceptor is applied inside the stage timings one.
+   *
+   * @param logger logger to log with.
+   * @return logging interceptor.
+   */
+  public static OperationInterceptor logging(Logger logger) {
+    return new OperationInterceptor() {
+      @Override
+      public <I, O> Mono<O> intercept(String method, I request, Mono<O> next) {
+        Mono<O> result = next.doOnError(th -> logger.error("{}: ERROR", method, th));
+        if (!logger.isDebugEnabled()) {
+          return result;
+        }
+        return Mono.subscriberContext()
+            .flatMap(
+                context -> {
+                  StageTimings timings = context.getOrDefault(StageTimings.class, null);
+                  Runnable enter = () -> logger.debug("{}: enter, request: {}", method, request);
+                  return Mono.fromRunnable(enter)
+                      .then(result)
+                      .doOnSuccess(response -> logExit(logger, method, request, response, timings));
+                });
+      }
+    };
+  }
+
+  /**
+   * Instruments every service method with latency histograms, success and error meters, and
+   * in-flight gauges.
+   *
+   * @param metrics metric registry.
+   * @param owner class the metric names start with.
+   * @return metrics interceptor.
+   * @see MetricsInterceptor
+   */
+  public static OperationInterceptor metrics(MetricRegistry metrics, Class<?> owner) {
+    return new MetricsInterceptor(metrics, owner);
+  }
+
+  /**
+   * Collects the time every request spends in each {@link io.scalecube.organization.metrics.Stage}
+   * and records it to per-method stage timers.
+   *
+   * @param metrics metric registry, or null to collect the timings for logging only.
+   * @param owner class the metric names start with.
+   * @return stage timings interceptor.
+   * @see StageTimingsInterceptor
+   */
+  public static OperationInterceptor stageTimings(MetricRegistry metrics, Class<?> owner) {
+    return new StageTimingsInterceptor(metrics, owner);
+  }
+
+  /**
+   * Subscribes every service method on its scheduler.
+   *
+   * @param schedulers service schedulers.
+   * @return scheduling interceptor.
+   */
+  public static OperationInterceptor scheduling(ServiceSchedulers schedulers) {
+    return new OperationInterceptor() {
+      @Override
+      public <I, O> Mono<O> intercept(String method, I request, Mono<O> next) {
+        return next.subscribeOn(schedulers.scheduler(method));
+      }
+    };
+  }
+
+  private static void logExit(
+      Logger logger, String method, Object request, Object response, StageTimings timings) {
+    Object logged =
+        response instanceof GetMembershipResponse
+            ? ((GetMembershipResponse) response).organizations().length + " memberships"
+            : response;
+    if (timings == null) {
+      logger.debug("{}: exit, response: {}, request: {}", method, logged, request);
+    } else {
+      logger.debug(
+          "{}: exit, response: {}, request: {}, stages: {}", method, logged, request, timings);
+    }
+  }
+}
@@ -26,15 +26,45 @@ public abstract class OrganizationInfoOperation<I, O> extends ServiceOperation<I
                 "Organization name can only contain characters in range A-Z, a-z, 0-9 "
                     + "as well as underscore, period, dash & percent");
           }
-        })
-        .then(context.repository().existsByName(info.name()))
+        });
+  }
+
+  /**
+   * Reserves the organization name for the given organization. Reservation is idempotent for the
+   * organization already holding the name.
+   *
+   * @param name organization name.
+   * @param organizationId id of the organization claiming the name.
+   * @param context operation context.
+   * @return empty mono when the name was reserved, or error {@link NameAlreadyInUseException} when
+   *     the name is held by another organization.
+   */
+  protected Mono<Void> reserveName(
+      String name, String organizationId, OperationServiceContext context) {
+    return context
+        .repository()
+        .reserveName(name, organizationId)
         .doOnNext(
-            exists -> {
-              if (exists) {
+            reserved -> {
+              if (!reserved) {
                 throw new NameAlreadyInUseException(
-                    String.format("Organization name: '%s' already in use", info.name()));
+                    String.format("Organization name: '%s' already in use", name));
               }
             })
         .then();
   }
+
+  /**
+   * Releases the organization name reservation, errors are suppressed since a stale reservation
+   * only blocks the name and does not affect the organization itself.
+   *
+   * @param name organization name.
+   * @param organizationId id of the organization holding the name.
+   * @param context operation context.
+   * @return empty mono.
+   */
+  protected Mono<Void> releaseName(
+      String name, String organizationId, OperationServiceContext context) {
+    return context.repository().releaseName(name, organizationId).onErrorResume(th -> Mono.empty());
+  }
 }
@@ -10,12 +10,15 @@ import io.scalecube.account.api.Role;
 import io.scalecube.account.api.ServiceOperationException;
 import io.scalecube.account.api.Token;
 import io.scalecube.organization.domain.Organization;
+import io.scalecube.organization.metrics.Stage;
+import io.scalecube.organization.metrics.StageTimings;
 import io.scalecube.organization.repository.OrganizationsRepository;
 import io.scalecube.organization.repository.exception.AccessPermissionException;
 import io.scalecube.organization.repository.exception.EntityNotFoundException;
 import io.scalecube.organization.tokens.TokenVerifier;
 import io.scalecube.security.api.Profile;
 import java.util.Objects;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import reactor.core.publisher.Mono;
 
@@ -46,9 +49,12 @@ public abstract class ServiceOperation<I, O> {
     return Mono.fromRunnable(
         () -> Objects.requireNonNull(request, "request is a required argument"))
         .then(Mono.fromCallable(() -> getToken(request)))
-        .flatMap(this::verifyToken)
+        .flatMap(token -> StageTimings.time(Stage.TOKEN_VERIFY, verifyToken(token)))
         .map(profile -> new OperationServiceContext(profile, repository))
-        .flatMap(context -> validate(request, context).then(process(request, context)))
+        .flatMap(
+            context ->
+                StageTimings.time(Stage.VALIDATE, validate(request, context))
+                    .then(process(request, context)))
         .onErrorMap(th -> new ServiceOperationException(request.toString(), th));
   }
 
@@ -72,6 +78,50 @@ public abstract class ServiceOperation<I, O> {
         .switchIfEmpty(Mono.defer(() -> Mono.error(new OrganizationNotFoundException(id))));
   }
 
+  /**
+   * Returns the organization with its members, which may have been read without its API keys. See
+   * {@link OrganizationsRepository#findMembershipById(String)}.
+   *
+   * @param id organization id.
+   * @return organization.
+   */
+  protected Mono<Organization> getOrganizationMembership(String id)
+      throws OrganizationNotFoundException {
+    return Mono.fromRunnable(() -> Objects.requireNonNull(repository, "repository"))
+        .then(Mono.defer(() -> repository.findMembershipById(id)))
+        .switchIfEmpty(Mono.defer(() -> Mono.error(new OrganizationNotFoundException(id))));
+  }
+
+  /**
+   * Applies the mutation to the organization and saves it. See {@link
+   * OrganizationsRepository#mutate(String, Function)}.
+   *
+   * @param id organization id.
+   * @param mutation checks and changes the organization, returns the result of the change.
+   * @param <R> result type.
+   * @return result of the mutation.
+   */
+  protected <R> Mono<R> mutateOrganization(String id, Function<Organization, R> mutation)
+      throws OrganizationNotFoundException {
+    return Mono.defer(() -> repository.mutate(id, mutation))
+        .switchIfEmpty(Mono.defer(() -> Mono.error(new OrganizationNotFoundException(id))));
+  }
+
+  /**
+   * Applies the mutation, which changes the members of the organization only, and saves it. See
+   * {@link OrganizationsRepository#mutateMembers(String, Function)}.
+   *
+   * @param id organization id.
+   * @param mutation checks and changes the organization members, returns the result of the change.
+   * @param <R> result type.
+   * @return result of the mutation.
+   */
+  protected <R> Mono<R> mutateMembership(String id, Function<Organization, R> mutation)
+      throws OrganizationNotFoundException {
+    return Mono.defer(() -> repository.mutateMembers(id, mutation))
+        .switchIfEmpty(Mono.defer(() -> Mono.error(new OrganizationNotFoundException(id))));
+  }
+
   protected GetOrganizationResponse getOrganizationResponse(
       Organization organization, Predicate<ApiKey> filter) {
     return new GetOrganizationResponse(organizationInfo(organization, filter));
@@ -112,9 +162,7 @@ public abstract class ServiceOperation<I, O> {
 
   protected boolean isLastOwner(Organization organization, String userId)
       throws EntityNotFoundException {
-    return organization.members().stream()
-        .filter(member -> !member.id().equals(userId))
-        .noneMatch(member -> Role.Owner.name().equals(member.role()));
+    return organization.isLastOwner(userId);
   }
 
   protected boolean isSuperUser(Organization organization, Profile profile)
@@ -123,11 +171,7 @@ public abstract class ServiceOperation<I, O> {
   }
 
   protected Role getRole(String userId, Organization organization) {
-    return organization.members().stream()
-        .filter(i -> Objects.equals(i.id(), userId))
-        .map(i -> Role.valueOf(i.role()))
-        .findFirst()
-        .orElse(null);
+    return organization.role(userId);
   }
 
   protected Role toRole(String role) {
@@ -140,8 +184,7 @@ public abstract class ServiceOperation<I, O> {
 
   protected boolean isInRole(String userId, Organization organization, Role role)
       throws EntityNotFoundException {
-    return organization.members().stream()
-        .anyMatch(i -> Objects.equals(i.id(), userId) && Objects.equals(i.role(), role.toString()));
+    return organization.isInRole(userId, role);
   }
 
   protected static void throwNotOrgOwnerException(Profile owner, Organization organization)
@@ -187,7 +230,7 @@ public abstract class ServiceOperation<I, O> {
     }
   }
 
-  protected Predicate<ApiKey> apiKeyFilterBy(Role role) {
+  protected static Predicate<ApiKey> apiKeyFilterBy(Role role) {
     return apiKey -> {
       try {
         String roleName = apiKey.claims().get("role");
@@ -6,6 +6,7 @@ import io.scalecube.account.api.Token;
 import io.scalecube.account.api.UpdateOrganizationRequest;
 import io.scalecube.account.api.UpdateOrganizationResponse;
 import io.scalecube.organization.repository.OrganizationsRepository;
+import io.scalecube.organization.repository.exception.NameAlreadyInUseException;
 import io.scalecube.organization.tokens.TokenVerifier;
 import reactor.core.publisher.Mono;
 
@@ -20,14 +21,34 @@ public class UpdateOrganization
   protected Mono<UpdateOrganizationResponse> process(
       UpdateOrganizationRequest request, OperationServiceContext context) {
     return getOrganization(request.organizationId())
-        .doOnNext(
+        .doOnNext(organization -> checkSuperUserAccess(organization, context.profile()))
+        .flatMap(
             organization -> {
-              checkSuperUserAccess(organization, context.profile());
+              String oldName = organization.name();
+              String newName = request.name();
+              boolean nameChanged = !oldName.equals(newName);
 
-              organization.changeName(request.name());
-              organization.changeEmail(request.email());
+              return reserveName(newName, organization.id(), context)
+                  .then(
+                      Mono.fromCallable(
+                          () -> {
+                            organization.changeName(newName);
+                            organization.changeEmail(request.email());
+                            return organization;
+                          }))
+                  .flatMap(org -> context.repository().save(org.id(), org))
+                  .onErrorResume(
+                      th ->
+                          nameChanged && !(th instanceof NameAlreadyInUseException)
+                              ? releaseName(newName, organization.id(), context)
+                                  .then(Mono.error(th))
+                              : Mono.error(th))
+                  .flatMap(
+                      org ->
+                          nameChanged
+                              ? releaseName(oldName, org.id(), context).thenReturn(org)
+                              : Mono.just(org));
             })
-        .flatMap(organization -> context.repository().save(organization.id(), organization))
         .map(
             organization -> {
               Role role = getRole(context.profile().userId(), organization);
@@ -35,13 +35,22 @@ public class UpdateOrganizationMemberRole
   @Override
   protected Mono<UpdateOrganizationMemberRoleResponse> process(
       UpdateOrganizationMemberRoleRequest request, OperationServiceContext context) {
-    return getOrganization(request.organizationId())
-        .doOnNext(
-            organization -> {
-              organization.updateMemberRole(request.userId(), Role.valueOf(request.role()));
-            })
-        .flatMap(organization -> context.repository().save(organization.id(), organization))
-        .map(organization -> new UpdateOrganizationMemberRoleResponse());
+    return mutateMembership(
+        request.organizationId(),
+        organization -> {
+          Profile caller = context.profile();
+          Role callerRole = getRole(context.profile().userId(), organization);
+
+          checkIsMember(request.userId(), organization);
+          checkSuperUserAccess(organization, caller);
+          checkIfRequestToUpdateUserRoleIsValidForCaller(
+              toRole(request.role()), context.profile(), callerRole);
+          checkIfAdminCallerIsTryingToDowngradeAnOwner(caller, callerRole, organization, request);
+          checkLastOwner(request.userId(), organization);
+
+          organization.updateMemberRole(request.userId(), toRole(request.role()));
+          return new UpdateOrganizationMemberRoleResponse();
+        });
   }
 
   @Override
@@ -52,22 +61,7 @@ public class UpdateOrganizationMemberRole
           requireNonNullOrEmpty(request.userId(), "user id is a required argument");
           requireNonNullOrEmpty(request.role(), "role is a required argument");
           requireNonNullOrEmpty(request.organizationId(), "organizationId is a required argument");
-        })
-        .then(getOrganization(request.organizationId()))
-        .doOnNext(
-            organization -> {
-              Profile caller = context.profile();
-              Role callerRole = getRole(context.profile().userId(), organization);
-
-              checkIsMember(request.userId(), organization);
-              checkSuperUserAccess(organization, caller);
-              checkIfRequestToUpdateUserRoleIsValidForCaller(
-                  toRole(request.role()), context.profile(), callerRole);
-              checkIfAdminCallerIsTryingToDowngradeAnOwner(
-                  caller, callerRole, organization, request);
-              checkLastOwner(request.userId(), organization);
-            })
-        .then();
+        });
   }
 
   private void checkIfRequestToUpdateUserRoleIsValidForCaller(
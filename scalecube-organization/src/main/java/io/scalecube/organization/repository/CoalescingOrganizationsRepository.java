@@ -0,0 +1,236 @@
+package io.scalecube.organization.repository;
+
+import static java.util.Objects.requireNonNull;
+
+import io.scalecube.organization.domain.ApiKeysCleanup;
+import io.scalecube.organization.domain.Organization;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+/**
+ * Organizations repository which coalesces the concurrent mutations of an organization on this
+ * node. While a batch of mutations of an organization is being saved, further mutations of it are
+ * queued. Once the batch is saved, the queued mutations are applied in order to a single read of
+ * the organization, and saved together as the next batch. The result of every mutation is returned
+ * to its own caller.
+ *
+ * <p>A mutation which throws is rejected on its own, the others of its batch are still saved. A
+ * batch whose mutations all change the members only is saved by {@link #mutateMembers}, any other
+ * by {@link #mutate} of the underlying repository. If the batch fails to be saved, every mutation
+ * of the batch fails with the error.
+ *
+ * <p>Batches are saved outside of the subscriber context of their callers, so repositories which
+ * read the context, such as the timed one, wrap this repository rather than being wrapped by it.
+ */
+public final class CoalescingOrganizationsRepository implements OrganizationsRepository {
+
+  private static final RuntimeException NOTHING_APPLIED = new NothingAppliedException();
+
+  private final OrganizationsRepository delegate;
+  private final Map<String, List<Mutation<?>>> queues = new ConcurrentHashMap<>();
+
+  public CoalescingOrganizationsRepository(OrganizationsRepository delegate) {
+    this.delegate = requireNonNull(delegate, "delegate");
+  }
+
+  @Override
+  public <R> Mono<R> mutate(String id, Function<Organization, R> mutation) {
+    return submit(id, mutation, false);
+  }
+
+  @Override
+  public <R> Mono<R> mutateMembers(String id, Function<Organization, R> mutation) {
+    return submit(id, mutation, true);
+  }
+
+  private <R> Mono<R> submit(String id, Function<Organization, R> mutation, boolean membersOnly) {
+    return Mono.create(
+        sink -> {
+          requireNonNull(id, "organization id cannot be null");
+          Mutation<R> queued = new Mutation<>(mutation, membersOnly, sink);
+          boolean[] idle = {false};
+          queues.compute(
+              id,
+              (key, queue) -> {
+                if (queue == null) {
+                  idle[0] = true;
+                  queue = new ArrayList<>();
+                }
+                queue.add(queued);
+                return queue;
+              });
+          if (idle[0]) {
+            commit(id);
+          }
+        });
+  }
+
+  /**
+   * Saves the queued mutations of the organization as one batch, and then the mutations queued
+   * meanwhile. The queue is removed once it is drained, so the next mutation starts a new batch
+   * right away.
+   */
+  private void commit(String id) {
+    List<Mutation<?>> batch = new ArrayList<>();
+    queues.computeIfPresent(
+        id,
+        (key, queue) -> {
+          if (queue.isEmpty()) {
+            return null;
+          }
+          batch.addAll(queue);
+          return new ArrayList<>();
+        });
+    if (batch.isEmpty()) {
+      return;
+    }
+
+    Function<Organization, Boolean> applyAll =
+        organization -> {
+          boolean applied = false;
+          for (Mutation<?> mutation : batch) {
+            applied |= mutation.apply(organization);
+          }
+          if (!applied) {
+            throw NOTHING_APPLIED;
+          }
+          return true;
+        };
+    boolean membersOnly = batch.stream().allMatch(mutation -> mutation.membersOnly);
+    Mono<Boolean> save =
+        membersOnly ? delegate.mutateMembers(id, applyAll) : delegate.mutate(id, applyAll);
+
+    save.doFinally(signal -> commit(id))
+        .subscribe(
+            null,
+            th -> batch.forEach(mutation -> mutation.fail(th)),
+            () -> batch.forEach(Mutation::complete));
+  }
+
+  @Override
+  public Mono<Boolean> existByProperty(String propertyName, Object propertyValue) {
+    return delegate.existByProperty(propertyName, propertyValue);
+  }
+
+  @Override
+  public Mono<Organization> findById(String id) {
+    return delegate.findById(id);
+  }
+
+  @Override
+  public Mono<Boolean> existsById(String id) {
+    return delegate.existsById(id);
+  }
+
+  @Override
+  public Mono<Organization> save(String id, Organization entity) {
+    return delegate.save(id, entity);
+  }
+
+  @Override
+  public Mono<Void> deleteById(String id) {
+    return delegate.deleteById(id);
+  }
+
+  @Override
+  public Flux<Organization> findAll() {
+    return delegate.findAll();
+  }
+
+  @Override
+  public Mono<Boolean> existsByName(String name) {
+    return delegate.existsByName(name);
+  }
+
+  @Override
+  public Mono<Boolean> reserveName(String name, String organizationId) {
+    return delegate.reserveName(name, organizationId);
+  }
+
+  @Override
+  public Mono<Void> releaseName(String name, String organizationId) {
+    return delegate.releaseName(name, organizationId);
+  }
+
+  @Override
+  public Flux<Organization> findByMemberId(String memberId) {
+    return delegate.findByMemberId(memberId);
+  }
+
+  @Override
+  public Mono<Organization> findMembershipById(String id) {
+    return delegate.findMembershipById(id);
+  }
+
+  @Override
+  public Mono<Void> saveApiKeysCleanup(ApiKeysCleanup cleanup) {
+    return delegate.saveApiKeysCleanup(cleanup);
+  }
+
+  @Override
+  public Mono<Void> updateApiKeysCleanup(ApiKeysCleanup cleanup) {
+    return delegate.updateApiKeysCleanup(cleanup);
+  }
+
+  @Override
+  public Mono<Void> deleteApiKeysCleanup(String organizationId) {
+    return delegate.deleteApiKeysCleanup(organizationId);
+  }
+
+  @Override
+  public Flux<ApiKeysCleanup> findApiKeysCleanups() {
+    return delegate.findApiKeysCleanups();
+  }
+
+  private static final class Mutation<R> {
+
+    private final Function<Organization, R> function;
+    private final boolean membersOnly;
+    private final MonoSink<R> sink;
+    private R result;
+    private boolean done;
+
+    private Mutation(Function<Organization, R> function, boolean membersOnly, MonoSink<R> sink) {
+      this.function = function;
+      this.membersOnly = membersOnly;
+      this.sink = sink;
+    }
+
+    private boolean apply(Organization organization) {
+      try {
+        result = function.apply(organization);
+        return true;
+      } catch (Throwable th) {
+        fail(th);
+        return false;
+      }
+    }
+
+    private void complete() {
+      if (!done) {
+        done = true;
+        sink.success(result);
+      }
+    }
+
+    private void fail(Throwable th) {
+      if (!done) {
+        done = true;
+        sink.error(th);
+      }
+    }
+  }
+
+  private static final class NothingAppliedException extends RuntimeException {
+
+    private NothingAppliedException() {
+      super("All mutations of the batch were rejected", null, false, false);
+    }
+  }
+}
@@ -1,6 +1,9 @@
 package io.scalecube.organization.repository;
 
+import io.scalecube.organization.domain.ApiKeysCleanup;
 import io.scalecube.organization.domain.Organization;
+import java.util.function.Function;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 public interface OrganizationsRepository extends Repository<Organization, String> {
@@ -12,4 +15,107 @@ public interface OrganizationsRepository extends Repository<Organization, String
    * @return {@code true} if an entity with the given id exists, {@code false} otherwise.
    */
   Mono<Boolean> existsByName(String name);
+
+  /**
+   * Atomically reserves the organization name for the organization with the given id. Reserving a
+   * name which is already reserved by the same organization succeeds.
+   *
+   * @param name organization name.
+   * @param organizationId id of the organization which claims the name.
+   * @return {@code true} if the name is reserved for the organization, {@code false} if it is
+   *     already reserved by another organization.
+   */
+  Mono<Boolean> reserveName(String name, String organizationId);
+
+  /**
+   * Releases the organization name reservation. The reservation is left untouched if it is held by
+   * another organization.
+   *
+   * @param name organization name.
+   * @param organizationId id of the organization which holds the name.
+   */
+  Mono<Void> releaseName(String name, String organizationId);
+
+  /**
+   * Returns all organizations in which the user with the given id is a member, regardless of the
+   * member role.
+   *
+   * @param memberId user id of the organization member.
+   * @return organizations the user is a member of.
+   */
+  Flux<Organization> findByMemberId(String memberId);
+
+  /**
+   * Returns the organization with the given id, which implementations may read without its API
+   * keys, so it must not be saved.
+   *
+   * @param id organization id.
+   * @return organization with its members, or empty in case it does not exist.
+   */
+  default Mono<Organization> findMembershipById(String id) {
+    return findById(id);
+  }
+
+  /**
+   * Applies the mutation to the organization with the given id and saves it. The mutation
+   * validates the change against the organization before it makes the change, and throws to
+   * reject it, leaving the organization unchanged.
+   *
+   * @param id organization id.
+   * @param mutation mutation of the organization, which returns the result of the change.
+   * @param <R> result type.
+   * @return result of the mutation, or empty in case the organization does not exist.
+   */
+  default <R> Mono<R> mutate(String id, Function<Organization, R> mutation) {
+    return findById(id)
+        .flatMap(
+            organization -> {
+              R result = mutation.apply(organization);
+              return save(id, organization).then(Mono.justOrEmpty(result));
+            });
+  }
+
+  /**
+   * Applies the mutation, which changes the members of the organization only, and saves it.
+   * Implementations may read the organization without its API keys, see {@link
+   * #findMembershipById(String)}, and write the changed members only. See {@link #mutate}.
+   *
+   * @param id organization id.
+   * @param mutation mutation of the organization members, which returns the result of the change.
+   * @param <R> result type.
+   * @return result of the mutation, or empty in case the organization does not exist.
+   */
+  default <R> Mono<R> mutateMembers(String id, Function<Organization, R> mutation) {
+    return mutate(id, mutation);
+  }
+
+  /**
+   * Saves the pending cleanup of the API key pairs of an organization, replacing the previous
+   * cleanup of the same organization if any.
+   *
+   * @param cleanup API keys cleanup.
+   */
+  Mono<Void> saveApiKeysCleanup(ApiKeysCleanup cleanup);
+
+  /**
+   * Replaces the pending cleanup of the API key pairs of an organization. Nothing is saved if the
+   * cleanup was removed meanwhile.
+   *
+   * @param cleanup API keys cleanup with the remaining key ids.
+   */
+  Mono<Void> updateApiKeysCleanup(ApiKeysCleanup cleanup);
+
+  /**
+   * Removes the pending cleanup of the API key pairs of an organization.
+   *
+   * @param organizationId id of the deleted organization.
+   */
+  Mono<Void> deleteApiKeysCleanup(String organizationId);
+
+  /**
+   * Returns all pending API key pairs cleanups.
+   *
+   * @return API keys cleanups.
+   */
+  Flux<ApiKeysCleanup> findApiKeysCleanups();
 }
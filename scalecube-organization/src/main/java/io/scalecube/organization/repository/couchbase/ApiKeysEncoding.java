@@ -0,0 +1,31 @@
+package io.scalecube.organization.repository.couchbase;
+
+/**
+ * Storage encoding of the API keys of organization documents.
+ *
+ * <p>Every encoding is recognized on read, so switching the encoding migrates documents lazily on
+ * their next write. Members and all other fields stay plain JSON in every encoding, as N1QL
+ * queries and indexes depend on them.
+ */
+public enum ApiKeysEncoding {
+  /** JSON array of API keys. */
+  JSON,
+  /** Deflate compressed JSON array of API keys, stored as a base64 string. */
+  DEFLATE;
+
+  /**
+   * Returns the encoding of the given name, case insensitive.
+   *
+   * @param name encoding name.
+   * @return encoding.
+   * @throws IllegalArgumentException in case the encoding is not supported.
+   */
+  public static ApiKeysEncoding of(String name) {
+    for (ApiKeysEncoding encoding : values()) {
+      if (encoding.name().equalsIgnoreCase(name)) {
+        return encoding;
+      }
+    }
+    throw new IllegalArgumentException("Unsupported API keys encoding: " + name);
+  }
+}
@@ -0,0 +1,96 @@
+package io.scalecube.organization.repository.couchbase;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import io.scalecube.account.api.ApiKey;
+import io.scalecube.organization.domain.Organization;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Serialization of the API keys of {@link Organization} documents in the {@link ApiKeysEncoding}
+ * set as the {@link ApiKeysEncoding} attribute of the object writer.
+ *
+ * <p>Compressed API keys are written as a base64 string of a format byte followed by the
+ * compressed JSON array, and told apart from a JSON array by the token type on read.
+ */
+final class ApiKeysSerialization {
+
+  private static final byte FORMAT_DEFLATE = 1;
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+  private ApiKeysSerialization() {
+    // Do not instantiate
+  }
+
+  static final class Serializer extends StdSerializer<Set<ApiKey>> {
+
+    Serializer() {
+      super(Set.class, false);
+    }
+
+    @Override
+    public void serialize(Set<ApiKey> value, JsonGenerator gen, SerializerProvider provider)
+        throws IOException {
+      if (provider.getAttribute(ApiKeysEncoding.class) != ApiKeysEncoding.DEFLATE) {
+        provider.defaultSerializeValue(value, gen);
+        return;
+      }
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      bytes.write(FORMAT_DEFLATE);
+      Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+      try (JsonGenerator compressed =
+          JSON_FACTORY.createGenerator(new DeflaterOutputStream(bytes, deflater))) {
+        provider.defaultSerializeValue(value, compressed);
+      } finally {
+        deflater.end();
+      }
+      gen.writeBinary(bytes.toByteArray());
+    }
+  }
+
+  static final class Deserializer extends StdDeserializer<Set<ApiKey>> {
+
+    Deserializer() {
+      super(Set.class);
+    }
+
+    @Override
+    public Set<ApiKey> deserialize(JsonParser parser, DeserializationContext ctxt)
+        throws IOException {
+      JavaType type = ctxt.getTypeFactory().constructCollectionType(HashSet.class, ApiKey.class);
+      if (!parser.hasToken(JsonToken.VALUE_STRING)) {
+        return ctxt.readValue(parser, type);
+      }
+      byte[] bytes = parser.getBinaryValue();
+      if (bytes.length == 0 || bytes[0] != FORMAT_DEFLATE) {
+        throw ctxt.weirdStringException(
+            parser.getText(), Set.class, "unsupported API keys encoding");
+      }
+      Inflater inflater = new Inflater();
+      try (JsonParser compressed =
+          JSON_FACTORY.createParser(
+              new InflaterInputStream(
+                  new ByteArrayInputStream(bytes, 1, bytes.length - 1), inflater))) {
+        compressed.nextToken();
+        return ctxt.readValue(compressed, type);
+      } finally {
+        inflater.end();
+      }
+    }
+  }
+}
@@ -31,6 +31,7 @@ import io.scalecube.organization.repository.exception.DuplicateKeyException;
 import io.scalecube.organization.repository.exception.InvalidDataAccessResourceUsageException;
 import io.scalecube.organization.repository.exception.OperationCancellationException;
 import io.scalecube.organization.repository.exception.OperationInterruptedException;
+import io.scalecube.organization.repository.exception.OptimisticLockingFailureException;
 import io.scalecube.organization.repository.exception.QueryTimeoutException;
 import io.scalecube.organization.repository.exception.TransientDataAccessResourceException;
 import java.util.concurrent.ExecutionException;
@@ -81,9 +82,11 @@ final class CouchbaseExceptionTranslator {
     }
 
     if (ex instanceof CASMismatchException
-        || ex instanceof DocumentConcurrentlyModifiedException
-        || ex instanceof ReplicaNotConfiguredException
-        || ex instanceof DurabilityException) {
+        || ex instanceof DocumentConcurrentlyModifiedException) {
+      return new OptimisticLockingFailureException(ex.getMessage(), ex);
+    }
+
+    if (ex instanceof ReplicaNotConfiguredException || ex instanceof DurabilityException) {
       return new DataIntegrityViolationException(ex.getMessage(), ex);
     }
 
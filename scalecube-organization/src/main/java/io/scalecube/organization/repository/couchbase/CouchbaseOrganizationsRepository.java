@@ -1,22 +1,371 @@
 package io.scalecube.organization.repository.couchbase;
 
+import static com.couchbase.client.java.query.Select.select;
+import static com.couchbase.client.java.query.dsl.Expression.i;
+import static com.couchbase.client.java.query.dsl.Expression.s;
+import static com.couchbase.client.java.query.dsl.Expression.x;
+import static com.couchbase.client.java.query.dsl.functions.Collections.anyIn;
 import static java.util.Objects.requireNonNull;
 
 import com.couchbase.client.java.AsyncBucket;
+import com.couchbase.client.java.document.JsonDocument;
+import com.couchbase.client.java.document.json.JsonArray;
+import com.couchbase.client.java.document.json.JsonObject;
+import com.couchbase.client.java.error.CASMismatchException;
+import com.couchbase.client.java.error.DocumentAlreadyExistsException;
+import com.couchbase.client.java.error.DocumentDoesNotExistException;
+import com.couchbase.client.java.query.AsyncN1qlQueryRow;
+import com.couchbase.client.java.query.N1qlQuery;
+import com.couchbase.client.java.subdoc.AsyncMutateInBuilder;
+import io.scalecube.account.api.OrganizationMember;
+import io.scalecube.account.api.Role;
+import io.scalecube.organization.domain.ApiKeysCleanup;
 import io.scalecube.organization.domain.Organization;
 import io.scalecube.organization.repository.OrganizationsRepository;
+import io.scalecube.organization.repository.exception.DataRetrievalFailureException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import rx.Observable;
+import rx.RxReactiveStreams;
 
+/**
+ * Couchbase based organizations repository.
+ *
+ * <p>Organization names are kept unique by name reservation documents stored next to the
+ * organizations under the <code>org-name::&lt;name&gt;</code> key. A reservation is created with an
+ * atomic <code>insert</code>, so concurrent attempts to claim the same name are resolved by the
+ * data service with a single key-value operation instead of a N1QL count query.
+ *
+ * <p>Pending API key pairs cleanups of deleted organizations are stored under the <code>
+ * apikeys-cleanup::&lt;organizationId&gt;</code> key. Neither kind of document has an <code>id
+ * </code> field, so they are never mistaken for organizations.
+ *
+ * <p>Mutations of the members are written with sub-document mutations of the changed elements of
+ * the <code>members</code> array, guarded by the CAS of the organization that was read, instead
+ * of replacing the whole document with every member and API key. Operations which only deal with
+ * the members read the organization with a sub-document lookup which leaves the API keys out.
+ */
 public class CouchbaseOrganizationsRepository extends CouchbaseRepository<Organization>
     implements OrganizationsRepository {
 
+  private static final String MEMBER_ID_PARAM = "memberId";
+  private static final String MEMBERS = "members";
+  static final String[] MEMBERSHIP_FIELDS = {"id", "name", "email", MEMBERS};
+  private static final String MEMBER_ID = "id";
+  private static final String MEMBER_ROLE = "role";
+  // the limit of specs of a sub-document mutation
+  private static final int MAX_MEMBER_SPECS = 16;
+  private static final String NAME_RESERVATION_KEY_PREFIX = "org-name::";
+  private static final String API_KEYS_CLEANUP_KEY_PREFIX = "apikeys-cleanup::";
+  private static final String ORGANIZATION_ID = "organizationId";
+  private static final String KEY_IDS = "keyIds";
+
+  private static final String NAME_CANNOT_BE_NULL = "organization name cannot be null";
+  private static final String ORGANIZATION_ID_CANNOT_BE_NULL = "organization id cannot be null";
+
   public CouchbaseOrganizationsRepository(AsyncBucket bucket) {
-    super(bucket, Organization.class);
+    this(bucket, ApiKeysEncoding.JSON);
+  }
+
+  /**
+   * Creates the repository.
+   *
+   * @param bucket organizations bucket.
+   * @param apiKeysEncoding encoding the API keys of organizations are written in.
+   */
+  public CouchbaseOrganizationsRepository(AsyncBucket bucket, ApiKeysEncoding apiKeysEncoding) {
+    super(
+        bucket,
+        Organization.class,
+        new JacksonTranslationService(requireNonNull(apiKeysEncoding, "apiKeysEncoding")));
   }
 
   @Override
   public Mono<Boolean> existsByName(String name) {
-    requireNonNull(name, "organization name cannot be null");
-    return existByProperty("name", name);
+    return Mono.fromRunnable(() -> requireNonNull(name, NAME_CANNOT_BE_NULL))
+        .then(
+            Mono.defer(
+                () ->
+                    Mono.from(
+                        RxReactiveStreams.toPublisher(
+                            bucket().exists(nameReservationKey(name))))))
+        .onErrorMap(CouchbaseExceptionTranslator::translateExceptionIfPossible);
+  }
+
+  @Override
+  public Mono<Boolean> reserveName(String name, String organizationId) {
+    return Mono.fromRunnable(
+        () -> {
+          requireNonNull(name, NAME_CANNOT_BE_NULL);
+          requireNonNull(organizationId, ORGANIZATION_ID_CANNOT_BE_NULL);
+        })
+        .then(
+            Mono.defer(
+                () ->
+                    Mono.from(
+                        RxReactiveStreams.toPublisher(
+                            bucket().insert(nameReservation(name, organizationId))))))
+        .map(document -> true)
+        .onErrorResume(
+            DocumentAlreadyExistsException.class,
+            ex ->
+                findNameReservation(name)
+                    .map(
+                        document ->
+                            organizationId.equals(document.content().getString(ORGANIZATION_ID)))
+                    .defaultIfEmpty(false))
+        .onErrorMap(CouchbaseExceptionTranslator::translateExceptionIfPossible);
+  }
+
+  @Override
+  public Mono<Void> releaseName(String name, String organizationId) {
+    return Mono.fromRunnable(
+        () -> {
+          requireNonNull(name, NAME_CANNOT_BE_NULL);
+          requireNonNull(organizationId, ORGANIZATION_ID_CANNOT_BE_NULL);
+        })
+        .then(Mono.defer(() -> findNameReservation(name)))
+        .filter(document -> organizationId.equals(document.content().getString(ORGANIZATION_ID)))
+        // removal is guarded by the cas of the reservation that was read
+        .flatMap(document -> Mono.from(RxReactiveStreams.toPublisher(bucket().remove(document))))
+        .onErrorResume(CASMismatchException.class, ex -> Mono.empty())
+        .onErrorResume(DocumentDoesNotExistException.class, ex -> Mono.empty())
+        .onErrorMap(CouchbaseExceptionTranslator::translateExceptionIfPossible)
+        .then();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The query predicate matches the <code>org_members_idx</code> GSI array index over <code>
+   * members[*].id</code> (see <code>scripts/couchbase/dml.txt</code>), so the lookup cost depends
+   * on the number of organizations the user is a member of rather than on the bucket size.
+   */
+  @Override
+  public Flux<Organization> findByMemberId(String memberId) {
+    return Mono.fromRunnable(() -> requireNonNull(memberId, "member id cannot be null"))
+        .thenMany(
+            Flux.defer(
+                () ->
+                    query(
+                        N1qlQuery.parameterized(
+                            select("*")
+                                .from(i(bucket().name()))
+                                .where(
+                                    anyIn("m", x(MEMBERS))
+                                        .satisfies(x("m.id").eq(x("$" + MEMBER_ID_PARAM)))),
+                            JsonObject.create().put(MEMBER_ID_PARAM, memberId)))));
+  }
+
+  @Override
+  public Mono<Organization> findMembershipById(String id) {
+    return findFieldsById(id, MEMBERSHIP_FIELDS);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The organization is read without its API keys. The members changed by the mutation are
+   * written with a single sub-document mutation guarded by the CAS of the organization that was
+   * read: roles are replaced and members removed by their position in the <code>members</code>
+   * array, and new members appended. Changes which take more than 16 specs replace the whole
+   * <code>members</code> array instead.
+   */
+  @Override
+  public <R> Mono<R> mutateMembers(String id, Function<Organization, R> mutation) {
+    return findMembershipById(id)
+        .flatMap(
+            organization -> {
+              List<OrganizationMember> members = organization.members();
+              R result = mutation.apply(organization);
+              List<MemberSpec> changes = memberChanges(members, organization);
+              if (changes.isEmpty()) {
+                return Mono.justOrEmpty(result);
+              }
+              AsyncMutateInBuilder specs = bucket().mutateIn(id).withCas(organization.version());
+              changes.forEach(spec -> spec.addTo(specs));
+              return Mono.from(RxReactiveStreams.toPublisher(specs.execute()))
+                  .onErrorMap(CouchbaseExceptionTranslator::translateExceptionIfPossible)
+                  .doOnNext(fragment -> organization.version(fragment.cas()))
+                  .then(Mono.justOrEmpty(result));
+            });
+  }
+
+  @Override
+  public Mono<Void> saveApiKeysCleanup(ApiKeysCleanup cleanup) {
+    return Mono.fromRunnable(() -> requireNonNull(cleanup, "cleanup cannot be null"))
+        .then(
+            Mono.defer(
+                () ->
+                    Mono.from(
+                        RxReactiveStreams.toPublisher(bucket().upsert(apiKeysCleanup(cleanup))))))
+        .onErrorMap(CouchbaseExceptionTranslator::translateExceptionIfPossible)
+        .then();
+  }
+
+  @Override
+  public Mono<Void> updateApiKeysCleanup(ApiKeysCleanup cleanup) {
+    return Mono.fromRunnable(() -> requireNonNull(cleanup, "cleanup cannot be null"))
+        .then(
+            Mono.defer(
+                () ->
+                    Mono.from(
+                        RxReactiveStreams.toPublisher(bucket().replace(apiKeysCleanup(cleanup))))))
+        .onErrorResume(DocumentDoesNotExistException.class, ex -> Mono.empty())
+        .onErrorMap(CouchbaseExceptionTranslator::translateExceptionIfPossible)
+        .then();
+  }
+
+  @Override
+  public Mono<Void> deleteApiKeysCleanup(String organizationId) {
+    return Mono.fromRunnable(() -> requireNonNull(organizationId, ORGANIZATION_ID_CANNOT_BE_NULL))
+        .then(
+            Mono.defer(
+                () ->
+                    Mono.from(
+                        RxReactiveStreams.toPublisher(
+                            bucket().remove(apiKeysCleanupKey(organizationId))))))
+        .onErrorResume(DocumentDoesNotExistException.class, ex -> Mono.empty())
+        .onErrorMap(CouchbaseExceptionTranslator::translateExceptionIfPossible)
+        .then();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The query predicate matches the <code>org_apikeys_cleanup_idx</code> partial GSI index (see
+   * <code>scripts/couchbase/dml.txt</code>), which only holds the cleanup documents.
+   */
+  @Override
+  public Flux<ApiKeysCleanup> findApiKeysCleanups() {
+    N1qlQuery query =
+        N1qlQuery.simple(
+            select(x(ORGANIZATION_ID), x(KEY_IDS))
+                .from(i(bucket().name()))
+                .where(
+                    x("META().id")
+                        .like(s(API_KEYS_CLEANUP_KEY_PREFIX + "%"))
+                        .and(x(ORGANIZATION_ID).isValued())));
+    return Flux.from(RxReactiveStreams.toPublisher(rows(query)))
+        .map(row -> apiKeysCleanup(row.value()))
+        .onErrorMap(CouchbaseExceptionTranslator::translateExceptionIfPossible);
+  }
+
+  private Observable<AsyncN1qlQueryRow> rows(N1qlQuery query) {
+    return bucket()
+        .query(query)
+        .flatMap(
+            result ->
+                result
+                    .rows()
+                    .mergeWith(
+                        result
+                            .errors()
+                            .flatMap(
+                                error ->
+                                    Observable.error(
+                                        new DataRetrievalFailureException(
+                                            "N1QL error: " + error.toString())))));
+  }
+
+  private Mono<JsonDocument> findNameReservation(String name) {
+    return Mono.from(RxReactiveStreams.toPublisher(bucket().get(nameReservationKey(name))));
+  }
+
+  private static JsonDocument nameReservation(String name, String organizationId) {
+    return JsonDocument.create(
+        nameReservationKey(name), JsonObject.create().put(ORGANIZATION_ID, organizationId));
+  }
+
+  private static String nameReservationKey(String name) {
+    return NAME_RESERVATION_KEY_PREFIX + name;
+  }
+
+  private static JsonDocument apiKeysCleanup(ApiKeysCleanup cleanup) {
+    return JsonDocument.create(
+        apiKeysCleanupKey(cleanup.organizationId()),
+        JsonObject.create()
+            .put(ORGANIZATION_ID, cleanup.organizationId())
+            .put(KEY_IDS, JsonArray.from(cleanup.keyIds())));
+  }
+
+  private static ApiKeysCleanup apiKeysCleanup(JsonObject content) {
+    JsonArray array = content.getArray(KEY_IDS);
+    List<String> keyIds = new ArrayList<>();
+    for (int i = 0; array != null && i < array.size(); i++) {
+      keyIds.add(array.getString(i));
+    }
+    return new ApiKeysCleanup(content.getString(ORGANIZATION_ID), keyIds);
+  }
+
+  private static String apiKeysCleanupKey(String organizationId) {
+    return API_KEYS_CLEANUP_KEY_PREFIX + organizationId;
+  }
+
+  /**
+   * Plans the specs which turn the members array from the given members to the members of the
+   * organization. Roles are replaced first, then members are removed from the last one, so the
+   * positions of the others do not shift, and new members appended. Changes which take more than
+   * 16 specs are planned as a single replacement of the whole array.
+   *
+   * @param members members of the organization as read, in the order of the members array.
+   * @param organization organization after the mutation.
+   * @return the specs, which are empty in case the members did not change.
+   */
+  static List<MemberSpec> memberChanges(
+      List<OrganizationMember> members, Organization organization) {
+    Map<Integer, Role> roleChanges = new LinkedHashMap<>();
+    List<Integer> removals = new ArrayList<>();
+    Set<String> memberIds = new HashSet<>();
+    for (int position = 0; position < members.size(); position++) {
+      OrganizationMember member = members.get(position);
+      memberIds.add(member.id());
+      Role role = organization.role(member.id());
+      if (role == null) {
+        removals.add(position);
+      } else if (!role.name().equals(member.role())) {
+        roleChanges.put(position, role);
+      }
+    }
+    List<OrganizationMember> additions = new ArrayList<>();
+    for (OrganizationMember member : organization.members()) {
+      if (!memberIds.contains(member.id())) {
+        additions.add(member);
+      }
+    }
+
+    List<MemberSpec> specs = new ArrayList<>();
+    int changes = roleChanges.size() + removals.size() + additions.size();
+    if (changes > MAX_MEMBER_SPECS) {
+      JsonArray array = JsonArray.create();
+      organization.members().forEach(member -> array.add(member(member.id(), member.role())));
+      specs.add(MemberSpec.replace(MEMBERS, array));
+      return specs;
+    }
+    roleChanges.forEach(
+        (position, role) ->
+            specs.add(MemberSpec.replace(memberPath(position) + "." + MEMBER_ROLE, role.name())));
+    for (int i = removals.size() - 1; i >= 0; i--) {
+      specs.add(MemberSpec.remove(memberPath(removals.get(i))));
+    }
+    additions.forEach(
+        member ->
+            specs.add(MemberSpec.arrayAppend(MEMBERS, member(member.id(), member.role()))));
+    return specs;
+  }
+
+  private static JsonObject member(String userId, String role) {
+    return JsonObject.create().put(MEMBER_ID, userId).put(MEMBER_ROLE, role);
+  }
+
+  private static String memberPath(int position) {
+    return MEMBERS + "[" + position + "]";
   }
 }
@@ -2,17 +2,24 @@ package io.scalecube.organization.repository.couchbase;
 
 import static com.couchbase.client.java.query.Select.select;
 import static com.couchbase.client.java.query.dsl.Expression.i;
+import static com.couchbase.client.java.query.dsl.Expression.x;
 import static java.util.Objects.requireNonNull;
 
+import com.couchbase.client.core.message.kv.subdoc.multi.Lookup;
 import com.couchbase.client.java.AsyncBucket;
-import com.couchbase.client.java.document.JsonDocument;
-import com.couchbase.client.java.document.RawJsonDocument;
+import com.couchbase.client.java.document.Document;
+import com.couchbase.client.java.error.DocumentDoesNotExistException;
 import com.couchbase.client.java.query.AsyncN1qlQueryResult;
 import com.couchbase.client.java.query.N1qlQuery;
-import com.couchbase.client.java.query.SimpleN1qlQuery;
+import com.couchbase.client.java.subdoc.DocumentFragment;
+import com.couchbase.client.java.transcoder.Transcoder;
 import io.scalecube.organization.domain.Entity;
 import io.scalecube.organization.repository.Repository;
 import io.scalecube.organization.repository.exception.DataRetrievalFailureException;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import rx.Observable;
@@ -21,6 +28,9 @@ import rx.RxReactiveStreams;
 /**
  * Abstract base couchbase <Code>Repository</Code> implementation.
  *
+ * <p>Entities are read and written as {@link JsonBytesDocument}, so the bucket must be opened with
+ * the {@link #transcoders()} of this repository.
+ *
  * @param <T> This repository entity type.
  */
 abstract class CouchbaseRepository<T extends Entity> implements Repository<T, String> {
@@ -30,14 +40,24 @@ abstract class CouchbaseRepository<T extends Entity> implements Repository<T, St
   private static final String SELECT_COUNT_BY_DOCUMENT_FIELD_QUERY =
       "select count(id) as count from %s where %s = '%s'";
 
-  private final TranslationService translationService = new JacksonTranslationService();
-
   private final AsyncBucket bucket;
   private final Class<T> type;
+  private final TranslationService translationService;
+
+  /**
+   * Returns the custom transcoders the bucket of the repository must be opened with.
+   *
+   * @return transcoders.
+   */
+  public static List<Transcoder<? extends Document, ?>> transcoders() {
+    return Collections.singletonList(new JsonBytesTranscoder());
+  }
 
-  CouchbaseRepository(AsyncBucket bucket, Class<T> type) {
+  CouchbaseRepository(AsyncBucket bucket, Class<T> type, TranslationService translationService) {
     this.bucket = requireNonNull(bucket, "bucket cannot be null");
     this.type = requireNonNull(type, "entity type cannot be null");
+    this.translationService =
+        requireNonNull(translationService, "translation service cannot be null");
   }
 
   @Override
@@ -63,17 +83,71 @@ abstract class CouchbaseRepository<T extends Entity> implements Repository<T, St
   @Override
   public Mono<T> findById(String id) {
     return Mono.fromRunnable(() -> requireNonNull(id, ID_CANNOT_BE_NULL))
-        .then(Mono.defer(() -> Mono.from(RxReactiveStreams.toPublisher(bucket.get(id)))))
+        .then(
+            Mono.defer(
+                () ->
+                    Mono.from(
+                        RxReactiveStreams.toPublisher(bucket.get(id, JsonBytesDocument.class)))))
         .map(this::toEntity)
         .onErrorMap(CouchbaseExceptionTranslator::translateExceptionIfPossible);
   }
 
-  private T toEntity(JsonDocument document) {
-    T entity = translationService.decode(document.content().toString(), type);
+  private T toEntity(JsonBytesDocument document) {
+    T entity = translationService.decode(document.content(), type);
     entity.version(document.cas());
     return entity;
   }
 
+  /**
+   * Reads only the given top level fields of the entity with a sub-document lookup, and decodes
+   * them into an entity whose other fields keep their defaults. The version of the entity is the
+   * CAS of the whole document.
+   *
+   * @param id entity id.
+   * @param fields names of the top level fields to read.
+   * @return entity with the given fields, or empty in case it does not exist.
+   */
+  protected Mono<T> findFieldsById(String id, String... fields) {
+    return Mono.fromRunnable(() -> requireNonNull(id, ID_CANNOT_BE_NULL))
+        .then(
+            Mono.defer(
+                () ->
+                    Mono.from(
+                        RxReactiveStreams.toPublisher(
+                            bucket.lookupIn(id).includeRaw(true).get(fields).execute()))))
+        .map(
+            fragment -> {
+              T entity = translationService.decode(toJsonBytes(fragment, fields), type);
+              entity.version(fragment.cas());
+              return entity;
+            })
+        .onErrorResume(DocumentDoesNotExistException.class, ex -> Mono.empty())
+        .onErrorMap(CouchbaseExceptionTranslator::translateExceptionIfPossible);
+  }
+
+  /**
+   * Assembles the JSON object of the fields found by a sub-document lookup from their raw values.
+   * Fields which were not found are left out, so they keep their defaults when decoded.
+   */
+  static byte[] toJsonBytes(DocumentFragment<Lookup> fragment, String[] fields) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    out.write('{');
+    for (String field : fields) {
+      if (!fragment.exists(field)) {
+        continue;
+      }
+      if (out.size() > 1) {
+        out.write(',');
+      }
+      byte[] name = ("\"" + field + "\":").getBytes(StandardCharsets.UTF_8);
+      byte[] value = fragment.rawContent(field);
+      out.write(name, 0, name.length);
+      out.write(value, 0, value.length);
+    }
+    out.write('}');
+    return out.toByteArray();
+  }
+
   @Override
   public Mono<Boolean> existsById(String id) {
     return Mono.fromRunnable(() -> requireNonNull(id, ID_CANNOT_BE_NULL))
@@ -91,8 +165,8 @@ abstract class CouchbaseRepository<T extends Entity> implements Repository<T, St
         .then(
             Mono.fromCallable(
                 () ->
-                    RawJsonDocument.create(
-                        id, translationService.encode(entity), entity.version())))
+                    JsonBytesDocument.create(
+                        id, translationService.encodeToBytes(entity), entity.version())))
         .flatMap(
             document -> {
               if (entity.version() == 0) {
@@ -115,8 +189,19 @@ abstract class CouchbaseRepository<T extends Entity> implements Repository<T, St
 
   @Override
   public Flux<T> findAll() {
-    final SimpleN1qlQuery query = N1qlQuery.simple(select("*").from(i(bucket.name())));
+    // only entity documents carry an id, auxiliary documents in the bucket are skipped
+    return query(N1qlQuery.simple(select("*").from(i(bucket.name())).where(x("id").isValued())));
+  }
 
+  /**
+   * Executes the <code>query</code> argument and decodes the selected documents into entities of
+   * this repository type. The query is expected to select <code>*</code> from this repository
+   * bucket.
+   *
+   * @param query N1QL query to execute.
+   * @return entities matching the query.
+   */
+  protected Flux<T> query(N1qlQuery query) {
     return Flux.from(
             RxReactiveStreams.toPublisher(
                 bucket
@@ -137,8 +222,11 @@ abstract class CouchbaseRepository<T extends Entity> implements Repository<T, St
                                     row ->
                                         Observable.just(
                                             translationService.decode(
-                                                row.value().get(bucket.name()).toString(),
-                                                type))))))
+                                                row.byteValue(), bucket.name(), type))))))
         .onErrorMap(CouchbaseExceptionTranslator::translateExceptionIfPossible);
   }
+
+  protected AsyncBucket bucket() {
+    return bucket;
+  }
 }
@@ -2,40 +2,131 @@ package io.scalecube.organization.repository.couchbase;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.core.JsonPointer;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.scalecube.organization.domain.Organization;
 import java.io.IOException;
-import java.io.StringWriter;
-import java.io.Writer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
-/** Default JSON implementation of <code>TranslationService</code>. */
+/**
+ * Default JSON implementation of <code>TranslationService</code>.
+ *
+ * <p>Readers and writers are resolved once per type and reused, so serializers and deserializers
+ * are not looked up on every call. The API keys of organizations are written in the given {@link
+ * ApiKeysEncoding}, and read in any of them.
+ */
 class JacksonTranslationService implements TranslationService {
 
   private final ObjectMapper objectMapper = new ObjectMapper();
+  private final ApiKeysEncoding apiKeysEncoding;
+  private final Map<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+  private final Map<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+  private final Map<FieldReaderKey, ObjectReader> fieldReaders = new ConcurrentHashMap<>();
 
   JacksonTranslationService() {
+    this(ApiKeysEncoding.JSON);
+  }
+
+  JacksonTranslationService(ApiKeysEncoding apiKeysEncoding) {
+    this.apiKeysEncoding = apiKeysEncoding;
     objectMapper.setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY);
+    objectMapper.addMixIn(Organization.class, OrganizationMixin.class);
   }
 
   @Override
   public <T> String encode(final T source) {
-    Writer writer = new StringWriter();
-
     try {
-      objectMapper.writeValue(writer, source);
-      writer.close();
+      return writer(source).writeValueAsString(source);
     } catch (IOException ex) {
       throw new RuntimeException("Could not encode JSON", ex);
     }
+  }
 
-    return writer.toString();
+  @Override
+  public <T> byte[] encodeToBytes(T source) {
+    try {
+      return writer(source).writeValueAsBytes(source);
+    } catch (IOException ex) {
+      throw new RuntimeException("Could not encode JSON", ex);
+    }
   }
 
   @Override
   public <T> T decode(String source, Class<T> target) {
     try {
-      return objectMapper.readValue(source, target);
+      return reader(target).readValue(source);
+    } catch (IOException ex) {
+      throw new RuntimeException("Could not decode JSON", ex);
+    }
+  }
+
+  @Override
+  public <T> T decode(byte[] source, Class<T> target) {
+    try {
+      return reader(target).readValue(source);
+    } catch (IOException ex) {
+      throw new RuntimeException("Could not decode JSON", ex);
+    }
+  }
+
+  @Override
+  public <T> T decode(byte[] source, String field, Class<T> target) {
+    try {
+      return fieldReaders
+          .computeIfAbsent(
+              new FieldReaderKey(field, target),
+              key -> reader(target).at(JsonPointer.compile("/" + escape(field))))
+          .readValue(source);
     } catch (IOException ex) {
       throw new RuntimeException("Could not decode JSON", ex);
     }
   }
+
+  private ObjectReader reader(Class<?> type) {
+    return readers.computeIfAbsent(type, objectMapper::readerFor);
+  }
+
+  private ObjectWriter writer(Object source) {
+    return source == null
+        ? objectMapper.writer()
+        : writers.computeIfAbsent(
+            source.getClass(),
+            type ->
+                objectMapper.writerFor(type).withAttribute(ApiKeysEncoding.class, apiKeysEncoding));
+  }
+
+  private static String escape(String field) {
+    return field.replace("~", "~0").replace("/", "~1");
+  }
+
+  private static final class FieldReaderKey {
+
+    private final String field;
+    private final Class<?> type;
+
+    private FieldReaderKey(String field, Class<?> type) {
+      this.field = field;
+      this.type = type;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof FieldReaderKey)) {
+        return false;
+      }
+      FieldReaderKey that = (FieldReaderKey) o;
+      return field.equals(that.field) && type.equals(that.type);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * field.hashCode() + type.hashCode();
+    }
+  }
 }
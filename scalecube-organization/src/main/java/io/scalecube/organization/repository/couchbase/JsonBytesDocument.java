@@ -0,0 +1,27 @@
+package io.scalecube.organization.repository.couchbase;
+
+import com.couchbase.client.core.message.kv.MutationToken;
+import com.couchbase.client.java.document.AbstractDocument;
+
+/**
+ * Document with the raw UTF-8 bytes of a JSON value as content. Unlike <code>JsonDocument</code>
+ * and <code>RawJsonDocument</code>, reading it neither parses the JSON into a <code>JsonObject
+ * </code> nor decodes it into a <code>String</code>, so entities are decoded straight from the
+ * bytes received from the server.
+ */
+final class JsonBytesDocument extends AbstractDocument<byte[]> {
+
+  private JsonBytesDocument(
+      String id, int expiry, byte[] content, long cas, MutationToken mutationToken) {
+    super(id, expiry, content, cas, mutationToken);
+  }
+
+  static JsonBytesDocument create(String id, byte[] content, long cas) {
+    return new JsonBytesDocument(id, 0, content, cas, null);
+  }
+
+  static JsonBytesDocument create(
+      String id, int expiry, byte[] content, long cas, MutationToken mutationToken) {
+    return new JsonBytesDocument(id, expiry, content, cas, mutationToken);
+  }
+}
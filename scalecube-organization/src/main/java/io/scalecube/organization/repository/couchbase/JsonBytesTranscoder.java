@@ -0,0 +1,50 @@
+package io.scalecube.organization.repository.couchbase;
+
+import com.couchbase.client.core.lang.Tuple;
+import com.couchbase.client.core.lang.Tuple2;
+import com.couchbase.client.core.message.ResponseStatus;
+import com.couchbase.client.core.message.kv.MutationToken;
+import com.couchbase.client.deps.io.netty.buffer.ByteBuf;
+import com.couchbase.client.deps.io.netty.buffer.Unpooled;
+import com.couchbase.client.java.error.TranscodingException;
+import com.couchbase.client.java.transcoder.AbstractTranscoder;
+import com.couchbase.client.java.transcoder.TranscoderUtils;
+
+/**
+ * Transcoder of {@link JsonBytesDocument}. Decoding copies the content out of the pooled network
+ * buffer once, encoding wraps the content without copying it.
+ */
+final class JsonBytesTranscoder extends AbstractTranscoder<JsonBytesDocument, byte[]> {
+
+  @Override
+  protected JsonBytesDocument doDecode(
+      String id, ByteBuf content, long cas, int expiry, int flags, ResponseStatus status) {
+    if (!TranscoderUtils.hasJsonFlags(flags)) {
+      throw new TranscodingException(
+          "Flags (0x" + Integer.toHexString(flags) + ") indicate non-JSON document for id " + id);
+    }
+    return newDocument(id, expiry, TranscoderUtils.copyByteBufToByteArray(content), cas);
+  }
+
+  @Override
+  protected Tuple2<ByteBuf, Integer> doEncode(JsonBytesDocument document) {
+    return Tuple.create(
+        Unpooled.wrappedBuffer(document.content()), TranscoderUtils.JSON_COMPAT_FLAGS);
+  }
+
+  @Override
+  public JsonBytesDocument newDocument(String id, int expiry, byte[] content, long cas) {
+    return JsonBytesDocument.create(id, expiry, content, cas, null);
+  }
+
+  @Override
+  public JsonBytesDocument newDocument(
+      String id, int expiry, byte[] content, long cas, MutationToken mutationToken) {
+    return JsonBytesDocument.create(id, expiry, content, cas, mutationToken);
+  }
+
+  @Override
+  public Class<JsonBytesDocument> documentType() {
+    return JsonBytesDocument.class;
+  }
+}
@@ -0,0 +1,88 @@
+package io.scalecube.organization.repository.couchbase;
+
+import com.couchbase.client.java.subdoc.AsyncMutateInBuilder;
+import java.util.Objects;
+
+/**
+ * Planned spec of the sub-document mutation of the members of an organization document, kept
+ * apart from the <code>AsyncMutateInBuilder</code> of a bucket so the changes of the members can
+ * be planned without one.
+ */
+final class MemberSpec {
+
+  enum Type {
+    REPLACE,
+    REMOVE,
+    APPEND
+  }
+
+  private final Type type;
+  private final String path;
+  private final Object value;
+
+  private MemberSpec(Type type, String path, Object value) {
+    this.type = type;
+    this.path = path;
+    this.value = value;
+  }
+
+  static MemberSpec replace(String path, Object value) {
+    return new MemberSpec(Type.REPLACE, path, value);
+  }
+
+  static MemberSpec remove(String path) {
+    return new MemberSpec(Type.REMOVE, path, null);
+  }
+
+  static MemberSpec arrayAppend(String path, Object value) {
+    return new MemberSpec(Type.APPEND, path, value);
+  }
+
+  Type type() {
+    return type;
+  }
+
+  String path() {
+    return path;
+  }
+
+  Object value() {
+    return value;
+  }
+
+  void addTo(AsyncMutateInBuilder specs) {
+    switch (type) {
+      case REPLACE:
+        specs.replace(path, value);
+        break;
+      case REMOVE:
+        specs.remove(path);
+        break;
+      default:
+        specs.arrayAppend(path, value);
+        break;
+    }
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    MemberSpec that = (MemberSpec) o;
+    return type == that.type && path.equals(that.path) && Objects.equals(value, that.value);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(type, path, value);
+  }
+
+  @Override
+  public String toString() {
+    return type + " " + path + (value == null ? "" : " " + value);
+  }
+}
@@ -0,0 +1,86 @@
+package io.scalecube.organization.repository.couchbase;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import io.scalecube.account.api.Role;
+import io.scalecube.organization.domain.Organization;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Serialization of the members of {@link Organization} documents, indexed by user id in the
+ * domain model, as the array of <code>{"id": ..., "role": ...}</code> objects the documents and
+ * the N1QL membership index have always used.
+ */
+final class MembersSerialization {
+
+  private static final String ID = "id";
+  private static final String ROLE = "role";
+
+  private MembersSerialization() {
+    // Do not instantiate
+  }
+
+  static final class Serializer extends StdSerializer<Map<String, Role>> {
+
+    Serializer() {
+      super(Map.class, false);
+    }
+
+    @Override
+    public void serialize(Map<String, Role> value, JsonGenerator gen, SerializerProvider provider)
+        throws IOException {
+      gen.writeStartArray();
+      for (Map.Entry<String, Role> member : value.entrySet()) {
+        gen.writeStartObject();
+        gen.writeStringField(ID, member.getKey());
+        gen.writeStringField(ROLE, member.getValue().name());
+        gen.writeEndObject();
+      }
+      gen.writeEndArray();
+    }
+  }
+
+  static final class Deserializer extends StdDeserializer<Map<String, Role>> {
+
+    Deserializer() {
+      super(Map.class);
+    }
+
+    @Override
+    public Map<String, Role> deserialize(JsonParser parser, DeserializationContext ctxt)
+        throws IOException {
+      if (!parser.isExpectedStartArrayToken()) {
+        return (Map<String, Role>) ctxt.handleUnexpectedToken(Map.class, parser);
+      }
+      Map<String, Role> members = new LinkedHashMap<>();
+      while (parser.nextToken() == JsonToken.START_OBJECT) {
+        String id = null;
+        String role = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+          String field = parser.getCurrentName();
+          parser.nextToken();
+          if (ID.equals(field)) {
+            id = parser.getValueAsString();
+          } else if (ROLE.equals(field)) {
+            role = parser.getValueAsString();
+          } else {
+            parser.skipChildren();
+          }
+        }
+        if (id == null || role == null) {
+          return (Map<String, Role>)
+              ctxt.handleWeirdStringValue(Map.class, String.valueOf(id), "member without role");
+        }
+        members.putIfAbsent(id, Role.valueOf(role));
+      }
+      return members;
+    }
+  }
+}
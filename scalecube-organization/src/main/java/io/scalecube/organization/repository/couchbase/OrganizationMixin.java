@@ -0,0 +1,24 @@
+package io.scalecube.organization.repository.couchbase;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import io.scalecube.account.api.ApiKey;
+import io.scalecube.account.api.Role;
+import io.scalecube.organization.domain.Organization;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Attaches the serializers and deserializers of the members and API keys to the {@link
+ * Organization} document.
+ */
+abstract class OrganizationMixin {
+
+  @JsonSerialize(using = MembersSerialization.Serializer.class)
+  @JsonDeserialize(using = MembersSerialization.Deserializer.class)
+  private Map<String, Role> members;
+
+  @JsonSerialize(using = ApiKeysSerialization.Serializer.class)
+  @JsonDeserialize(using = ApiKeysSerialization.Deserializer.class)
+  private Set<ApiKey> apiKeys;
+}
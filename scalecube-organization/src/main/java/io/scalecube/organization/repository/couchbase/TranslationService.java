@@ -11,6 +11,14 @@ public interface TranslationService {
    */
   <T> String encode(T source);
 
+  /**
+   * Encodes the source into UTF-8 JSON bytes.
+   *
+   * @param source the source contents to encode.
+   * @return the encoded document bytes.
+   */
+  <T> byte[] encodeToBytes(T source);
+
   /**
    * Decodes the string into the target
    *
@@ -19,4 +27,24 @@ public interface TranslationService {
    * @return a properly populated object to work with.
    */
   <T> T decode(String source, Class<T> target);
+
+  /**
+   * Decodes UTF-8 JSON bytes into the target.
+   *
+   * @param source the source document bytes.
+   * @param target the target of the populated data.
+   * @return a properly populated object to work with.
+   */
+  <T> T decode(byte[] source, Class<T> target);
+
+  /**
+   * Decodes the value of a top level field of UTF-8 JSON bytes into the target, e.g. the document
+   * of a N1QL <code>select *</code> row, which is nested under the bucket name.
+   *
+   * @param source the source document bytes.
+   * @param field name of the top level field.
+   * @param target the target of the populated data.
+   * @return a properly populated object to work with.
+   */
+  <T> T decode(byte[] source, String field, Class<T> target);
 }
@@ -0,0 +1,12 @@
+package io.scalecube.organization.repository.exception;
+
+/**
+ * Thrown when an entity could not be saved because it was modified since it was read. The
+ * operation may succeed when repeated on a fresh read of the entity.
+ */
+public class OptimisticLockingFailureException extends DataIntegrityViolationException {
+
+  public OptimisticLockingFailureException(String message, Throwable ex) {
+    super(message, ex);
+  }
+}
@@ -1,27 +1,45 @@
 package io.scalecube.organization.server;
 
+import com.codahale.metrics.JmxReporter;
+import com.codahale.metrics.MetricRegistry;
 import com.couchbase.client.java.AsyncBucket;
 import com.couchbase.client.java.CouchbaseCluster;
-import io.scalecube.account.api.OrganizationService;
 import io.scalecube.app.decoration.Logo;
 import io.scalecube.app.packages.PackageInfo;
+import io.scalecube.config.ConfigRegistry;
 import io.scalecube.organization.OrganizationServiceImpl;
+import io.scalecube.organization.ServiceSchedulers;
+import io.scalecube.organization.ServiceSchedulers.ExecutionModel;
+import io.scalecube.organization.affinity.OrganizationAffinity;
+import io.scalecube.organization.affinity.OrganizationOwnerServiceImpl;
 import io.scalecube.organization.config.AppConfiguration;
+import io.scalecube.organization.metrics.OrganizationMetricsServiceImpl;
 import io.scalecube.organization.repository.OrganizationsRepository;
+import io.scalecube.organization.repository.couchbase.ApiKeysEncoding;
 import io.scalecube.organization.repository.couchbase.CouchbaseOrganizationsRepository;
 import io.scalecube.organization.repository.couchbase.CouchbaseSettings;
 import io.scalecube.organization.tokens.Auth0PublicKeyProvider;
+import io.scalecube.organization.tokens.JwksCache;
+import io.scalecube.organization.tokens.KeyAlgorithm;
+import io.scalecube.organization.tokens.KeyPairPool;
 import io.scalecube.organization.tokens.TokenVerifier;
 import io.scalecube.organization.tokens.TokenVerifierImpl;
+import io.scalecube.organization.tokens.VerifiedTokenCache;
+import io.scalecube.organization.tokens.store.ApiKeysCleanupWorker;
 import io.scalecube.organization.tokens.store.KeyStore;
+import io.scalecube.organization.tokens.store.PublicKeyCache;
 import io.scalecube.organization.tokens.store.VaultKeyStore;
 import io.scalecube.services.Microservices;
 import io.scalecube.services.ServiceEndpoint;
 import io.scalecube.services.discovery.ScalecubeServiceDiscovery;
+import io.scalecube.services.discovery.api.ServiceDiscovery;
 import io.scalecube.services.transport.rsocket.RSocketServiceTransport;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Mono;
@@ -33,6 +51,9 @@ public class OrganizationServiceRunner {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(OrganizationServiceRunner.class);
 
+  // service methods which block on key pair generation or the key store
+  private static final String[] BULKHEAD_METHODS = {"addApiKey", "deleteApiKey", "getPublicKey"};
+
   /**
    * Bootstrap main.
    *
@@ -47,10 +68,38 @@ public class OrganizationServiceRunner {
 
     LOGGER.info("Starting organization service on {}", discoveryOptions);
 
+    MetricRegistry metrics = new MetricRegistry();
+    JmxReporter jmxReporter = jmxReporter(metrics);
+    OrganizationAffinity affinity = organizationAffinity(metrics);
+    OrganizationServiceImpl organizationService = createOrganizationService(metrics, affinity);
+    Runtime.getRuntime()
+        .addShutdownHook(
+            new Thread(
+                () -> {
+                  if (affinity != null) {
+                    affinity.stop();
+                  }
+                  organizationService.shutdown();
+                  jmxReporter.stop();
+                },
+                "organization-shutdown"));
+
+    List<Object> services = new ArrayList<>();
+    services.add(organizationService);
+    services.add(new OrganizationMetricsServiceImpl(metrics));
+    if (affinity != null) {
+      services.add(new OrganizationOwnerServiceImpl(organizationService));
+    }
+
     Microservices.builder()
-        .discovery((serviceEndpoint) -> serviceDiscovery(discoveryOptions, serviceEndpoint))
+        .metrics(metrics)
+        .discovery(
+            (serviceEndpoint) -> {
+              ServiceDiscovery discovery = serviceDiscovery(discoveryOptions, serviceEndpoint);
+              return affinity != null ? affinity.track(discovery) : discovery;
+            })
         .transport(() -> serviceTransport(discoveryOptions))
-        .services(createOrganizationService())
+        .services(services.toArray())
         .start()
         .doOnNext(
             microservices ->
@@ -58,11 +107,41 @@ public class OrganizationServiceRunner {
                     .ip(microservices.discovery().address().host())
                     .port("" + microservices.discovery().address().port())
                     .draw())
+        .doOnNext(
+            microservices -> {
+              if (affinity != null) {
+                affinity.start(microservices);
+              }
+            })
         .block()
         .onShutdown()
         .block();
   }
 
+  private static OrganizationAffinity organizationAffinity(MetricRegistry metrics) {
+    ConfigRegistry config = AppConfiguration.configRegistry();
+    if (!config.booleanValue("affinity.enabled", false)) {
+      return null;
+    }
+    return OrganizationAffinity.builder()
+        .virtualNodes(config.intValue("affinity.virtualNodes", 128))
+        .forwardTimeout(Duration.ofMillis(config.longValue("affinity.forwardTimeout", 10_000)))
+        .metrics(metrics, OrganizationServiceImpl.class)
+        .build();
+  }
+
+  private static JmxReporter jmxReporter(MetricRegistry metrics) {
+    JmxReporter reporter =
+        JmxReporter.forRegistry(metrics)
+            .inDomain("io.scalecube.organization")
+            .convertDurationsTo(TimeUnit.MILLISECONDS)
+            .build();
+    if (AppConfiguration.configRegistry().booleanValue("metrics.jmx.enabled", true)) {
+      reporter.start();
+    }
+    return reporter;
+  }
+
   private static RSocketServiceTransport serviceTransport(DiscoveryOptions options) {
     return new RSocketServiceTransport()
         .tcpClient(resources -> TcpClient.newConnection().runOn(resources))
@@ -80,7 +159,8 @@ public class OrganizationServiceRunner {
                     .memberPort(discoveryOptions.memberPort()));
   }
 
-  private static OrganizationService createOrganizationService() {
+  private static OrganizationServiceImpl createOrganizationService(
+      MetricRegistry metrics, OrganizationAffinity affinity) {
     CouchbaseSettings settings =
         AppConfiguration.configRegistry()
             .objectProperty(couchbaseSettingsBindingMap(), CouchbaseSettings.class)
@@ -94,18 +174,116 @@ public class OrganizationServiceRunner {
             .retryBackoff(3, Duration.ofSeconds(1))
             .block(Duration.ofSeconds(30));
 
-    OrganizationsRepository repository = new CouchbaseOrganizationsRepository(bucket);
-    KeyStore keyStore = new VaultKeyStore();
-    TokenVerifier tokenVerifier = new TokenVerifierImpl(new Auth0PublicKeyProvider());
+    ApiKeysEncoding apiKeysEncoding =
+        ApiKeysEncoding.of(
+            AppConfiguration.configRegistry().stringValue("couchbase.apiKeys.encoding", "json"));
+    OrganizationsRepository repository =
+        new CouchbaseOrganizationsRepository(bucket, apiKeysEncoding);
+    KeyStore keyStore = new VaultKeyStore(publicKeyCache(metrics));
+    TokenVerifier tokenVerifier =
+        new TokenVerifierImpl(
+            new Auth0PublicKeyProvider(JwksCache.builder().metricRegistry(metrics)),
+            verifiedTokenCache(metrics));
+
+    return OrganizationServiceImpl.builder()
+        .repository(repository)
+        .keyStore(keyStore)
+        .tokenVerifier(tokenVerifier)
+        .keyPairPool(keyPairPool(metrics))
+        .apiKeysCleanupWorker(apiKeysCleanupWorker(repository, keyStore, metrics))
+        .schedulers(serviceSchedulers())
+        .metricRegistry(metrics)
+        .affinity(affinity)
+        .stageTimings(
+            AppConfiguration.configRegistry().booleanValue("metrics.stageTimings.enabled", true))
+        .conflictRetries(
+            AppConfiguration.configRegistry().intValue("conflict.retry.maxRetries", 3))
+        .conflictBackoff(
+            Duration.ofMillis(
+                AppConfiguration.configRegistry().longValue("conflict.retry.firstBackoff", 5)),
+            Duration.ofMillis(
+                AppConfiguration.configRegistry().longValue("conflict.retry.maxBackoff", 100)))
+        .writeCoalescing(
+            AppConfiguration.configRegistry()
+                .booleanValue("repository.writeCoalescing.enabled", true))
+        .build();
+  }
+
+  private static ServiceSchedulers serviceSchedulers() {
+    ConfigRegistry config = AppConfiguration.configRegistry();
+    ServiceSchedulers.Builder builder =
+        ServiceSchedulers.builder()
+            .model(ExecutionModel.of(config.stringValue("scheduler.model", "parallel")))
+            .threads(
+                config.intValue("scheduler.threads", Runtime.getRuntime().availableProcessors()))
+            .queueSize(config.intValue("scheduler.queueSize", 10_000));
+    for (String method : BULKHEAD_METHODS) {
+      int threads = config.intValue("scheduler.bulkhead." + method + ".threads", 4);
+      if (threads > 0) {
+        builder.bulkhead(method, threads);
+      }
+    }
+    return builder.build();
+  }
+
+  private static ApiKeysCleanupWorker apiKeysCleanupWorker(
+      OrganizationsRepository repository, KeyStore keyStore, MetricRegistry metrics) {
+    ConfigRegistry config = AppConfiguration.configRegistry();
+    return ApiKeysCleanupWorker.builder()
+        .repository(repository)
+        .keyStore(keyStore)
+        .concurrency(config.intValue("apikeys.cleanup.concurrency", 16))
+        .sweepInterval(
+            Duration.ofMillis(config.longValue("apikeys.cleanup.sweepInterval", 60_000)))
+        .metricRegistry(metrics)
+        .build()
+        .start();
+  }
+
+  private static VerifiedTokenCache verifiedTokenCache(MetricRegistry metrics) {
+    ConfigRegistry config = AppConfiguration.configRegistry();
+    if (!config.booleanValue("token.cache.enabled", true)) {
+      return null;
+    }
+    return VerifiedTokenCache.builder()
+        .maxTtl(Duration.ofMillis(config.longValue("token.cache.maxTtl", 300_000)))
+        .maxSize(config.intValue("token.cache.maxSize", 10_000))
+        .metricRegistry(metrics)
+        .build();
+  }
+
+  private static KeyPairPool keyPairPool(MetricRegistry metrics) {
+    ConfigRegistry config = AppConfiguration.configRegistry();
+    KeyAlgorithm algorithm = KeyAlgorithm.of(config.stringValue("crypto.algorithm", "RSA"));
+    return KeyPairPool.builder()
+        .algorithm(algorithm)
+        .keySize(config.intValue("crypto.key.size", algorithm.defaultKeySize()))
+        .watermarks(
+            config.intValue("keypair.pool.lowWatermark", 16),
+            config.intValue("keypair.pool.highWatermark", 64))
+        .workers(
+            config.intValue(
+                "keypair.pool.workers",
+                Math.max(1, Runtime.getRuntime().availableProcessors() / 2)))
+        .metricRegistry(metrics)
+        .build();
+  }
 
-    return new OrganizationServiceImpl(repository, keyStore, tokenVerifier);
+  private static PublicKeyCache publicKeyCache(MetricRegistry metrics) {
+    ConfigRegistry config = AppConfiguration.configRegistry();
+    return PublicKeyCache.builder()
+        .ttl(Duration.ofMillis(config.longValue("publickey.cache.ttl", 60_000)))
+        .maxSize(config.intValue("publickey.cache.maxSize", 10_000))
+        .metricRegistry(metrics)
+        .build();
   }
 
   private static AsyncBucket newAsyncBucket(
       CouchbaseSettings settings, CouchbaseCluster couchbaseCluster) {
     return couchbaseCluster
         .authenticate(settings.username(), settings.password())
-        .openBucket(settings.organizationsBucketName())
+        .openBucket(
+            settings.organizationsBucketName(), CouchbaseOrganizationsRepository.transcoders())
         .async();
   }
 
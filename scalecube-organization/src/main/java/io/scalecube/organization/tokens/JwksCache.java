@@ -0,0 +1,350 @@
+package io.scalecube.organization.tokens;
+
+import static java.util.Objects.requireNonNull;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+
+/**
+ * Bounded, thread-safe cache of JSON web keys, keyed by token issuer and key id.
+ *
+ * <p>Entries live for <code>ttl</code>. Once an entry is older than <code>refreshAhead</code> it is
+ * still served while a single background reload replaces it, so callers are not blocked by key
+ * rotation checks. Concurrent misses on the same (issuer, kid) pair share a single load. Key ids
+ * unknown to the issuer are cached as negative entries for <code>negativeTtl</code>, so a burst of
+ * tokens with an unknown kid does not result in a fetch per token.
+ */
+public final class JwksCache {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(JwksCache.class);
+
+  private final Map<CacheKey, CompletableFuture<CacheEntry>> entries = new ConcurrentHashMap<>();
+
+  private final KeyLoader loader;
+  private final long ttlNanos;
+  private final long refreshAheadNanos;
+  private final long negativeTtlNanos;
+  private final int maxSize;
+  private final LongSupplier clock;
+
+  private final Meter hits;
+  private final Meter misses;
+  private final Meter negativeHits;
+  private final Meter evictions;
+  private final Meter loadFailures;
+  private final Timer loads;
+
+  private JwksCache(Builder builder) {
+    this.loader = requireNonNull(builder.loader, "key loader cannot be null");
+    this.ttlNanos = builder.ttl.toNanos();
+    this.refreshAheadNanos = builder.refreshAhead.toNanos();
+    this.negativeTtlNanos = builder.negativeTtl.toNanos();
+    this.maxSize = builder.maxSize;
+    this.clock = builder.clock;
+
+    MetricRegistry registry =
+        builder.metricRegistry != null ? builder.metricRegistry : new MetricRegistry();
+    this.hits = registry.meter(MetricRegistry.name(JwksCache.class, "hits"));
+    this.misses = registry.meter(MetricRegistry.name(JwksCache.class, "misses"));
+    this.negativeHits = registry.meter(MetricRegistry.name(JwksCache.class, "negative-hits"));
+    this.evictions = registry.meter(MetricRegistry.name(JwksCache.class, "evictions"));
+    this.loadFailures = registry.meter(MetricRegistry.name(JwksCache.class, "load-failures"));
+    this.loads = registry.timer(MetricRegistry.name(JwksCache.class, "loads"));
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Returns the public key identified by <code>kid</code> from the <code>issuer</code> key set.
+   *
+   * @param issuer token issuer.
+   * @param kid key id.
+   * @return public key, or error {@link InvalidTokenException} in case the issuer has no key with
+   *     such id or the key set could not be loaded.
+   */
+  public Mono<PublicKey> get(String issuer, String kid) {
+    return Mono.defer(
+        () -> {
+          CacheKey key = new CacheKey(issuer, kid);
+
+          CompletableFuture<CacheEntry> future = entries.get(key);
+          if (future != null && future.isDone() && !future.isCompletedExceptionally()) {
+            CacheEntry entry = future.join();
+            long now = clock.getAsLong();
+            if (!entry.isExpired(now)) {
+              if (entry.publicKey == null) {
+                negativeHits.mark();
+                return Mono.error(unknownKey(kid));
+              }
+              hits.mark();
+              if (entry.shouldRefresh(now)) {
+                refresh(key, future, entry);
+              }
+              return Mono.just(entry.publicKey);
+            }
+            entries.remove(key, future);
+          }
+
+          misses.mark();
+          return Mono.fromFuture(loadOnce(key))
+              .onErrorMap(
+                  th -> !(th instanceof InvalidTokenException),
+                  th -> new InvalidTokenException("Failed to get public key of " + key, th))
+              .flatMap(
+                  entry ->
+                      entry.publicKey != null
+                          ? Mono.just(entry.publicKey)
+                          : Mono.error(unknownKey(kid)));
+        });
+  }
+
+  /**
+   * Returns the number of cached entries, including negative ones.
+   *
+   * @return cache size.
+   */
+  public int size() {
+    return entries.size();
+  }
+
+  private CompletableFuture<CacheEntry> loadOnce(CacheKey key) {
+    while (true) {
+      CompletableFuture<CacheEntry> current = entries.get(key);
+      if (current != null && !isStale(current)) {
+        return current;
+      }
+
+      CompletableFuture<CacheEntry> future = new CompletableFuture<>();
+      boolean owner =
+          current == null
+              ? entries.putIfAbsent(key, future) == null
+              : entries.replace(key, current, future);
+      if (owner) {
+        evictIfNeeded();
+        fetch(key)
+            .subscribe(
+                future::complete,
+                th -> {
+                  entries.remove(key, future);
+                  future.completeExceptionally(th);
+                });
+        return future;
+      }
+    }
+  }
+
+  private boolean isStale(CompletableFuture<CacheEntry> future) {
+    return future.isDone()
+        && (future.isCompletedExceptionally() || future.join().isExpired(clock.getAsLong()));
+  }
+
+  private Mono<CacheEntry> fetch(CacheKey key) {
+    return Mono.defer(
+        () -> {
+          Timer.Context time = loads.time();
+          return loader
+              .load(key.issuer, key.kid)
+              .defaultIfEmpty(Optional.empty())
+              .map(this::toEntry)
+              .doOnError(th -> loadFailures.mark())
+              .doFinally(signal -> time.stop());
+        });
+  }
+
+  private CacheEntry toEntry(Optional<PublicKey> publicKey) {
+    long now = clock.getAsLong();
+    return publicKey
+        .map(value -> new CacheEntry(value, now, now + ttlNanos, now + refreshAheadNanos))
+        .orElseGet(() -> new CacheEntry(null, now, now + negativeTtlNanos, Long.MAX_VALUE));
+  }
+
+  private void refresh(CacheKey key, CompletableFuture<CacheEntry> current, CacheEntry entry) {
+    if (!entry.refreshing.compareAndSet(false, true)) {
+      return;
+    }
+    fetch(key)
+        .subscribe(
+            refreshed ->
+                entries.replace(key, current, CompletableFuture.completedFuture(refreshed)),
+            th -> {
+              // keep serving the current key until it expires, next hit retries the refresh
+              entry.refreshing.set(false);
+              LOGGER.warn("Failed to refresh public key of {}: {}", key, th.toString());
+            });
+  }
+
+  private void evictIfNeeded() {
+    if (entries.size() <= maxSize) {
+      return;
+    }
+    long now = clock.getAsLong();
+    entries.forEach(
+        (key, future) -> {
+          if (isStale(future) && entries.remove(key, future)) {
+            evictions.mark();
+          }
+        });
+    while (entries.size() > maxSize) {
+      Optional<Map.Entry<CacheKey, CompletableFuture<CacheEntry>>> eldest =
+          entries.entrySet().stream()
+              .filter(e -> e.getValue().isDone())
+              .min(Comparator.comparingLong(e -> e.getValue().join().loadedAt - now));
+      if (!eldest.isPresent()) {
+        return;
+      }
+      if (entries.remove(eldest.get().getKey(), eldest.get().getValue())) {
+        evictions.mark();
+      }
+    }
+  }
+
+  private static InvalidTokenException unknownKey(String kid) {
+    return new InvalidTokenException(
+        String.format("Failed to get public key from JWK provider using kid=%s", kid));
+  }
+
+  /** Loads a public key from the issuer key set. */
+  @FunctionalInterface
+  public interface KeyLoader {
+
+    /**
+     * Loads the public key.
+     *
+     * @param issuer token issuer.
+     * @param kid key id.
+     * @return public key, or empty optional if the issuer has no key with such id.
+     */
+    Mono<Optional<PublicKey>> load(String issuer, String kid);
+  }
+
+  private static final class CacheKey {
+    private final String issuer;
+    private final String kid;
+
+    private CacheKey(String issuer, String kid) {
+      this.issuer = requireNonNull(issuer, "issuer");
+      this.kid = requireNonNull(kid, "kid");
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      CacheKey that = (CacheKey) o;
+      return issuer.equals(that.issuer) && kid.equals(that.kid);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(issuer, kid);
+    }
+
+    @Override
+    public String toString() {
+      return "{issuer=" + issuer + ", kid=" + kid + "}";
+    }
+  }
+
+  private static final class CacheEntry {
+    private final PublicKey publicKey;
+    private final long loadedAt;
+    private final long expiresAt;
+    private final long refreshAt;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    private CacheEntry(PublicKey publicKey, long loadedAt, long expiresAt, long refreshAt) {
+      this.publicKey = publicKey;
+      this.loadedAt = loadedAt;
+      this.expiresAt = expiresAt;
+      this.refreshAt = refreshAt;
+    }
+
+    private boolean isExpired(long now) {
+      return now - expiresAt >= 0;
+    }
+
+    private boolean shouldRefresh(long now) {
+      return now - refreshAt >= 0;
+    }
+  }
+
+  public static class Builder {
+    private KeyLoader loader;
+    private Duration ttl = Duration.ofHours(1);
+    private Duration refreshAhead = Duration.ofMinutes(50);
+    private Duration negativeTtl = Duration.ofMinutes(1);
+    private int maxSize = 1000;
+    private MetricRegistry metricRegistry;
+    private LongSupplier clock = System::nanoTime;
+
+    public Builder loader(KeyLoader loader) {
+      this.loader = loader;
+      return this;
+    }
+
+    public Builder ttl(Duration ttl) {
+      this.ttl = requireNonNull(ttl, "ttl");
+      return this;
+    }
+
+    public Builder refreshAhead(Duration refreshAhead) {
+      this.refreshAhead = requireNonNull(refreshAhead, "refreshAhead");
+      return this;
+    }
+
+    public Builder negativeTtl(Duration negativeTtl) {
+      this.negativeTtl = requireNonNull(negativeTtl, "negativeTtl");
+      return this;
+    }
+
+    public Builder maxSize(int maxSize) {
+      this.maxSize = maxSize;
+      return this;
+    }
+
+    public Builder metricRegistry(MetricRegistry metricRegistry) {
+      this.metricRegistry = metricRegistry;
+      return this;
+    }
+
+    Builder clock(LongSupplier clock) {
+      this.clock = requireNonNull(clock, "clock");
+      return this;
+    }
+
+    /**
+     * Builds the cache.
+     *
+     * @return JWKS cache.
+     */
+    public JwksCache build() {
+      if (maxSize <= 0) {
+        throw new IllegalArgumentException("maxSize must be positive");
+      }
+      if (refreshAhead.compareTo(ttl) > 0) {
+        throw new IllegalArgumentException("refreshAhead cannot exceed ttl");
+      }
+      return new JwksCache(this);
+    }
+  }
+}
@@ -0,0 +1,204 @@
+package io.scalecube.organization.tokens;
+
+import static java.util.Objects.requireNonNull;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.channel.ChannelOption;
+import io.netty.handler.timeout.ReadTimeoutHandler;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.net.URI;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.util.function.Tuples;
+
+/**
+ * Non-blocking JSON web key set client.
+ *
+ * <p>The key set is fetched from the <code>/.well-known/jwks.json</code> path of the token issuer
+ * over a pooled reactor-netty {@link HttpClient}, so connections to the issuer are reused. Every
+ * request is bounded by connect, read and overall response timeouts. Connection failures, timeouts
+ * and server errors are retried with jittered exponential backoff.
+ */
+public final class JwksClient {
+
+  private static final String WELL_KNOWN_JWKS_PATH = "/.well-known/jwks.json";
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+  private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+  private final HttpClient httpClient;
+  private final Duration responseTimeout;
+  private final int retries;
+  private final Duration firstBackoff;
+  private final Duration maxBackoff;
+
+  private JwksClient(Builder builder) {
+    this.responseTimeout = builder.responseTimeout;
+    this.retries = builder.retries;
+    this.firstBackoff = builder.firstBackoff;
+    this.maxBackoff = builder.maxBackoff;
+
+    int connectTimeoutMillis = (int) builder.connectTimeout.toMillis();
+    long readTimeoutMillis = builder.readTimeout.toMillis();
+    this.httpClient =
+        HttpClient.create(ConnectionProvider.fixed("jwks", builder.maxConnections))
+            .keepAlive(true)
+            .followRedirect(true)
+            .tcpConfiguration(
+                tcpClient ->
+                    tcpClient
+                        .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMillis)
+                        .doOnConnected(
+                            connection ->
+                                connection.addHandlerLast(
+                                    new ReadTimeoutHandler(
+                                        readTimeoutMillis, TimeUnit.MILLISECONDS))));
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Fetches the <code>issuer</code> key set and returns the key identified by <code>kid</code>.
+   *
+   * @param issuer token issuer.
+   * @param kid key id.
+   * @return public key, or empty optional if the key set has no key with such id.
+   */
+  public Mono<Optional<PublicKey>> getPublicKey(String issuer, String kid) {
+    return Mono.fromCallable(() -> jwksUri(issuer))
+        .flatMap(this::fetch)
+        .map(jwks -> findKey(jwks, kid));
+  }
+
+  private Mono<JsonNode> fetch(URI uri) {
+    return httpClient
+        .get()
+        .uri(uri.toString())
+        .responseSingle(
+            (response, body) -> {
+              int status = response.status().code();
+              if (status >= 500) {
+                return Mono.error(new JwksUnavailableException(uri + " responded " + status));
+              }
+              return body.asByteArray()
+                  .defaultIfEmpty(new byte[0])
+                  .map(bytes -> Tuples.of(status, bytes));
+            })
+        .timeout(responseTimeout)
+        // only connection failures, timeouts and server errors get here as errors
+        .retryBackoff(retries, firstBackoff, maxBackoff)
+        .onErrorMap(th -> new InvalidTokenException("Failed to get JWKS from " + uri, th))
+        .flatMap(
+            response -> {
+              if (response.getT1() != 200) {
+                return Mono.error(
+                    new InvalidTokenException(
+                        "Failed to get JWKS from " + uri + ", status: " + response.getT1()));
+              }
+              return Mono.fromCallable(() -> MAPPER.readTree(response.getT2()))
+                  .onErrorMap(
+                      th -> new InvalidTokenException("Failed to parse JWKS from " + uri, th));
+            });
+  }
+
+  private static URI jwksUri(String issuer) {
+    requireNonNull(issuer, "issuer");
+    String domain = issuer.startsWith("http") ? issuer : "https://" + issuer;
+    return URI.create(domain).resolve(WELL_KNOWN_JWKS_PATH);
+  }
+
+  private static Optional<PublicKey> findKey(JsonNode jwks, String kid) {
+    for (JsonNode jwk : jwks.path("keys")) {
+      if (kid.equals(jwk.path("kid").asText(null))) {
+        return Optional.of(toPublicKey(jwk));
+      }
+    }
+    return Optional.empty();
+  }
+
+  private static PublicKey toPublicKey(JsonNode jwk) {
+    String type = jwk.path("kty").asText();
+    try {
+      if ("RSA".equals(type)) {
+        BigInteger modulus = new BigInteger(1, DECODER.decode(jwk.path("n").asText()));
+        BigInteger exponent = new BigInteger(1, DECODER.decode(jwk.path("e").asText()));
+        return KeyFactory.getInstance("RSA")
+            .generatePublic(new RSAPublicKeySpec(modulus, exponent));
+      }
+    } catch (GeneralSecurityException | IllegalArgumentException ex) {
+      throw new InvalidTokenException("Failed to get public key.", ex);
+    }
+    throw new InvalidTokenException("Unsupported JWK key type: " + type);
+  }
+
+  /** Issuer failed to serve the key set, the request may succeed if retried. */
+  private static final class JwksUnavailableException extends IOException {
+
+    private JwksUnavailableException(String message) {
+      super(message);
+    }
+  }
+
+  public static class Builder {
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    private Duration readTimeout = Duration.ofSeconds(3);
+    private Duration responseTimeout = Duration.ofSeconds(5);
+    private int retries = 2;
+    private Duration firstBackoff = Duration.ofMillis(100);
+    private Duration maxBackoff = Duration.ofSeconds(1);
+    private int maxConnections = 16;
+
+    public Builder connectTimeout(Duration connectTimeout) {
+      this.connectTimeout = requireNonNull(connectTimeout, "connectTimeout");
+      return this;
+    }
+
+    public Builder readTimeout(Duration readTimeout) {
+      this.readTimeout = requireNonNull(readTimeout, "readTimeout");
+      return this;
+    }
+
+    public Builder responseTimeout(Duration responseTimeout) {
+      this.responseTimeout = requireNonNull(responseTimeout, "responseTimeout");
+      return this;
+    }
+
+    /**
+     * Sets retry policy, retries are spread with jittered exponential backoff between <code>
+     * firstBackoff</code> and <code>maxBackoff</code>.
+     *
+     * @param retries number of retries, 0 disables retry.
+     * @param firstBackoff first retry backoff.
+     * @param maxBackoff max retry backoff.
+     * @return this builder.
+     */
+    public Builder retry(int retries, Duration firstBackoff, Duration maxBackoff) {
+      this.retries = retries;
+      this.firstBackoff = requireNonNull(firstBackoff, "firstBackoff");
+      this.maxBackoff = requireNonNull(maxBackoff, "maxBackoff");
+      return this;
+    }
+
+    public Builder maxConnections(int maxConnections) {
+      this.maxConnections = maxConnections;
+      return this;
+    }
+
+    public JwksClient build() {
+      return new JwksClient(this);
+    }
+  }
+}
@@ -0,0 +1,117 @@
+package io.scalecube.organization.tokens;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.ECKey;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Arrays;
+
+/**
+ * Supported API key pair algorithms.
+ *
+ * <p>RSA keys sign tokens with RS256. EC keys sign tokens with ES256, ES384 or ES512 depending on
+ * the curve, P-256 being the default. EC key generation is orders of magnitude cheaper than RSA and
+ * the signatures are much shorter.
+ */
+public enum KeyAlgorithm {
+  RSA(2048),
+  EC(256);
+
+  private final int defaultKeySize;
+
+  KeyAlgorithm(int defaultKeySize) {
+    this.defaultKeySize = defaultKeySize;
+  }
+
+  /**
+   * Returns the algorithm of the given name, case insensitive.
+   *
+   * @param name algorithm name, <code>RSA</code> or <code>EC</code>.
+   * @return key algorithm.
+   * @throws IllegalArgumentException in case the algorithm is not supported.
+   */
+  public static KeyAlgorithm of(String name) {
+    for (KeyAlgorithm algorithm : values()) {
+      if (algorithm.name().equalsIgnoreCase(name)) {
+        return algorithm;
+      }
+    }
+    throw new IllegalArgumentException(
+        "Unsupported key algorithm: " + name + ", supported: " + Arrays.toString(values()));
+  }
+
+  /**
+   * Returns the algorithm of the given key.
+   *
+   * @param key public or private key.
+   * @return key algorithm.
+   * @throws IllegalArgumentException in case the algorithm is not supported.
+   */
+  public static KeyAlgorithm of(Key key) {
+    return of(key.getAlgorithm());
+  }
+
+  /**
+   * Returns the JWS algorithm to sign tokens with the given private key.
+   *
+   * @param signingKey private key.
+   * @return JWS signature algorithm.
+   */
+  public static SignatureAlgorithm signatureAlgorithm(Key signingKey) {
+    if (of(signingKey) == RSA) {
+      return SignatureAlgorithm.RS256;
+    }
+    int fieldSize = ((ECKey) signingKey).getParams().getCurve().getField().getFieldSize();
+    switch (fieldSize) {
+      case 256:
+        return SignatureAlgorithm.ES256;
+      case 384:
+        return SignatureAlgorithm.ES384;
+      case 521:
+        return SignatureAlgorithm.ES512;
+      default:
+        throw new IllegalArgumentException("Unsupported EC key size: " + fieldSize);
+    }
+  }
+
+  public int defaultKeySize() {
+    return defaultKeySize;
+  }
+
+  /**
+   * Creates a key pair generator for the given key size, a curve size for EC keys.
+   *
+   * @param keySize key size, 0 for the default key size.
+   * @return initialized key pair generator.
+   * @throws IllegalArgumentException in case the key size is not supported.
+   */
+  public KeyPairGenerator newKeyPairGenerator(int keySize) {
+    int size = keySize > 0 ? keySize : defaultKeySize;
+    try {
+      KeyPairGenerator generator = KeyPairGenerator.getInstance(name());
+      if (this == EC) {
+        generator.initialize(new ECGenParameterSpec(curve(size)));
+      } else {
+        generator.initialize(size);
+      }
+      return generator;
+    } catch (GeneralSecurityException ex) {
+      throw new IllegalArgumentException("Failed to create " + name() + " key pair generator", ex);
+    }
+  }
+
+  private static String curve(int size) {
+    switch (size) {
+      case 256:
+        return "secp256r1";
+      case 384:
+        return "secp384r1";
+      case 521:
+        return "secp521r1";
+      default:
+        throw new IllegalArgumentException("Unsupported EC key size: " + size);
+    }
+  }
+}
@@ -0,0 +1,224 @@
+package io.scalecube.organization.tokens;
+
+import static java.util.Objects.requireNonNull;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded pool of pre-generated key pairs.
+ *
+ * <p>Key pair generation is slow and has a long tail, so it is done ahead of time by background
+ * workers. Once the pool depth drops below the low watermark, the workers fill it up to the high
+ * watermark. If the pool is empty, {@link #take()} generates the key pair on the calling thread.
+ * Each thread uses its own {@link KeyPairGenerator}.
+ */
+public final class KeyPairPool {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(KeyPairPool.class);
+
+  private final KeyAlgorithm algorithm;
+  private final int keySize;
+  private final int lowWatermark;
+  private final int highWatermark;
+  private final int workers;
+
+  private final BlockingQueue<KeyPair> pool;
+  private final ExecutorService executor;
+  private final AtomicBoolean refilling = new AtomicBoolean();
+  private final AtomicInteger activeWorkers = new AtomicInteger();
+  private final ThreadLocal<KeyPairGenerator> generators =
+      ThreadLocal.withInitial(this::newGenerator);
+
+  private final Timer waitTime;
+  private final Meter inlineGenerations;
+
+  private KeyPairPool(Builder builder) {
+    this.algorithm = builder.algorithm;
+    this.keySize = builder.keySize;
+    this.lowWatermark = builder.lowWatermark;
+    this.highWatermark = builder.highWatermark;
+    this.workers = builder.workers;
+    this.pool = new ArrayBlockingQueue<>(Math.max(1, highWatermark));
+
+    AtomicInteger threadCounter = new AtomicInteger();
+    this.executor =
+        Executors.newFixedThreadPool(
+            workers,
+            runnable -> {
+              String name = "keypair-pool-" + threadCounter.getAndIncrement();
+              Thread thread = new Thread(runnable, name);
+              thread.setDaemon(true);
+              thread.setPriority(Thread.MIN_PRIORITY);
+              return thread;
+            });
+
+    MetricRegistry registry =
+        builder.metricRegistry != null ? builder.metricRegistry : new MetricRegistry();
+    this.waitTime = registry.timer(MetricRegistry.name(KeyPairPool.class, "wait-time"));
+    this.inlineGenerations =
+        registry.meter(MetricRegistry.name(KeyPairPool.class, "inline-generations"));
+    registry.register(MetricRegistry.name(KeyPairPool.class, "depth"), (Gauge<Integer>) pool::size);
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Takes a key pair from the pool, or generates it on the calling thread if the pool is empty.
+   *
+   * @return key pair.
+   */
+  public KeyPair take() {
+    try (Timer.Context ignored = waitTime.time()) {
+      KeyPair keyPair = pool.poll();
+      if (keyPair == null) {
+        inlineGenerations.mark();
+        keyPair = generators.get().generateKeyPair();
+      }
+      return keyPair;
+    } finally {
+      refillIfNeeded();
+    }
+  }
+
+  /**
+   * Returns the number of pre-generated key pairs.
+   *
+   * @return pool depth.
+   */
+  public int depth() {
+    return pool.size();
+  }
+
+  /** Stops the background workers, key pairs are generated inline after that. */
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  private void refillIfNeeded() {
+    if (highWatermark == 0
+        || pool.size() >= Math.max(lowWatermark, 1)
+        || !refilling.compareAndSet(false, true)) {
+      return;
+    }
+    activeWorkers.set(workers);
+    try {
+      for (int i = 0; i < workers; i++) {
+        executor.execute(this::refill);
+      }
+    } catch (RejectedExecutionException ex) {
+      // shut down
+      refilling.set(false);
+    }
+  }
+
+  private void refill() {
+    boolean failed = false;
+    try {
+      while (pool.size() < highWatermark && !Thread.currentThread().isInterrupted()) {
+        if (!pool.offer(generators.get().generateKeyPair())) {
+          break;
+        }
+      }
+    } catch (Exception ex) {
+      LOGGER.warn("Failed to pre-generate {} key pair", algorithm, ex);
+      failed = true;
+    } finally {
+      if (activeWorkers.decrementAndGet() == 0) {
+        refilling.set(false);
+        if (!failed) {
+          // key pairs could have been taken after the workers saw a full pool
+          refillIfNeeded();
+        }
+      }
+    }
+  }
+
+  private KeyPairGenerator newGenerator() {
+    return algorithm.newKeyPairGenerator(keySize);
+  }
+
+  public static class Builder {
+    private KeyAlgorithm algorithm = KeyAlgorithm.RSA;
+    private int keySize;
+    private int lowWatermark = 16;
+    private int highWatermark = 64;
+    private int workers = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    private MetricRegistry metricRegistry;
+
+    public Builder algorithm(KeyAlgorithm algorithm) {
+      this.algorithm = requireNonNull(algorithm, "algorithm");
+      return this;
+    }
+
+    /**
+     * Sets key size, a curve size for EC keys. Defaults to the algorithm default key size.
+     *
+     * @param keySize key size.
+     * @return this builder.
+     */
+    public Builder keySize(int keySize) {
+      this.keySize = keySize;
+      return this;
+    }
+
+    /**
+     * Sets pool watermarks. Background workers start once the pool depth drops below <code>
+     * lowWatermark</code> and fill it up to <code>highWatermark</code>. A zero high watermark
+     * disables pre-generation.
+     *
+     * @param lowWatermark low watermark.
+     * @param highWatermark high watermark.
+     * @return this builder.
+     */
+    public Builder watermarks(int lowWatermark, int highWatermark) {
+      this.lowWatermark = lowWatermark;
+      this.highWatermark = highWatermark;
+      return this;
+    }
+
+    public Builder workers(int workers) {
+      this.workers = workers;
+      return this;
+    }
+
+    public Builder metricRegistry(MetricRegistry metricRegistry) {
+      this.metricRegistry = metricRegistry;
+      return this;
+    }
+
+    /**
+     * Builds the pool and starts filling it up to the high watermark.
+     *
+     * @return key pair pool.
+     */
+    public KeyPairPool build() {
+      if (lowWatermark < 0 || highWatermark < lowWatermark) {
+        throw new IllegalArgumentException("0 <= lowWatermark <= highWatermark is required");
+      }
+      if (workers <= 0) {
+        throw new IllegalArgumentException("workers must be positive");
+      }
+      // fail fast on unsupported key size
+      algorithm.newKeyPairGenerator(keySize);
+      KeyPairPool keyPairPool = new KeyPairPool(this);
+      keyPairPool.refillIfNeeded();
+      return keyPairPool;
+    }
+  }
+}
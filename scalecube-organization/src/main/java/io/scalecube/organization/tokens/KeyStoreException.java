@@ -5,4 +5,8 @@ public class KeyStoreException extends RuntimeException {
   public KeyStoreException(Exception ex) {
     super(null, ex);
   }
+
+  public KeyStoreException(String message) {
+    super(message);
+  }
 }
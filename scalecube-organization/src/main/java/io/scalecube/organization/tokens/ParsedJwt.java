@@ -0,0 +1,218 @@
+package io.scalecube.organization.tokens;
+
+import static java.util.Objects.requireNonNull;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Signed JSON web token (JWS compact serialization) which header and claims are decoded once.
+ *
+ * <p>The token is split by scanning for the two part separators, no regex or intermediate strings
+ * are involved. The signature is verified over the original token bytes, so the header and claims
+ * are never re-encoded. RS256, RS384, RS512, ES256, ES384 and ES512 signatures are supported.
+ */
+public final class ParsedJwt {
+
+  private static final String ALGORITHM_HEADER = "alg";
+  private static final String KEY_ID_HEADER = "kid";
+  private static final String ISSUER_CLAIM = "iss";
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+  private static final TypeReference<Map<String, Object>> MAP_TYPE =
+      new TypeReference<Map<String, Object>>() {};
+
+  private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+  private static final Map<String, ThreadLocal<Signature>> SIGNATURES = new HashMap<>();
+
+  static {
+    SIGNATURES.put("RS256", signature("SHA256withRSA"));
+    SIGNATURES.put("RS384", signature("SHA384withRSA"));
+    SIGNATURES.put("RS512", signature("SHA512withRSA"));
+    SIGNATURES.put("ES256", signature("SHA256withECDSA"));
+    SIGNATURES.put("ES384", signature("SHA384withECDSA"));
+    SIGNATURES.put("ES512", signature("SHA512withECDSA"));
+  }
+
+  private final String token;
+  private final byte[] bytes;
+  private final int claimsEnd;
+  private final Map<String, Object> header;
+  private final Map<String, Object> claims;
+
+  private ParsedJwt(String token, byte[] bytes, int headerEnd, int claimsEnd) {
+    this.token = token;
+    this.bytes = bytes;
+    this.claimsEnd = claimsEnd;
+    this.header = decode(0, headerEnd);
+    this.claims = decode(headerEnd + 1, claimsEnd);
+  }
+
+  /**
+   * Splits the token and decodes its header and claims, the signature is not verified.
+   *
+   * @param token signed token.
+   * @return parsed token.
+   * @throws InvalidTokenException in case the token is malformed.
+   */
+  public static ParsedJwt parse(String token) throws InvalidTokenException {
+    requireNonNull(token, "token");
+    int headerEnd = token.indexOf('.');
+    int claimsEnd = headerEnd < 0 ? -1 : token.indexOf('.', headerEnd + 1);
+    if (headerEnd <= 0 || claimsEnd < 0 || token.indexOf('.', claimsEnd + 1) >= 0) {
+      throw new InvalidTokenException("The token was expected to have 3 parts");
+    }
+    return new ParsedJwt(token, token.getBytes(StandardCharsets.US_ASCII), headerEnd, claimsEnd);
+  }
+
+  public String token() {
+    return token;
+  }
+
+  public Map<String, Object> header() {
+    return header;
+  }
+
+  public Map<String, Object> claims() {
+    return claims;
+  }
+
+  /**
+   * Returns the <code>kid</code> header value.
+   *
+   * @return key id.
+   * @throws InvalidTokenException in case the header has no key id.
+   */
+  public String keyId() throws InvalidTokenException {
+    Object kid = header.get(KEY_ID_HEADER);
+    if (kid == null || kid.toString().isEmpty()) {
+      throw new InvalidTokenException("Token header claim: 'kid' not found.");
+    }
+    return kid.toString();
+  }
+
+  public String issuer() {
+    Object issuer = claims.get(ISSUER_CLAIM);
+    return issuer != null ? issuer.toString() : null;
+  }
+
+  /**
+   * Verifies the token signature with the given public key.
+   *
+   * @param publicKey public key of the key used to sign the token.
+   * @throws InvalidTokenException in case the signature algorithm is not supported or the
+   *     signature does not match.
+   */
+  public void verifySignature(PublicKey publicKey) throws InvalidTokenException {
+    requireNonNull(publicKey, "Token signing key");
+    Object algorithm = header.get(ALGORITHM_HEADER);
+    ThreadLocal<Signature> signatureHolder = SIGNATURES.get(algorithm);
+    if (signatureHolder == null) {
+      throw new InvalidTokenException("Unsupported token signature algorithm: " + algorithm);
+    }
+
+    boolean verified;
+    try {
+      Signature signature = signatureHolder.get();
+      signature.initVerify(publicKey);
+      signature.update(bytes, 0, claimsEnd);
+      byte[] signatureBytes = decodeSignature();
+      if (algorithm.toString().startsWith("ES")) {
+        signatureBytes = ecdsaSignatureToDer(signatureBytes);
+      }
+      verified = signature.verify(signatureBytes);
+    } catch (GeneralSecurityException | IllegalArgumentException ex) {
+      throw new InvalidTokenException("Failed to verify token signature", ex);
+    }
+    if (!verified) {
+      throw new InvalidTokenException("Token signature does not match");
+    }
+  }
+
+  private byte[] decodeSignature() {
+    ByteBuffer signature =
+        DECODER.decode(ByteBuffer.wrap(bytes, claimsEnd + 1, bytes.length - claimsEnd - 1));
+    byte[] array = signature.array();
+    return signature.remaining() == array.length
+        ? array
+        : Arrays.copyOfRange(
+            array, signature.arrayOffset(), signature.arrayOffset() + signature.remaining());
+  }
+
+  /**
+   * Transcodes JWS ECDSA signature, which is R and S concatenated as fixed length unsigned
+   * integers, to the ASN.1 DER sequence expected by the JCA.
+   */
+  private static byte[] ecdsaSignatureToDer(byte[] signature) {
+    if (signature.length == 0 || signature.length % 2 != 0) {
+      throw new InvalidTokenException("Invalid ECDSA token signature length");
+    }
+    int half = signature.length / 2;
+    byte[] r = derInteger(signature, 0, half);
+    byte[] s = derInteger(signature, half, half);
+
+    int length = r.length + s.length;
+    int headerLength = length < 0x80 ? 2 : 3;
+    byte[] der = new byte[headerLength + length];
+    der[0] = 0x30;
+    if (length < 0x80) {
+      der[1] = (byte) length;
+    } else {
+      der[1] = (byte) 0x81;
+      der[2] = (byte) length;
+    }
+    System.arraycopy(r, 0, der, headerLength, r.length);
+    System.arraycopy(s, 0, der, headerLength + r.length, s.length);
+    return der;
+  }
+
+  private static byte[] derInteger(byte[] source, int offset, int length) {
+    int start = offset;
+    int end = offset + length;
+    while (start < end - 1 && source[start] == 0) {
+      start++;
+    }
+    // positive integer with the high bit set gets a leading zero
+    int padding = (source[start] & 0x80) != 0 ? 1 : 0;
+    int valueLength = end - start + padding;
+    byte[] integer = new byte[2 + valueLength];
+    integer[0] = 0x02;
+    integer[1] = (byte) valueLength;
+    System.arraycopy(source, start, integer, 2 + padding, end - start);
+    return integer;
+  }
+
+  private Map<String, Object> decode(int from, int to) {
+    try {
+      ByteBuffer json = DECODER.decode(ByteBuffer.wrap(bytes, from, to - from));
+      Map<String, Object> map =
+          MAPPER.readValue(json.array(), json.arrayOffset(), json.remaining(), MAP_TYPE);
+      return map != null ? Collections.unmodifiableMap(map) : Collections.emptyMap();
+    } catch (IOException | IllegalArgumentException ex) {
+      throw new InvalidTokenException("Failed to parse token", ex);
+    }
+  }
+
+  private static ThreadLocal<Signature> signature(String algorithm) {
+    return ThreadLocal.withInitial(
+        () -> {
+          try {
+            return Signature.getInstance(algorithm);
+          } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("No " + algorithm + " signature algorithm", ex);
+          }
+        });
+  }
+}
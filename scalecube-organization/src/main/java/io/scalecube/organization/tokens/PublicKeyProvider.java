@@ -1,6 +1,7 @@
 package io.scalecube.organization.tokens;
 
 import java.security.PublicKey;
+import reactor.core.publisher.Mono;
 
 /** Abstraction of public key source, used to verify token signature. */
 public interface PublicKeyProvider {
@@ -10,9 +11,21 @@ public interface PublicKeyProvider {
    *
    * @param token The signed token bearing information on the public key which was used to sign the
    *     token.
-   * @return A public key.
-   * @throws InvalidTokenException In case of exception throws while trying to extract the public
-   *     key from the token.
+   * @return A public key, or error {@link InvalidTokenException} in case of exception throws while
+   *     trying to extract the public key from the token.
    */
-  PublicKey getPublicKey(String token) throws InvalidTokenException;
+  Mono<PublicKey> getPublicKey(String token);
+
+  /**
+   * Returns a public key which used to sign the already parsed <code>token</code> argument.
+   * Implementations which resolve the key from the token header or claims should override this
+   * method to avoid parsing the token again.
+   *
+   * @param token The parsed signed token.
+   * @return A public key, or error {@link InvalidTokenException} in case of exception throws while
+   *     trying to extract the public key from the token.
+   */
+  default Mono<PublicKey> getPublicKey(ParsedJwt token) {
+    return getPublicKey(token.token());
+  }
 }
@@ -2,16 +2,36 @@ package io.scalecube.organization.tokens;
 
 import io.scalecube.account.api.Token;
 import io.scalecube.security.api.Profile;
-import io.scalecube.security.jwt.DefaultJwtAuthenticator;
+import java.util.Map;
 import java.util.Objects;
 import reactor.core.publisher.Mono;
 
+/**
+ * Token verifier which decodes the token header and claims once, resolves the signing key from the
+ * decoded token and verifies the signature over the original token bytes.
+ */
 public class TokenVerifierImpl implements TokenVerifier {
 
+  private static final String EXPIRATION_CLAIM = "exp";
+  private static final String NOT_BEFORE_CLAIM = "nbf";
+
   private final PublicKeyProvider publicKeyProvider;
+  private final VerifiedTokenCache cache;
 
   public TokenVerifierImpl(PublicKeyProvider publicKeyProvider) {
+    this(publicKeyProvider, null);
+  }
+
+  /**
+   * Creates token verifier which keeps profiles of verified tokens in the <code>cache</code>, so
+   * repeated calls with the same token skip the signature verification.
+   *
+   * @param publicKeyProvider token signing key provider.
+   * @param cache verified token cache, <code>null</code> disables caching.
+   */
+  public TokenVerifierImpl(PublicKeyProvider publicKeyProvider, VerifiedTokenCache cache) {
     this.publicKeyProvider = publicKeyProvider;
+    this.cache = cache;
   }
 
   @Override
@@ -21,10 +41,83 @@ public class TokenVerifierImpl implements TokenVerifier {
           Objects.requireNonNull(token, "token");
           Objects.requireNonNull(token.token(), "token");
         })
-        .then(Mono.fromCallable(() -> publicKeyProvider.getPublicKey(token.token())))
-        .doOnNext(publicKey -> Objects.requireNonNull(publicKey, "Token signing key"))
-        .map(publicKey -> new DefaultJwtAuthenticator(map -> Mono.just(publicKey)))
-        .flatMap(authenticator -> authenticator.authenticate(token.token()))
+        .then(Mono.defer(() -> cachedProfile(token.token())))
+        .switchIfEmpty(Mono.defer(() -> authenticate(token.token())))
         .onErrorMap(th -> new InvalidTokenException("Token verification failed", th));
   }
+
+  private Mono<Profile> cachedProfile(String token) {
+    return cache != null ? Mono.justOrEmpty(cache.get(token)) : Mono.empty();
+  }
+
+  private Mono<Profile> authenticate(String token) {
+    return Mono.fromCallable(
+        () -> {
+          ParsedJwt jwt = ParsedJwt.parse(token);
+          checkTimestamps(jwt.claims());
+          return jwt;
+        })
+        .flatMap(
+            jwt ->
+                publicKeyProvider
+                    .getPublicKey(jwt)
+                    .switchIfEmpty(Mono.error(new InvalidTokenException("Token signing key")))
+                    .map(
+                        publicKey -> {
+                          jwt.verifySignature(publicKey);
+                          return profileFromClaims(jwt.claims());
+                        }))
+        .doOnNext(
+            profile -> {
+              if (cache != null) {
+                cache.put(token, profile);
+              }
+            });
+  }
+
+  private static void checkTimestamps(Map<String, Object> claims) {
+    long now = System.currentTimeMillis();
+
+    Long expiration = timestampClaim(claims, EXPIRATION_CLAIM);
+    if (expiration != null && now >= expiration) {
+      throw new InvalidTokenException("Token has expired");
+    }
+
+    Long notBefore = timestampClaim(claims, NOT_BEFORE_CLAIM);
+    if (notBefore != null && now < notBefore) {
+      throw new InvalidTokenException("Token is not valid yet");
+    }
+  }
+
+  private static Long timestampClaim(Map<String, Object> claims, String name) {
+    Object value = claims.get(name);
+    if (value == null) {
+      return null;
+    }
+    if (!(value instanceof Number)) {
+      throw new InvalidTokenException("Token claim: '" + name + "' is not a number");
+    }
+    return ((Number) value).longValue() * 1000;
+  }
+
+  private static Profile profileFromClaims(Map<String, Object> claims) {
+    return Profile.builder()
+        .userId(stringClaim(claims, "sub"))
+        .tenant(stringClaim(claims, "aud"))
+        .email(stringClaim(claims, "email"))
+        .emailVerified(Boolean.TRUE.equals(claims.get("email_verified")))
+        .name(stringClaim(claims, "name"))
+        .familyName(stringClaim(claims, "family_name"))
+        .givenName(stringClaim(claims, "given_name"))
+        .claims(claims)
+        .build();
+  }
+
+  private static String stringClaim(Map<String, Object> claims, String name) {
+    Object value = claims.get(name);
+    if (value != null && !(value instanceof String)) {
+      throw new InvalidTokenException("Token claim: '" + name + "' is not a string");
+    }
+    return (String) value;
+  }
 }
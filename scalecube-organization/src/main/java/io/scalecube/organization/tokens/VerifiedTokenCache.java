@@ -0,0 +1,225 @@
+package io.scalecube.organization.tokens;
+
+import static java.util.Objects.requireNonNull;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.RatioGauge;
+import io.scalecube.security.api.Profile;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded cache of verified token profiles, keyed by the SHA-256 digest of the token.
+ *
+ * <p>An entry expires at the token <code>exp</code> claim or after <code>maxTtl</code>, whichever
+ * is earlier. Reads are a single lookup in a {@link ConcurrentHashMap} and take no locks. The raw
+ * token is never kept, only its digest.
+ */
+public final class VerifiedTokenCache {
+
+  private static final String DIGEST_ALGORITHM = "SHA-256";
+  private static final String EXPIRATION_CLAIM = "exp";
+
+  private static final ThreadLocal<MessageDigest> digestHolder =
+      ThreadLocal.withInitial(VerifiedTokenCache::getDigest);
+
+  private final Map<ByteBuffer, CacheEntry> entries = new ConcurrentHashMap<>();
+
+  private final long maxTtlMillis;
+  private final int maxSize;
+  private final int evictionBatch;
+  private final LongSupplier clock;
+
+  private final Meter hits;
+  private final Meter misses;
+
+  private VerifiedTokenCache(Builder builder) {
+    this.maxTtlMillis = builder.maxTtl.toMillis();
+    this.maxSize = builder.maxSize;
+    this.evictionBatch = Math.max(1, builder.maxSize / 10);
+    this.clock = builder.clock;
+
+    MetricRegistry registry =
+        builder.metricRegistry != null ? builder.metricRegistry : new MetricRegistry();
+    this.hits = registry.meter(MetricRegistry.name(VerifiedTokenCache.class, "hits"));
+    this.misses = registry.meter(MetricRegistry.name(VerifiedTokenCache.class, "misses"));
+    registerHitRatio(registry, MetricRegistry.name(VerifiedTokenCache.class, "hit-ratio"));
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Returns the cached profile of the token, or <code>null</code> if the token was not verified
+   * yet or its entry has expired.
+   *
+   * @param token the token.
+   * @return cached profile or <code>null</code>.
+   */
+  public Profile get(String token) {
+    ByteBuffer key = digest(token);
+    CacheEntry entry = entries.get(key);
+    if (entry != null) {
+      if (clock.getAsLong() < entry.expiresAt) {
+        hits.mark();
+        return entry.profile;
+      }
+      entries.remove(key, entry);
+    }
+    misses.mark();
+    return null;
+  }
+
+  /**
+   * Caches the profile of a verified token.
+   *
+   * @param token the verified token.
+   * @param profile profile extracted from the token.
+   */
+  public void put(String token, Profile profile) {
+    long now = clock.getAsLong();
+    long expiresAt = now + maxTtlMillis;
+    Long exp = expiration(profile);
+    if (exp != null) {
+      expiresAt = Math.min(expiresAt, exp);
+    }
+    if (expiresAt <= now) {
+      return;
+    }
+    if (entries.size() >= maxSize) {
+      evict(now);
+    }
+    entries.put(digest(token), new CacheEntry(profile, expiresAt));
+  }
+
+  /**
+   * Returns the number of cached entries.
+   *
+   * @return cache size.
+   */
+  public int size() {
+    return entries.size();
+  }
+
+  /**
+   * Drops the expired entries, and live ones too until a tenth of the cache is free, so that the
+   * entries are scanned once per that many puts rather than on every put to a full cache.
+   */
+  private void evict(long now) {
+    entries.values().removeIf(entry -> entry.expiresAt <= now);
+    Iterator<ByteBuffer> iterator = entries.keySet().iterator();
+    while (entries.size() > maxSize - evictionBatch && iterator.hasNext()) {
+      iterator.next();
+      iterator.remove();
+    }
+  }
+
+  /**
+   * Registers the hit ratio gauge, unless a cache sharing the registry has registered it already.
+   * The gauge reads the hits and misses meters of the registry, which such caches share too.
+   */
+  private void registerHitRatio(MetricRegistry registry, String name) {
+    if (registry.getGauges().containsKey(name)) {
+      return;
+    }
+    try {
+      registry.register(
+          name,
+          new RatioGauge() {
+            @Override
+            protected Ratio getRatio() {
+              return Ratio.of(
+                  hits.getOneMinuteRate(), hits.getOneMinuteRate() + misses.getOneMinuteRate());
+            }
+          });
+    } catch (IllegalArgumentException ex) {
+      // registered concurrently
+    }
+  }
+
+  private static Long expiration(Profile profile) {
+    Map<String, Object> claims = profile.claims();
+    Object exp = claims != null ? claims.get(EXPIRATION_CLAIM) : null;
+    if (exp instanceof Number) {
+      return ((Number) exp).longValue() * 1000;
+    }
+    if (exp instanceof Date) {
+      return ((Date) exp).getTime();
+    }
+    return null;
+  }
+
+  private static ByteBuffer digest(String token) {
+    requireNonNull(token, "token");
+    MessageDigest digest = digestHolder.get();
+    digest.reset();
+    return ByteBuffer.wrap(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  private static MessageDigest getDigest() {
+    try {
+      return MessageDigest.getInstance(DIGEST_ALGORITHM);
+    } catch (NoSuchAlgorithmException ex) {
+      throw new IllegalStateException("No " + DIGEST_ALGORITHM + " algorithm for token digest");
+    }
+  }
+
+  private static final class CacheEntry {
+    private final Profile profile;
+    private final long expiresAt;
+
+    private CacheEntry(Profile profile, long expiresAt) {
+      this.profile = profile;
+      this.expiresAt = expiresAt;
+    }
+  }
+
+  public static class Builder {
+    private Duration maxTtl = Duration.ofMinutes(5);
+    private int maxSize = 10_000;
+    private MetricRegistry metricRegistry;
+    private LongSupplier clock = System::currentTimeMillis;
+
+    public Builder maxTtl(Duration maxTtl) {
+      this.maxTtl = requireNonNull(maxTtl, "maxTtl");
+      return this;
+    }
+
+    public Builder maxSize(int maxSize) {
+      this.maxSize = maxSize;
+      return this;
+    }
+
+    public Builder metricRegistry(MetricRegistry metricRegistry) {
+      this.metricRegistry = metricRegistry;
+      return this;
+    }
+
+    Builder clock(LongSupplier clock) {
+      this.clock = requireNonNull(clock, "clock");
+      return this;
+    }
+
+    /**
+     * Builds the cache.
+     *
+     * @return verified token cache.
+     */
+    public VerifiedTokenCache build() {
+      if (maxSize <= 0) {
+        throw new IllegalArgumentException("maxSize must be positive");
+      }
+      return new VerifiedTokenCache(this);
+    }
+  }
+}
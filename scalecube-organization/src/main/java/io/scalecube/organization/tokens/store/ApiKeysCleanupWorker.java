@@ -0,0 +1,249 @@
+package io.scalecube.organization.tokens.store;
+
+import static java.util.Objects.requireNonNull;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import io.scalecube.organization.domain.ApiKeysCleanup;
+import io.scalecube.organization.repository.OrganizationsRepository;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Deletes the API key pairs of deleted organizations from the key store.
+ *
+ * <p>The cleanup is saved to the repository before the organization is deleted. Once the
+ * organization is deleted the key pairs are deleted in the background with bounded parallelism,
+ * and the cleanup is removed, or narrowed down to the key pairs which failed to be deleted.
+ * Started worker periodically sweeps the remaining cleanups, including those left by a service
+ * instance which stopped half way. A cleanup of an organization which still exists, because its
+ * deletion is in progress, is skipped, and the cleanup of a failed deletion is cancelled. Key store
+ * deletes are idempotent, so a key pair deleted twice by concurrent runs is not an issue.
+ */
+public final class ApiKeysCleanupWorker {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ApiKeysCleanupWorker.class);
+
+  private final OrganizationsRepository repository;
+  private final KeyStore keyStore;
+  private final int concurrency;
+  private final Duration sweepInterval;
+  private final Scheduler scheduler;
+
+  private final Meter deletedKeys;
+  private final Meter failedKeys;
+
+  private volatile Disposable sweeper;
+
+  private ApiKeysCleanupWorker(Builder builder) {
+    this.repository = builder.repository;
+    this.keyStore = builder.keyStore;
+    this.concurrency = builder.concurrency;
+    this.sweepInterval = builder.sweepInterval;
+    this.scheduler = builder.scheduler;
+
+    MetricRegistry registry =
+        builder.metricRegistry != null ? builder.metricRegistry : new MetricRegistry();
+    this.deletedKeys = registry.meter(MetricRegistry.name(ApiKeysCleanupWorker.class, "deleted"));
+    this.failedKeys = registry.meter(MetricRegistry.name(ApiKeysCleanupWorker.class, "failed"));
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Durably saves the cleanup. Must complete before the organization is deleted.
+   *
+   * @param cleanup API keys cleanup.
+   * @return completion signal.
+   */
+  public Mono<Void> schedule(ApiKeysCleanup cleanup) {
+    return cleanup.keyIds().isEmpty() ? Mono.empty() : repository.saveApiKeysCleanup(cleanup);
+  }
+
+  /**
+   * Removes the saved cleanup of an organization whose deletion failed. The cleanup is kept if the
+   * organization is gone nevertheless, as a failure such as a timeout may still have deleted it,
+   * and it is run by the next sweep then.
+   *
+   * @param cleanup API keys cleanup.
+   * @return completion signal.
+   */
+  public Mono<Void> cancel(ApiKeysCleanup cleanup) {
+    if (cleanup.keyIds().isEmpty()) {
+      return Mono.empty();
+    }
+    return repository
+        .existsById(cleanup.organizationId())
+        .flatMap(
+            exists ->
+                exists ? repository.deleteApiKeysCleanup(cleanup.organizationId()) : Mono.empty());
+  }
+
+  /**
+   * Runs the saved cleanup in the background, without waiting for its completion.
+   *
+   * @param cleanup API keys cleanup.
+   */
+  public void runAsync(ApiKeysCleanup cleanup) {
+    if (!cleanup.keyIds().isEmpty()) {
+      run(cleanup)
+          .subscribe(
+              null,
+              th -> LOGGER.warn("Failed to complete {}, will retry on next sweep", cleanup, th));
+    }
+  }
+
+  /**
+   * Deletes the key pairs of the cleanup, at most <code>concurrency</code> at a time. The cleanup
+   * is removed if every key pair is deleted, otherwise only the failed key pairs are kept. Nothing
+   * is deleted while the organization exists.
+   *
+   * @param cleanup API keys cleanup.
+   * @return completion signal.
+   */
+  public Mono<Void> run(ApiKeysCleanup cleanup) {
+    return repository
+        .existsById(cleanup.organizationId())
+        .flatMap(exists -> exists ? Mono.empty() : deleteKeys(cleanup));
+  }
+
+  /**
+   * Starts periodic sweeps of the saved cleanups.
+   *
+   * @return this worker.
+   */
+  public ApiKeysCleanupWorker start() {
+    if (sweeper == null) {
+      sweeper =
+          Flux.interval(sweepInterval, sweepInterval, scheduler)
+              .onBackpressureDrop()
+              .concatMap(tick -> sweep())
+              .subscribe();
+    }
+    return this;
+  }
+
+  /** Stops periodic sweeps, the running cleanups are not interrupted. */
+  public void stop() {
+    Disposable disposable = sweeper;
+    if (disposable != null) {
+      disposable.dispose();
+    }
+  }
+
+  /**
+   * Runs every saved cleanup one after another.
+   *
+   * @return completion signal, never an error.
+   */
+  public Mono<Void> sweep() {
+    return repository
+        .findApiKeysCleanups()
+        .concatMap(cleanup -> run(cleanup).onErrorResume(th -> logFailure(cleanup, th)))
+        .onErrorResume(th -> logFailure("sweep", th))
+        .then();
+  }
+
+  private Mono<Void> deleteKeys(ApiKeysCleanup cleanup) {
+    Set<String> failed = ConcurrentHashMap.newKeySet();
+    return Flux.fromIterable(cleanup.keyIds())
+        .flatMap(keyId -> delete(keyId, failed), concurrency)
+        .then(Mono.defer(() -> complete(cleanup, failed)));
+  }
+
+  private Mono<Void> delete(String keyId, Set<String> failed) {
+    return keyStore
+        .delete(keyId)
+        .doOnSuccess(ignored -> deletedKeys.mark())
+        .onErrorResume(
+            th -> {
+              failedKeys.mark();
+              failed.add(keyId);
+              LOGGER.warn("Failed to delete key pair {}", keyId, th);
+              return Mono.empty();
+            });
+  }
+
+  private Mono<Void> complete(ApiKeysCleanup cleanup, Set<String> failed) {
+    if (failed.isEmpty()) {
+      return repository.deleteApiKeysCleanup(cleanup.organizationId());
+    }
+    return repository.updateApiKeysCleanup(new ApiKeysCleanup(cleanup.organizationId(), failed));
+  }
+
+  private static <T> Mono<T> logFailure(Object subject, Throwable th) {
+    LOGGER.warn("Failed to complete API keys cleanup {}", subject, th);
+    return Mono.empty();
+  }
+
+  public static class Builder {
+    private OrganizationsRepository repository;
+    private KeyStore keyStore;
+    private int concurrency = 16;
+    private Duration sweepInterval = Duration.ofMinutes(1);
+    private Scheduler scheduler = Schedulers.parallel();
+    private MetricRegistry metricRegistry;
+
+    public Builder repository(OrganizationsRepository repository) {
+      this.repository = repository;
+      return this;
+    }
+
+    public Builder keyStore(KeyStore keyStore) {
+      this.keyStore = keyStore;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of key pairs deleted in parallel per cleanup.
+     *
+     * @param concurrency maximum number of parallel deletes.
+     * @return this builder.
+     */
+    public Builder concurrency(int concurrency) {
+      this.concurrency = concurrency;
+      return this;
+    }
+
+    public Builder sweepInterval(Duration sweepInterval) {
+      this.sweepInterval = sweepInterval;
+      return this;
+    }
+
+    public Builder scheduler(Scheduler scheduler) {
+      this.scheduler = scheduler;
+      return this;
+    }
+
+    public Builder metricRegistry(MetricRegistry metricRegistry) {
+      this.metricRegistry = metricRegistry;
+      return this;
+    }
+
+    /**
+     * Builds the worker, periodic sweeps are not started.
+     *
+     * @return API keys cleanup worker.
+     */
+    public ApiKeysCleanupWorker build() {
+      requireNonNull(repository, "repository");
+      requireNonNull(keyStore, "keyStore");
+      requireNonNull(sweepInterval, "sweepInterval");
+      requireNonNull(scheduler, "scheduler");
+      if (concurrency <= 0) {
+        throw new IllegalArgumentException("concurrency must be positive");
+      }
+      return new ApiKeysCleanupWorker(this);
+    }
+  }
+}
@@ -4,8 +4,12 @@ import io.scalecube.organization.tokens.KeyStoreException;
 import java.security.KeyPair;
 import java.security.PrivateKey;
 import java.security.PublicKey;
+import reactor.core.publisher.Mono;
 
-/** Represents an abstraction of key storage. */
+/**
+ * Represents an abstraction of key storage. Implementations must not block the subscribing
+ * thread.
+ */
 public interface KeyStore {
 
   /**
@@ -13,13 +17,14 @@ public interface KeyStore {
    *
    * @param alias key alias
    * @param keyPair the key pair to store
-   * @throws KeyStoreException in case of an error while saving the key
+   * @return completion signal, or {@link KeyStoreException} in case of an error while saving the
+   *     key
    */
-  void store(String alias, KeyPair keyPair);
+  Mono<Void> store(String alias, KeyPair keyPair);
 
-  PublicKey getPublicKey(String keyId);
+  Mono<PublicKey> getPublicKey(String keyId);
 
-  PrivateKey getPrivateKey(String keyId);
+  Mono<PrivateKey> getPrivateKey(String keyId);
 
-  void delete(String keyId);
+  Mono<Void> delete(String keyId);
 }
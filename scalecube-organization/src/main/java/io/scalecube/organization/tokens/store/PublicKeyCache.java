@@ -0,0 +1,210 @@
+package io.scalecube.organization.tokens.store;
+
+import static java.util.Objects.requireNonNull;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded in-process cache of decoded API key public keys, keyed by key id.
+ *
+ * <p>A public key never changes for its key id, it can only be deleted. {@link
+ * #invalidate(String)} drops the key on the node that deleted it, but other nodes learn of the
+ * delete only when their entry expires, so entries are kept for at most <code>ttl</code> after they
+ * were cached. The TTL bounds how long a deleted key is still accepted elsewhere. Entries are also
+ * dropped to keep the cache within <code>maxSize</code>. Cached {@link PublicKey} instances are
+ * immutable and are shared between callers.
+ *
+ * <p>A key read from the backing store is cached only if no key was invalidated while it was
+ * being read, so a concurrent delete can't be undone by a slow read.
+ */
+public final class PublicKeyCache {
+
+  private final Map<String, CacheEntry> entries = new ConcurrentHashMap<>();
+  private final AtomicLong invalidations = new AtomicLong();
+
+  private final long ttlMillis;
+  private final int maxSize;
+  private final LongSupplier clock;
+
+  private final Meter hits;
+  private final Meter misses;
+  private final Meter evictions;
+
+  private PublicKeyCache(Builder builder) {
+    this.ttlMillis = builder.ttl.toMillis();
+    this.maxSize = builder.maxSize;
+    this.clock = builder.clock;
+
+    MetricRegistry registry =
+        builder.metricRegistry != null ? builder.metricRegistry : new MetricRegistry();
+    this.hits = registry.meter(MetricRegistry.name(PublicKeyCache.class, "hits"));
+    this.misses = registry.meter(MetricRegistry.name(PublicKeyCache.class, "misses"));
+    this.evictions = registry.meter(MetricRegistry.name(PublicKeyCache.class, "evictions"));
+    registry.register(
+        MetricRegistry.name(PublicKeyCache.class, "size"), (Gauge<Integer>) entries::size);
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Returns the cached public key of the <code>keyId</code>.
+   *
+   * @param keyId key id.
+   * @return cached public key, or <code>null</code> if it is not cached or its entry has expired.
+   */
+  public PublicKey get(String keyId) {
+    CacheEntry entry = entries.get(keyId);
+    if (entry != null) {
+      if (clock.getAsLong() < entry.expiresAt) {
+        hits.mark();
+        return entry.publicKey;
+      }
+      entries.remove(keyId, entry);
+    }
+    misses.mark();
+    return null;
+  }
+
+  /**
+   * Returns a stamp to be passed to {@link #putIfValid(String, PublicKey, long)} once the key is
+   * read from the backing store.
+   *
+   * @return current invalidation stamp.
+   */
+  public long stamp() {
+    return invalidations.get();
+  }
+
+  /**
+   * Caches a public key that was just stored.
+   *
+   * @param keyId key id.
+   * @param publicKey public key.
+   */
+  public void put(String keyId, PublicKey publicKey) {
+    long now = clock.getAsLong();
+    if (entries.size() >= maxSize) {
+      evict(now);
+    }
+    entries.put(keyId, new CacheEntry(publicKey, now + ttlMillis));
+  }
+
+  /**
+   * Caches a public key read from the backing store, unless any key was invalidated since <code>
+   * stamp</code> was taken.
+   *
+   * @param keyId key id.
+   * @param publicKey public key.
+   * @param stamp stamp taken by {@link #stamp()} before the read.
+   */
+  public void putIfValid(String keyId, PublicKey publicKey, long stamp) {
+    long now = clock.getAsLong();
+    if (entries.size() >= maxSize) {
+      evict(now);
+    }
+    CacheEntry entry = new CacheEntry(publicKey, now + ttlMillis);
+    entries.putIfAbsent(keyId, entry);
+    if (invalidations.get() != stamp) {
+      entries.remove(keyId, entry);
+    }
+  }
+
+  /**
+   * Drops the public key of the <code>keyId</code>.
+   *
+   * @param keyId key id.
+   */
+  public void invalidate(String keyId) {
+    invalidations.incrementAndGet();
+    entries.remove(keyId);
+  }
+
+  /**
+   * Returns the number of cached entries.
+   *
+   * @return cache size.
+   */
+  public int size() {
+    return entries.size();
+  }
+
+  private void evict(long now) {
+    entries.values().removeIf(entry -> entry.expiresAt <= now);
+    Iterator<String> iterator = entries.keySet().iterator();
+    while (entries.size() >= maxSize && iterator.hasNext()) {
+      iterator.next();
+      iterator.remove();
+      evictions.mark();
+    }
+  }
+
+  private static final class CacheEntry {
+    private final PublicKey publicKey;
+    private final long expiresAt;
+
+    private CacheEntry(PublicKey publicKey, long expiresAt) {
+      this.publicKey = publicKey;
+      this.expiresAt = expiresAt;
+    }
+  }
+
+  public static class Builder {
+    private Duration ttl = Duration.ofMinutes(1);
+    private int maxSize = 10_000;
+    private MetricRegistry metricRegistry;
+    private LongSupplier clock = System::currentTimeMillis;
+
+    /**
+     * Sets how long a public key is cached, one minute by default. A key deleted on another node is
+     * still served by this node for at most that long.
+     *
+     * @param ttl time to live of the cached keys.
+     * @return this builder.
+     */
+    public Builder ttl(Duration ttl) {
+      this.ttl = requireNonNull(ttl, "ttl");
+      return this;
+    }
+
+    public Builder maxSize(int maxSize) {
+      this.maxSize = maxSize;
+      return this;
+    }
+
+    public Builder metricRegistry(MetricRegistry metricRegistry) {
+      this.metricRegistry = metricRegistry;
+      return this;
+    }
+
+    Builder clock(LongSupplier clock) {
+      this.clock = requireNonNull(clock, "clock");
+      return this;
+    }
+
+    /**
+     * Builds the cache.
+     *
+     * @return public key cache.
+     */
+    public PublicKeyCache build() {
+      if (maxSize <= 0) {
+        throw new IllegalArgumentException("maxSize must be positive");
+      }
+      if (ttl.isNegative() || ttl.isZero()) {
+        throw new IllegalArgumentException("ttl must be positive");
+      }
+      return new PublicKeyCache(this);
+    }
+  }
+}
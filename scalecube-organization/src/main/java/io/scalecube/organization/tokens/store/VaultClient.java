@@ -0,0 +1,291 @@
+package io.scalecube.organization.tokens.store;
+
+import static java.util.Objects.requireNonNull;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelOption;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.timeout.ReadTimeoutHandler;
+import io.scalecube.organization.tokens.KeyStoreException;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+
+/**
+ * Non-blocking client of the Vault key/value secrets engine, version 1 or 2.
+ *
+ * <p>Requests go over a pooled reactor-netty {@link HttpClient} and are bounded by connect, read
+ * and overall response timeouts. Connection failures, timeouts, server errors and rejected tokens
+ * are retried with jittered exponential backoff. The Vault token is resolved once, off the event
+ * loop, and is resolved again after Vault rejects it.
+ */
+public final class VaultClient {
+
+  private static final String TOKEN_HEADER = "X-Vault-Token";
+  private static final String DATA = "data";
+  private static final String METADATA = "metadata";
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+  private static final TypeReference<Map<String, String>> SECRETS_TYPE =
+      new TypeReference<Map<String, String>>() {};
+
+  private final String address;
+  private final Supplier<String> tokenSupplier;
+  private final int engineVersion;
+  private final HttpClient httpClient;
+  private final Duration responseTimeout;
+  private final int retries;
+  private final Duration firstBackoff;
+  private final Duration maxBackoff;
+
+  private final AtomicReference<Mono<String>> tokenHolder = new AtomicReference<>();
+
+  private VaultClient(Builder builder) {
+    this.address = builder.address;
+    this.tokenSupplier = builder.tokenSupplier;
+    this.engineVersion = builder.engineVersion;
+    this.responseTimeout = builder.responseTimeout;
+    this.retries = builder.retries;
+    this.firstBackoff = builder.firstBackoff;
+    this.maxBackoff = builder.maxBackoff;
+
+    int connectTimeoutMillis = (int) builder.connectTimeout.toMillis();
+    long readTimeoutMillis = builder.readTimeout.toMillis();
+    this.httpClient =
+        HttpClient.create(ConnectionProvider.fixed("vault", builder.maxConnections))
+            .keepAlive(true)
+            .tcpConfiguration(
+                tcpClient ->
+                    tcpClient
+                        .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMillis)
+                        .doOnConnected(
+                            connection ->
+                                connection.addHandlerLast(
+                                    new ReadTimeoutHandler(
+                                        readTimeoutMillis, TimeUnit.MILLISECONDS))));
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Reads the secrets stored at the <code>path</code>.
+   *
+   * @param path secrets path.
+   * @return secrets, or empty if there is nothing at the path.
+   */
+  public Mono<Map<String, String>> read(String path) {
+    return request(HttpMethod.GET, kvPath(path, DATA), null)
+        .flatMap(
+            response -> {
+              if (response.getT1() == 404) {
+                return Mono.empty();
+              }
+              return Mono.fromCallable(() -> readSecrets(response.getT2()));
+            });
+  }
+
+  /**
+   * Writes the <code>secrets</code> at the <code>path</code>.
+   *
+   * @param path secrets path.
+   * @param secrets secrets to store.
+   * @return completion signal.
+   */
+  public Mono<Void> write(String path, Map<String, String> secrets) {
+    Object content = engineVersion == 2 ? Collections.singletonMap(DATA, secrets) : secrets;
+    return Mono.fromCallable(() -> MAPPER.writeValueAsBytes(content))
+        .flatMap(body -> request(HttpMethod.POST, kvPath(path, DATA), body))
+        .then();
+  }
+
+  /**
+   * Deletes the secrets stored at the <code>path</code>, all versions of them with engine
+   * version 2.
+   *
+   * @param path secrets path.
+   * @return completion signal.
+   */
+  public Mono<Void> delete(String path) {
+    return request(HttpMethod.DELETE, kvPath(path, METADATA), null).then();
+  }
+
+  private Mono<Tuple2<Integer, byte[]>> request(HttpMethod method, String path, byte[] body) {
+    return Mono.defer(() -> send(method, path, body))
+        .timeout(responseTimeout)
+        // only connection failures, timeouts, server errors and rejected tokens get here as errors
+        .retryBackoff(retries, firstBackoff, maxBackoff)
+        .onErrorMap(
+            th -> !(th instanceof KeyStoreException),
+            th -> new KeyStoreException(new IOException(method + " " + path + " failed", th)))
+        .flatMap(
+            response -> {
+              int status = response.getT1();
+              // a missing secret is not an error for reads and idempotent deletes
+              if (status / 100 != 2 && !(status == 404 && method != HttpMethod.POST)) {
+                return Mono.error(
+                    new KeyStoreException(method + " " + path + " responded " + status));
+              }
+              return Mono.just(response);
+            });
+  }
+
+  private Mono<Tuple2<Integer, byte[]>> send(HttpMethod method, String path, byte[] body) {
+    if (address == null) {
+      return Mono.error(new KeyStoreException("Vault address is not configured"));
+    }
+    Mono<String> token = token();
+    return token
+        .doOnError(th -> tokenHolder.compareAndSet(token, null))
+        .flatMap(value -> send(method, path, body, value, token));
+  }
+
+  private Mono<Tuple2<Integer, byte[]>> send(
+      HttpMethod method, String path, byte[] body, String tokenValue, Mono<String> token) {
+    return httpClient
+        .headers(headers -> headers.set(TOKEN_HEADER, tokenValue))
+        .request(method)
+        .uri(address + "/v1/" + path)
+        .send(body != null ? Mono.just(Unpooled.wrappedBuffer(body)) : Mono.empty())
+        .responseSingle(
+            (response, content) -> {
+              int status = response.status().code();
+              if (status == 403) {
+                // token has expired or was revoked, log in again on retry
+                tokenHolder.compareAndSet(token, null);
+              }
+              if (status >= 500 || status == 403) {
+                return Mono.error(new VaultUnavailableException(path + " responded " + status));
+              }
+              return content
+                  .asByteArray()
+                  .defaultIfEmpty(new byte[0])
+                  .map(bytes -> Tuples.of(status, bytes));
+            });
+  }
+
+  private Mono<String> token() {
+    Mono<String> token = tokenHolder.get();
+    if (token != null) {
+      return token;
+    }
+    return tokenHolder.updateAndGet(current -> current != null ? current : newToken());
+  }
+
+  private Mono<String> newToken() {
+    return Mono.fromCallable(this::login).subscribeOn(Schedulers.elastic()).cache();
+  }
+
+  private String login() {
+    return requireNonNull(tokenSupplier, "Vault token supplier is not configured").get();
+  }
+
+  private String kvPath(String path, String qualifier) {
+    if (engineVersion != 2) {
+      return path;
+    }
+    int mountEnd = path.indexOf('/');
+    if (mountEnd < 0) {
+      return path + "/" + qualifier;
+    }
+    return path.substring(0, mountEnd) + "/" + qualifier + path.substring(mountEnd);
+  }
+
+  private Map<String, String> readSecrets(byte[] bytes) throws IOException {
+    JsonNode data = MAPPER.readTree(bytes).path(DATA);
+    if (engineVersion == 2) {
+      data = data.path(DATA);
+    }
+    return MAPPER.convertValue(data, SECRETS_TYPE);
+  }
+
+  /** Vault failed to serve the request, the request may succeed if retried. */
+  private static final class VaultUnavailableException extends IOException {
+
+    private VaultUnavailableException(String message) {
+      super(message);
+    }
+  }
+
+  public static class Builder {
+    private String address;
+    private Supplier<String> tokenSupplier;
+    private int engineVersion = 1;
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    private Duration readTimeout = Duration.ofSeconds(3);
+    private Duration responseTimeout = Duration.ofSeconds(5);
+    private int retries = 5;
+    private Duration firstBackoff = Duration.ofMillis(100);
+    private Duration maxBackoff = Duration.ofSeconds(1);
+    private int maxConnections = 16;
+
+    public Builder address(String address) {
+      this.address = address;
+      return this;
+    }
+
+    public Builder tokenSupplier(Supplier<String> tokenSupplier) {
+      this.tokenSupplier = tokenSupplier;
+      return this;
+    }
+
+    public Builder engineVersion(int engineVersion) {
+      this.engineVersion = engineVersion;
+      return this;
+    }
+
+    public Builder connectTimeout(Duration connectTimeout) {
+      this.connectTimeout = requireNonNull(connectTimeout, "connectTimeout");
+      return this;
+    }
+
+    public Builder readTimeout(Duration readTimeout) {
+      this.readTimeout = requireNonNull(readTimeout, "readTimeout");
+      return this;
+    }
+
+    public Builder responseTimeout(Duration responseTimeout) {
+      this.responseTimeout = requireNonNull(responseTimeout, "responseTimeout");
+      return this;
+    }
+
+    /**
+     * Sets retry policy, retries are spread with jittered exponential backoff between <code>
+     * firstBackoff</code> and <code>maxBackoff</code>.
+     *
+     * @param retries number of retries, 0 disables retry.
+     * @param firstBackoff first retry backoff.
+     * @param maxBackoff max retry backoff.
+     * @return this builder.
+     */
+    public Builder retry(int retries, Duration firstBackoff, Duration maxBackoff) {
+      this.retries = retries;
+      this.firstBackoff = requireNonNull(firstBackoff, "firstBackoff");
+      this.maxBackoff = requireNonNull(maxBackoff, "maxBackoff");
+      return this;
+    }
+
+    public Builder maxConnections(int maxConnections) {
+      this.maxConnections = maxConnections;
+      return this;
+    }
+
+    public VaultClient build() {
+      return new VaultClient(this);
+    }
+  }
+}
@@ -1,14 +1,9 @@
 package io.scalecube.organization.tokens.store;
 
-import com.bettercloud.vault.Vault;
-import com.bettercloud.vault.VaultException;
-import com.bettercloud.vault.api.Logical;
-import com.bettercloud.vault.response.LogicalResponse;
 import io.scalecube.config.ConfigRegistry;
-import io.scalecube.config.IntConfigProperty;
 import io.scalecube.config.StringConfigProperty;
-import io.scalecube.config.vault.VaultInvoker;
 import io.scalecube.organization.config.AppConfiguration;
+import io.scalecube.organization.tokens.KeyAlgorithm;
 import io.scalecube.organization.tokens.KeyStoreException;
 import java.security.Key;
 import java.security.KeyFactory;
@@ -20,17 +15,22 @@ import java.security.spec.InvalidKeySpecException;
 import java.security.spec.KeySpec;
 import java.security.spec.PKCS8EncodedKeySpec;
 import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
 import java.util.Base64;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
 
 /**
- * HshiCorp Vault based KeyStore implementation. Vault access is done via
- * BetterCloud/vault-java-driver at https://github.com/BetterCloud/vault-java-driver. Vault address
- * and token defaults are "VAULT_ADDR" and "VAULT_TOKEN" environment variables respectively.
- * Optional values can be provided in the application settings file.
+ * HshiCorp Vault based KeyStore implementation. Vault access is done over HTTP by a non-blocking
+ * {@link VaultClient}. Vault address and token defaults are "VAULT_ADDR" and "VAULT_TOKEN"
+ * environment variables respectively. Optional values can be provided in the application settings
+ * file.
+ *
+ * <p>Decoded public keys are kept in a {@link PublicKeyCache}, so that repeated reads of the same
+ * key are served without a Vault round trip.
  */
 public class VaultKeyStore implements KeyStore {
 
@@ -38,108 +38,142 @@ public class VaultKeyStore implements KeyStore {
 
   private static final String PUBLIC_KEY = "public-key";
   private static final String PRIVATE_KEY = "private-key";
+  private static final String ALGORITHM = "algorithm";
   private static final int DEFAULT_MAX_RETRIES = 5;
   private static final int DEFAULT_RETRY_INTERVAL_MILLISECONDS = 1000;
 
   private static final ConfigRegistry configRegistry = AppConfiguration.configRegistry();
 
-  private final IntConfigProperty maxRetries = configRegistry.intProperty("vault.max.retries");
-  private final IntConfigProperty retryInterval =
-      configRegistry.intProperty("vault.retry.interval.milliseconds");
   private StringConfigProperty vaultSecretsPath =
       configRegistry.stringProperty("VAULT_SECRETS_PATH");
   private StringConfigProperty apiKeysPathPattern =
       configRegistry.stringProperty("api.keys.path.pattern");
 
-  private final VaultInvoker vaultInvoker;
+  private final VaultClient vaultClient;
+  private final PublicKeyCache publicKeyCache;
 
   /** Constructor. */
   public VaultKeyStore() {
-    vaultInvoker = AppConfiguration.vaultInvoker();
+    this(PublicKeyCache.builder().build());
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param publicKeyCache cache of public keys.
+   */
+  public VaultKeyStore(PublicKeyCache publicKeyCache) {
+    this(defaultVaultClient(), publicKeyCache);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param vaultClient Vault client.
+   * @param publicKeyCache cache of public keys.
+   */
+  public VaultKeyStore(VaultClient vaultClient, PublicKeyCache publicKeyCache) {
+    this.vaultClient = vaultClient;
+    this.publicKeyCache = publicKeyCache;
   }
 
   @Override
-  public void store(String alias, KeyPair keyPair) throws KeyStoreException {
-    String path = getPath(alias);
-    try {
-      LOGGER.debug("Writing key to Vault path: '{}'", path);
-
-      Map<String, Object> keys = new HashMap<>();
-
-      keys.put(PUBLIC_KEY, encodeKey(keyPair.getPublic()));
-      keys.put(PRIVATE_KEY, encodeKey(keyPair.getPrivate()));
-
-      LogicalResponse write = vaultInvoker.invoke(vault -> logical(vault).write(path, keys));
-
-      LOGGER.debug(
-          "Key written to Vault path: '{}' REST response code: '{}' ",
-          path,
-          write.getRestResponse().getStatus());
-    } catch (VaultException ex) {
-      LOGGER.error("Error writing key to Vault path: '{}' error: '{}' ", path, ex);
-      throw new KeyStoreException(ex);
-    }
+  public Mono<Void> store(String alias, KeyPair keyPair) {
+    return Mono.defer(
+        () -> {
+          String path = getPath(alias);
+          LOGGER.debug("Writing key to Vault path: '{}'", path);
+
+          Map<String, String> keys = new HashMap<>();
+
+          keys.put(PUBLIC_KEY, encodeKey(keyPair.getPublic()));
+          keys.put(PRIVATE_KEY, encodeKey(keyPair.getPrivate()));
+          keys.put(ALGORITHM, keyPair.getPublic().getAlgorithm());
+
+          return vaultClient
+              .write(path, keys)
+              .doOnSuccess(
+                  ignore -> {
+                    LOGGER.debug("Key written to Vault path: '{}'", path);
+                    publicKeyCache.put(alias, keyPair.getPublic());
+                  })
+              .doOnError(
+                  ex -> LOGGER.error("Error writing key to Vault path: '{}' error: ", path, ex));
+        });
   }
 
   @Override
-  public PublicKey getPublicKey(String keyId) {
-    String path = getPath(keyId);
-
-    try {
-      String publicKeyEncoded =
-          vaultInvoker.invoke(vault -> logical(vault).read(path)).getData().get(PUBLIC_KEY);
-
-      KeySpec publicKeySpec = new X509EncodedKeySpec(Base64.getDecoder().decode(publicKeyEncoded));
-
-      return KeyFactory.getInstance("RSA").generatePublic(publicKeySpec);
-    } catch (VaultException e) {
-      LOGGER.error("Error reading public key from Vault path={}", path, e);
-      throw new KeyStoreException(e);
-    } catch (NoSuchAlgorithmException | InvalidKeySpecException e) {
-      LOGGER.error("Error reconstructing public key from Vault path={}", path, e);
-      throw new KeyStoreException(e);
-    }
+  public Mono<PublicKey> getPublicKey(String keyId) {
+    return Mono.defer(
+        () -> {
+          PublicKey publicKey = publicKeyCache.get(keyId);
+          if (publicKey != null) {
+            return Mono.just(publicKey);
+          }
+
+          String path = getPath(keyId);
+          long stamp = publicKeyCache.stamp();
+
+          return readKeys(path, PUBLIC_KEY)
+              .map(
+                  keys -> {
+                    KeySpec publicKeySpec = new X509EncodedKeySpec(decode(keys.get(PUBLIC_KEY)));
+                    try {
+                      return keyFactory(keys).generatePublic(publicKeySpec);
+                    } catch (NoSuchAlgorithmException | InvalidKeySpecException e) {
+                      LOGGER.error("Error reconstructing public key from Vault path={}", path, e);
+                      throw new KeyStoreException(e);
+                    }
+                  })
+              .doOnNext(key -> publicKeyCache.putIfValid(keyId, key, stamp));
+        });
   }
 
   @Override
-  public PrivateKey getPrivateKey(String keyId) {
-    String path = getPath(keyId);
-
-    try {
-      String privateKeyEncoded =
-          vaultInvoker.invoke(vault -> logical(vault).read(path)).getData().get(PRIVATE_KEY);
-
-      KeySpec privateKeySpec =
-          new PKCS8EncodedKeySpec(Base64.getDecoder().decode(privateKeyEncoded));
-
-      return KeyFactory.getInstance("RSA").generatePrivate(privateKeySpec);
-    } catch (VaultException e) {
-      LOGGER.error("Error reading private key from Vault path={}", path, e);
-      throw new KeyStoreException(e);
-    } catch (NoSuchAlgorithmException | InvalidKeySpecException e) {
-      LOGGER.error("Error reconstructing private key from Vault path={}", path, e);
-      throw new KeyStoreException(e);
-    }
+  public Mono<PrivateKey> getPrivateKey(String keyId) {
+    return Mono.defer(
+        () -> {
+          String path = getPath(keyId);
+
+          return readKeys(path, PRIVATE_KEY)
+              .map(
+                  keys -> {
+                    KeySpec privateKeySpec =
+                        new PKCS8EncodedKeySpec(decode(keys.get(PRIVATE_KEY)));
+                    try {
+                      return keyFactory(keys).generatePrivate(privateKeySpec);
+                    } catch (NoSuchAlgorithmException | InvalidKeySpecException e) {
+                      LOGGER.error("Error reconstructing private key from Vault path={}", path, e);
+                      throw new KeyStoreException(e);
+                    }
+                  });
+        });
   }
 
   @Override
-  public void delete(String keyId) {
-    String path = getPath(keyId);
-
-    try {
-      vaultInvoker.invoke(vault -> logical(vault).delete(path));
-    } catch (VaultException e) {
-      LOGGER.error("Error deleting key pair from Vault path={}", path, e);
-      throw new KeyStoreException(e);
-    }
+  public Mono<Void> delete(String keyId) {
+    return Mono.defer(
+        () -> {
+          String path = getPath(keyId);
+
+          return vaultClient
+              .delete(path)
+              .doOnError(e -> LOGGER.error("Error deleting key pair from Vault path={}", path, e))
+              // after the Vault delete, so that a concurrent read can't cache the deleted key again
+              .doOnTerminate(() -> publicKeyCache.invalidate(keyId))
+              .doOnCancel(() -> publicKeyCache.invalidate(keyId));
+        });
   }
 
-  private Logical logical(Vault vault) {
-    return vault
-        .withRetries(
-            maxRetries.value().orElse(DEFAULT_MAX_RETRIES),
-            retryInterval.value().orElse(DEFAULT_RETRY_INTERVAL_MILLISECONDS))
-        .logical();
+  private Mono<Map<String, String>> readKeys(String path, String key) {
+    return vaultClient
+        .read(path)
+        .doOnError(e -> LOGGER.error("Error reading {} from Vault path={}", key, path, e))
+        .filter(keys -> keys.get(key) != null)
+        .switchIfEmpty(
+            Mono.defer(
+                () ->
+                    Mono.error(new KeyStoreException("No " + key + " at Vault path: " + path))));
   }
 
   private String getPath(String alias) {
@@ -147,6 +181,29 @@ public class VaultKeyStore implements KeyStore {
         .concat(alias);
   }
 
+  private static VaultClient defaultVaultClient() {
+    int maxRetries = configRegistry.intValue("vault.max.retries", DEFAULT_MAX_RETRIES);
+    int retryInterval =
+        configRegistry.intValue(
+            "vault.retry.interval.milliseconds", DEFAULT_RETRY_INTERVAL_MILLISECONDS);
+
+    return VaultClient.builder()
+        .address(AppConfiguration.vaultAddress())
+        .tokenSupplier(AppConfiguration.vaultTokenSupplier())
+        .engineVersion(AppConfiguration.vaultEngineVersion())
+        .retry(maxRetries, Duration.ofMillis(100), Duration.ofMillis(retryInterval))
+        .build();
+  }
+
+  private static KeyFactory keyFactory(Map<String, String> keys) throws NoSuchAlgorithmException {
+    // keys stored before the algorithm was recorded are RSA keys
+    return KeyFactory.getInstance(keys.getOrDefault(ALGORITHM, KeyAlgorithm.RSA.name()));
+  }
+
+  private static byte[] decode(String encodedKey) {
+    return Base64.getDecoder().decode(encodedKey);
+  }
+
   private String encodeKey(Key key) {
     return new String(Base64.getEncoder().encode(key.getEncoded()));
   }
@@ -0,0 +1,76 @@
+package io.scalecube.organization;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.codahale.metrics.MetricRegistry;
+import io.scalecube.account.api.CreateOrganizationRequest;
+import io.scalecube.account.api.InviteOrganizationMemberRequest;
+import io.scalecube.account.api.Role;
+import io.scalecube.account.api.Token;
+import io.scalecube.organization.fixtures.InMemoryKeyStore;
+import io.scalecube.organization.fixtures.InMemoryOrganizationRepository;
+import io.scalecube.organization.fixtures.InMemoryPublicKeyProvider;
+import io.scalecube.organization.tokens.KeyPairPool;
+import io.scalecube.organization.tokens.TokenVerifierImpl;
+import io.scalecube.security.api.Profile;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class OrganizationServiceImplTest {
+
+  private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+  private final MetricRegistry registry = new MetricRegistry();
+  private final OrganizationServiceImpl service =
+      OrganizationServiceImpl.builder()
+          .repository(new InMemoryOrganizationRepository())
+          .keyStore(new InMemoryKeyStore())
+          .tokenVerifier(new TokenVerifierImpl(new InMemoryPublicKeyProvider()))
+          .keyPairPool(KeyPairPool.builder().watermarks(0, 0).build())
+          .metricRegistry(registry)
+          .stageTimings(true)
+          .writeCoalescing(true)
+          .build();
+
+  @AfterEach
+  void tearDown() {
+    service.shutdown();
+  }
+
+  @Test
+  void shouldTimeRepositoryWritesOfCoalescedMutations() throws InterruptedException {
+    Token token = InMemoryPublicKeyProvider.token(profile("owner"));
+    String organizationId =
+        service
+            .createOrganization(new CreateOrganizationRequest("org", "org@scalecube.io", token))
+            .block(TIMEOUT)
+            .id();
+
+    for (int i = 0; i < 3; i++) {
+      service
+          .inviteMember(
+              new InviteOrganizationMemberRequest(
+                  token, organizationId, "member-" + i, Role.Member.name()))
+          .block(TIMEOUT);
+    }
+
+    String timer =
+        MetricRegistry.name(
+            OrganizationServiceImpl.class, "inviteMember", "stage", "repository-write");
+    assertEquals(3, timerCount(timer, 3));
+  }
+
+  /** Stage timings are recorded once the response is emitted, so they may lag a little. */
+  private long timerCount(String name, long expected) throws InterruptedException {
+    long deadline = System.nanoTime() + TIMEOUT.toNanos();
+    while (registry.timer(name).getCount() < expected && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+    return registry.timer(name).getCount();
+  }
+
+  private static Profile profile(String userId) {
+    return Profile.builder().userId(userId).email(userId + "@scalecube.io").name(userId).build();
+  }
+}
@@ -0,0 +1,101 @@
+package io.scalecube.organization;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.scalecube.organization.ServiceSchedulers.ExecutionModel;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import reactor.core.publisher.Mono;
+
+class ServiceSchedulersTest {
+
+  private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+  private ServiceSchedulers schedulers;
+
+  @AfterEach
+  void tearDown() {
+    if (schedulers != null) {
+      schedulers.dispose();
+    }
+  }
+
+  @ParameterizedTest
+  @EnumSource(ExecutionModel.class)
+  void methodsShouldRunOnNamedDaemonThreads(ExecutionModel model) {
+    schedulers = ServiceSchedulers.builder().model(model).threads(2).build();
+
+    Thread thread = threadOf("getOrganization");
+
+    assertTrue(thread.getName().startsWith("organization-"), thread.getName());
+    assertTrue(thread.isDaemon());
+  }
+
+  @Test
+  void bulkheadShouldIsolateSlowMethod() throws Exception {
+    schedulers = ServiceSchedulers.builder().threads(1).bulkhead("addApiKey", 1).build();
+
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicReference<String> bulkheadThread = new AtomicReference<>();
+    Mono.fromRunnable(
+            () -> {
+              bulkheadThread.set(Thread.currentThread().getName());
+              started.countDown();
+              await(release);
+            })
+        .subscribeOn(schedulers.scheduler("addApiKey"))
+        .subscribe();
+    assertTrue(started.await(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS));
+
+    assertEquals("organization-addApiKey-0", bulkheadThread.get());
+    assertTrue(threadOf("getOrganization").getName().startsWith("organization-parallel"));
+    release.countDown();
+  }
+
+  @Test
+  void saturatedBulkheadShouldRejectRequests() {
+    schedulers =
+        ServiceSchedulers.builder().threads(2).queueSize(1).bulkhead("addApiKey", 1).build();
+
+    CountDownLatch release = new CountDownLatch(1);
+    for (int i = 0; i < 2; i++) {
+      Mono.fromRunnable(() -> await(release))
+          .subscribeOn(schedulers.scheduler("addApiKey"))
+          .subscribe();
+    }
+
+    assertThrows(
+        RejectedExecutionException.class,
+        () ->
+            Mono.fromCallable(Thread::currentThread)
+                .subscribeOn(schedulers.scheduler("addApiKey"))
+                .block(TIMEOUT));
+    // other methods are not affected
+    assertTrue(threadOf("getOrganization").getName().startsWith("organization-parallel"));
+    release.countDown();
+  }
+
+  private Thread threadOf(String method) {
+    return Mono.fromCallable(Thread::currentThread)
+        .subscribeOn(schedulers.scheduler(method))
+        .block(TIMEOUT);
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
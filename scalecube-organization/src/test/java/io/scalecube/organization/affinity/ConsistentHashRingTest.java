@@ -0,0 +1,78 @@
+package io.scalecube.organization.affinity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class ConsistentHashRingTest {
+
+  private static final int KEYS = 10_000;
+
+  @Test
+  void shouldReturnNoOwnerOfEmptyRing() {
+    assertNull(new ConsistentHashRing<>(new HashMap<String, String>(), 16).owner("org"));
+  }
+
+  @Test
+  void shouldAssignSameOwnersRegardlessOfMemberOrder() {
+    Map<String, String> members = new LinkedHashMap<>();
+    Map<String, String> reversed = new LinkedHashMap<>();
+    for (int i = 0; i < 5; i++) {
+      members.put("node-" + i, "node-" + i);
+      reversed.put("node-" + (4 - i), "node-" + (4 - i));
+    }
+    ConsistentHashRing<String> ring = new ConsistentHashRing<>(members, 64);
+    ConsistentHashRing<String> other = new ConsistentHashRing<>(reversed, 64);
+
+    for (int i = 0; i < KEYS; i++) {
+      assertEquals(ring.owner("org-" + i), other.owner("org-" + i));
+    }
+  }
+
+  @Test
+  void shouldSpreadKeysEvenly() {
+    Map<String, String> members = members(4);
+    ConsistentHashRing<String> ring = new ConsistentHashRing<>(members, 128);
+    Map<String, Integer> owned = new HashMap<>();
+
+    for (int i = 0; i < KEYS; i++) {
+      owned.merge(ring.owner("org-" + i), 1, Integer::sum);
+    }
+
+    assertEquals(4, owned.size());
+    owned.forEach(
+        (member, keys) ->
+            assertTrue(keys > KEYS / 4 * 0.7 && keys < KEYS / 4 * 1.3, owned.toString()));
+  }
+
+  @Test
+  void shouldMoveOnlyKeysOfJoiningMember() {
+    ConsistentHashRing<String> ring = new ConsistentHashRing<>(members(4), 128);
+    ConsistentHashRing<String> grown = new ConsistentHashRing<>(members(5), 128);
+    int moved = 0;
+
+    for (int i = 0; i < KEYS; i++) {
+      String owner = ring.owner("org-" + i);
+      String newOwner = grown.owner("org-" + i);
+      if (!owner.equals(newOwner)) {
+        assertEquals("node-4", newOwner);
+        moved++;
+      }
+    }
+
+    assertTrue(moved > KEYS / 5 * 0.7 && moved < KEYS / 5 * 1.3, "moved: " + moved);
+  }
+
+  private static Map<String, String> members(int count) {
+    Map<String, String> members = new HashMap<>();
+    for (int i = 0; i < count; i++) {
+      members.put("node-" + i, "node-" + i);
+    }
+    return members;
+  }
+}
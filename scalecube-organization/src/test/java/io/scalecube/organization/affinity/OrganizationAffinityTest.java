@@ -0,0 +1,70 @@
+package io.scalecube.organization.affinity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.codahale.metrics.MetricRegistry;
+import io.scalecube.account.api.GetOrganizationRequest;
+import io.scalecube.account.api.InviteOrganizationMemberRequest;
+import io.scalecube.account.api.Role;
+import io.scalecube.account.api.Token;
+import io.scalecube.organization.operation.OperationChain;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+/**
+ * Routing of the requests which involves no other member. Forwarding between the members of a
+ * cluster is covered by <code>OrganizationAffinityIT</code>.
+ */
+class OrganizationAffinityTest {
+
+  private static final Duration TIMEOUT = Duration.ofSeconds(5);
+  private static final int ORGANIZATIONS = 64;
+
+  private final MetricRegistry registry = new MetricRegistry();
+  private final OrganizationAffinity affinity =
+      OrganizationAffinity.builder().metrics(registry, OrganizationAffinityTest.class).build();
+  private final OperationChain chain = OperationChain.builder().interceptor(affinity).build();
+
+  @AfterEach
+  void tearDown() {
+    affinity.stop();
+  }
+
+  @Test
+  void shouldProcessRequestsLocallyUntilStarted() {
+    for (int i = 0; i < ORGANIZATIONS; i++) {
+      assertEquals("local", getOrganization("org-" + i).block(TIMEOUT));
+      assertEquals("local", inviteMember("org-" + i).block(TIMEOUT));
+    }
+
+    assertEquals(0, registry.getMeters().size());
+  }
+
+  @Test
+  void shouldProcessForwardedRequestsLocally() {
+    for (int i = 0; i < ORGANIZATIONS; i++) {
+      assertEquals(
+          "local", OrganizationAffinity.forwarded(inviteMember("org-" + i)).block(TIMEOUT));
+    }
+
+    assertEquals(0, registry.getMeters().size());
+  }
+
+  private Mono<Object> getOrganization(String organizationId) {
+    return dispatch(
+        "getOrganization", new GetOrganizationRequest(new Token("token"), organizationId));
+  }
+
+  private Mono<Object> inviteMember(String organizationId) {
+    return dispatch(
+        "inviteMember",
+        new InviteOrganizationMemberRequest(
+            new Token("token"), organizationId, "member", Role.Member.name()));
+  }
+
+  private Mono<Object> dispatch(String method, Object request) {
+    return chain.dispatch(method, request, req -> Mono.just("local"));
+  }
+}
@@ -0,0 +1,45 @@
+package io.scalecube.organization.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import io.scalecube.account.api.OrganizationMember;
+import io.scalecube.account.api.Role;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+class OrganizationTest {
+
+  private final Organization organization = new Organization("org", "name", "email", "owner");
+
+  @Test
+  void membersShouldBeSharedUntilChanged() {
+    List<OrganizationMember> members = organization.members();
+    assertSame(members, organization.members());
+
+    organization.addMember(new OrganizationMember("owner", Role.Member.name()));
+    assertSame(members, organization.members());
+
+    organization.addMember(new OrganizationMember("member", Role.Member.name()));
+    assertEquals("owner:Owner, member:Member", describe(organization.members()));
+
+    members = organization.members();
+    organization.updateMemberRole("member", Role.Admin);
+    assertNotSame(members, organization.members());
+    assertEquals("owner:Owner, member:Admin", describe(organization.members()));
+
+    members = organization.members();
+    organization.removeMember("stranger");
+    assertSame(members, organization.members());
+    organization.removeMember("owner");
+    assertEquals("member:Admin", describe(organization.members()));
+  }
+
+  private static String describe(List<OrganizationMember> members) {
+    return members.stream()
+        .map(member -> member.id() + ":" + member.role())
+        .collect(Collectors.joining(", "));
+  }
+}
@@ -11,49 +11,72 @@ import java.security.PublicKey;
 import java.security.spec.PKCS8EncodedKeySpec;
 import java.security.spec.X509EncodedKeySpec;
 import java.util.Base64;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import reactor.core.publisher.Mono;
 
 public class InMemoryKeyStore implements KeyStore {
 
-  private Map<String, String> storage = new HashMap<>();
+  private Map<String, String> storage = new ConcurrentHashMap<>();
 
   @Override
-  public void store(String alias, KeyPair keyPair) {
-    storage.put(alias + "-public", encodeKey(keyPair.getPublic()));
-    storage.put(alias + "-private", encodeKey(keyPair.getPrivate()));
+  public Mono<Void> store(String alias, KeyPair keyPair) {
+    return Mono.fromRunnable(
+        () -> {
+          storage.put(alias + "-public", encodeKey(keyPair.getPublic()));
+          storage.put(alias + "-private", encodeKey(keyPair.getPrivate()));
+          storage.put(alias + "-algorithm", keyPair.getPublic().getAlgorithm());
+        });
   }
 
   @Override
-  public PublicKey getPublicKey(String keyId) {
-    try {
-      KeyFactory keyFactory = KeyFactory.getInstance("RSA");
+  public Mono<PublicKey> getPublicKey(String keyId) {
+    return Mono.fromCallable(
+        () -> {
+          try {
+            byte[] encodedKey = decodeKey(keyId + "-public");
 
-      byte[] encodedKey = Base64.getDecoder().decode(storage.get(keyId + "-public").getBytes());
+            KeyFactory keyFactory = KeyFactory.getInstance(storage.get(keyId + "-algorithm"));
 
-      return keyFactory.generatePublic(new X509EncodedKeySpec(encodedKey));
-    } catch (GeneralSecurityException ex) {
-      throw new KeyStoreException(ex);
-    }
+            return keyFactory.generatePublic(new X509EncodedKeySpec(encodedKey));
+          } catch (GeneralSecurityException ex) {
+            throw new KeyStoreException(ex);
+          }
+        });
   }
 
   @Override
-  public PrivateKey getPrivateKey(String keyId) {
-    try {
-      KeyFactory keyFactory = KeyFactory.getInstance("RSA");
+  public Mono<PrivateKey> getPrivateKey(String keyId) {
+    return Mono.fromCallable(
+        () -> {
+          try {
+            byte[] encodedKey = decodeKey(keyId + "-private");
 
-      byte[] encodedKey = Base64.getDecoder().decode(storage.get(keyId + "-private").getBytes());
+            KeyFactory keyFactory = KeyFactory.getInstance(storage.get(keyId + "-algorithm"));
 
-      return keyFactory.generatePrivate(new PKCS8EncodedKeySpec(encodedKey));
-    } catch (GeneralSecurityException ex) {
-      throw new KeyStoreException(ex);
-    }
+            return keyFactory.generatePrivate(new PKCS8EncodedKeySpec(encodedKey));
+          } catch (GeneralSecurityException ex) {
+            throw new KeyStoreException(ex);
+          }
+        });
   }
 
   @Override
-  public void delete(String keyId) {
-    storage.remove(storage.get(keyId + "-public"));
-    storage.remove(storage.get(keyId + "-private"));
+  public Mono<Void> delete(String keyId) {
+    return Mono.fromRunnable(
+        () -> {
+          storage.remove(keyId + "-public");
+          storage.remove(keyId + "-private");
+          storage.remove(keyId + "-algorithm");
+        });
+  }
+
+  private byte[] decodeKey(String alias) {
+    String encodedKey = storage.get(alias);
+    if (encodedKey == null) {
+      throw new KeyStoreException("No key: " + alias);
+    }
+    return Base64.getDecoder().decode(encodedKey.getBytes());
   }
 
   private String encodeKey(Key key) {
@@ -1,14 +1,60 @@
 package io.scalecube.organization.fixtures;
 
+import io.scalecube.organization.domain.ApiKeysCleanup;
 import io.scalecube.organization.domain.Organization;
 import io.scalecube.organization.repository.OrganizationsRepository;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 public class InMemoryOrganizationRepository extends InMemoryEntityRepository<Organization, String>
     implements OrganizationsRepository {
 
+  private final Map<String, String> nameReservations = new ConcurrentHashMap<>();
+  private final Map<String, ApiKeysCleanup> apiKeysCleanups = new ConcurrentHashMap<>();
+
   @Override
   public Mono<Boolean> existsByName(String name) {
-    return existByProperty("name", name);
+    return Mono.fromCallable(() -> nameReservations.containsKey(name));
+  }
+
+  @Override
+  public Mono<Boolean> reserveName(String name, String organizationId) {
+    return Mono.fromCallable(
+        () -> {
+          String holder = nameReservations.putIfAbsent(name, organizationId);
+          return holder == null || holder.equals(organizationId);
+        });
+  }
+
+  @Override
+  public Mono<Void> releaseName(String name, String organizationId) {
+    return Mono.fromRunnable(() -> nameReservations.remove(name, organizationId));
+  }
+
+  @Override
+  public Flux<Organization> findByMemberId(String memberId) {
+    return findAll().filter(organization -> organization.isMember(memberId));
+  }
+
+  @Override
+  public Mono<Void> saveApiKeysCleanup(ApiKeysCleanup cleanup) {
+    return Mono.fromRunnable(() -> apiKeysCleanups.put(cleanup.organizationId(), cleanup));
+  }
+
+  @Override
+  public Mono<Void> updateApiKeysCleanup(ApiKeysCleanup cleanup) {
+    return Mono.fromRunnable(() -> apiKeysCleanups.replace(cleanup.organizationId(), cleanup));
+  }
+
+  @Override
+  public Mono<Void> deleteApiKeysCleanup(String organizationId) {
+    return Mono.fromRunnable(() -> apiKeysCleanups.remove(organizationId));
+  }
+
+  @Override
+  public Flux<ApiKeysCleanup> findApiKeysCleanups() {
+    return Flux.defer(() -> Flux.fromIterable(apiKeysCleanups.values()));
   }
 }
@@ -2,6 +2,7 @@ package io.scalecube.organization.fixtures;
 
 import io.scalecube.account.api.OrganizationService;
 import io.scalecube.organization.OrganizationServiceImpl;
+import io.scalecube.organization.tokens.KeyPairPool;
 import io.scalecube.organization.tokens.TokenVerifierImpl;
 import io.scalecube.organization.tokens.store.KeyStore;
 import io.scalecube.test.fixtures.Fixture;
@@ -19,7 +20,11 @@ public class InMemoryOrganizationServiceFixture implements Fixture {
 
     KeyStore keyStore = new InMemoryKeyStore();
 
-    service = new OrganizationServiceImpl(organizationRepository, keyStore, tokenVerifier);
+    // key pairs are generated inline, no background workers per fixture
+    KeyPairPool keyPairPool = KeyPairPool.builder().watermarks(0, 0).build();
+
+    service =
+        new OrganizationServiceImpl(organizationRepository, keyStore, tokenVerifier, keyPairPool);
   }
 
   @Override
@@ -5,7 +5,6 @@ import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.scalecube.account.api.OrganizationServiceException;
 import io.scalecube.account.api.Token;
-import io.scalecube.organization.tokens.InvalidTokenException;
 import io.scalecube.organization.tokens.PublicKeyProvider;
 import io.scalecube.security.api.Profile;
 import java.security.KeyPair;
@@ -14,6 +13,7 @@ import java.security.NoSuchAlgorithmException;
 import java.security.PublicKey;
 import java.util.Date;
 import java.util.function.Consumer;
+import reactor.core.publisher.Mono;
 
 public class InMemoryPublicKeyProvider implements PublicKeyProvider {
 
@@ -30,8 +30,8 @@ public class InMemoryPublicKeyProvider implements PublicKeyProvider {
   }
 
   @Override
-  public PublicKey getPublicKey(String token) throws InvalidTokenException {
-    return KEY_PAIR.getPublic();
+  public Mono<PublicKey> getPublicKey(String token) {
+    return Mono.just(KEY_PAIR.getPublic());
   }
 
   public static Token token(Profile profile) {
@@ -225,7 +225,9 @@ final class IntegrationEnvironment {
                 () ->
                     cluster
                         .authenticate(settings.username(), settings.password())
-                        .openBucket(settings.organizationsBucketName())
+                        .openBucket(
+                            settings.organizationsBucketName(),
+                            CouchbaseOrganizationsRepository.transcoders())
                         .async())
             .retryBackoff(3, Duration.ofSeconds(1))
             .block(Duration.ofSeconds(30));
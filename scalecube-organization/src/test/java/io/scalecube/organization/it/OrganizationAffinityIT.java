@@ -0,0 +1,322 @@
+package io.scalecube.organization.it;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.codahale.metrics.MetricRegistry;
+import io.scalecube.account.api.CreateOrganizationRequest;
+import io.scalecube.account.api.GetOrganizationRequest;
+import io.scalecube.account.api.GetOrganizationResponse;
+import io.scalecube.account.api.InviteOrganizationMemberRequest;
+import io.scalecube.account.api.Role;
+import io.scalecube.account.api.Token;
+import io.scalecube.net.Address;
+import io.scalecube.organization.OrganizationServiceImpl;
+import io.scalecube.organization.affinity.OrganizationAffinity;
+import io.scalecube.organization.affinity.OrganizationOwnerService;
+import io.scalecube.organization.affinity.OrganizationOwnerServiceImpl;
+import io.scalecube.organization.fixtures.InMemoryKeyStore;
+import io.scalecube.organization.fixtures.InMemoryOrganizationRepository;
+import io.scalecube.organization.fixtures.InMemoryPublicKeyProvider;
+import io.scalecube.organization.operation.OperationChain;
+import io.scalecube.organization.tokens.InvalidTokenException;
+import io.scalecube.organization.tokens.KeyPairPool;
+import io.scalecube.organization.tokens.TokenVerifierImpl;
+import io.scalecube.security.api.Profile;
+import io.scalecube.services.Microservices;
+import io.scalecube.services.ServiceEndpoint;
+import io.scalecube.services.ServiceRegistration;
+import io.scalecube.services.discovery.ScalecubeServiceDiscovery;
+import io.scalecube.services.discovery.api.ServiceDiscovery;
+import io.scalecube.services.discovery.api.ServiceDiscoveryEvent;
+import io.scalecube.services.exceptions.ServiceException;
+import io.scalecube.services.transport.rsocket.RSocketServiceTransport;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.TimeoutException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+
+class OrganizationAffinityIT {
+
+  private static final Duration TIMEOUT = Duration.ofSeconds(30);
+  private static final int ORGANIZATIONS = 64;
+
+  private final MetricRegistry registry = new MetricRegistry();
+  private final OrganizationAffinity affinity =
+      OrganizationAffinity.builder()
+          .forwardTimeout(Duration.ofSeconds(1))
+          .metrics(registry, OrganizationAffinityIT.class)
+          .build();
+  private final OperationChain chain = OperationChain.builder().interceptor(affinity).build();
+  private final OrganizationServiceImpl ownerService =
+      OrganizationServiceImpl.builder()
+          .repository(new InMemoryOrganizationRepository())
+          .keyStore(new InMemoryKeyStore())
+          .tokenVerifier(new TokenVerifierImpl(new InMemoryPublicKeyProvider()))
+          .keyPairPool(KeyPairPool.builder().watermarks(0, 0).build())
+          .build();
+  private Microservices node;
+  private Microservices owner;
+  private ServerSocket silentOwner;
+
+  @AfterEach
+  void tearDown() throws IOException {
+    affinity.stop();
+    if (owner != null) {
+      owner.shutdown().block(TIMEOUT);
+    }
+    if (node != null) {
+      node.shutdown().block(TIMEOUT);
+    }
+    if (silentOwner != null) {
+      silentOwner.close();
+    }
+    ownerService.shutdown();
+  }
+
+  @Test
+  void shouldForwardRequestsOfOrganizationsOwnedByOtherMember() {
+    startWithOwner();
+
+    int local = 0;
+    int forwarded = 0;
+    for (int i = 0; i < ORGANIZATIONS; i++) {
+      try {
+        assertEquals("local", getOrganization("org-" + i).block(TIMEOUT));
+        local++;
+      } catch (ServiceException ex) {
+        // the owner processed the request of an unknown organization and an invalid token
+        forwarded++;
+      }
+    }
+
+    assertTrue(local > 0, "local: " + local);
+    assertTrue(forwarded > 0, "forwarded: " + forwarded);
+    assertEquals(forwarded, forwardedCount("getOrganization"));
+  }
+
+  @Test
+  void shouldReturnResponsesOfOwner() {
+    startWithOwner();
+    Token token = InMemoryPublicKeyProvider.token(profile("owner"));
+
+    int forwarded = 0;
+    for (int i = 0; i < ORGANIZATIONS; i++) {
+      String organizationId =
+          ownerService
+              .createOrganization(
+                  new CreateOrganizationRequest("org-" + i, "org@scalecube.io", token))
+              .block(TIMEOUT)
+              .id();
+      GetOrganizationRequest request = new GetOrganizationRequest(token, organizationId);
+      Object response = dispatch("getOrganization", request).block(TIMEOUT);
+      if (response instanceof GetOrganizationResponse) {
+        assertEquals(organizationId, ((GetOrganizationResponse) response).id());
+        forwarded++;
+      } else {
+        assertEquals("local", response);
+      }
+    }
+
+    assertTrue(forwarded > 0, "forwarded: " + forwarded);
+    assertEquals(forwarded, forwardedCount("getOrganization"));
+  }
+
+  @Test
+  void shouldProcessRequestsLocallyIfOwnerIsUnreachable() throws IOException {
+    Address unreachable;
+    try (ServerSocket socket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+      unreachable = Address.create("localhost", socket.getLocalPort());
+    }
+    startWithOwnerAt(unreachable);
+
+    for (int i = 0; i < ORGANIZATIONS; i++) {
+      assertEquals("local", getOrganization("org-" + i).block(TIMEOUT));
+      // the connection could not be established, so the write did not reach the owner either
+      assertEquals("local", inviteMember("org-" + i).block(TIMEOUT));
+    }
+
+    long forwarded = forwardedCount("getOrganization");
+    assertTrue(forwarded > 0, "forwarded: " + forwarded);
+    assertEquals(forwarded, failedCount("getOrganization"));
+    assertEquals(forwarded, failedCount("inviteMember"));
+  }
+
+  @Test
+  void shouldNotProcessWritesLocallyIfOwnerMayHaveReceivedThem() throws IOException {
+    // accepts the connections but never responds
+    silentOwner = new ServerSocket(0, 64, InetAddress.getLoopbackAddress());
+    startWithOwnerAt(Address.create("localhost", silentOwner.getLocalPort()));
+
+    int timedOut = 0;
+    for (int i = 0; i < ORGANIZATIONS && timedOut == 0; i++) {
+      String organizationId = "org-" + i;
+      assertEquals("local", getOrganization(organizationId).block(TIMEOUT));
+      try {
+        assertEquals("local", inviteMember(organizationId).block(TIMEOUT));
+      } catch (RuntimeException ex) {
+        assertTrue(Exceptions.unwrap(ex) instanceof TimeoutException, ex.toString());
+        timedOut++;
+      }
+    }
+
+    assertEquals(1, timedOut);
+    assertEquals(0, failedCount("inviteMember"));
+  }
+
+  @Test
+  void shouldNotForwardForwardedRequests() throws IOException {
+    silentOwner = new ServerSocket(0, 64, InetAddress.getLoopbackAddress());
+    startWithOwnerAt(Address.create("localhost", silentOwner.getLocalPort()));
+    OrganizationServiceImpl service =
+        OrganizationServiceImpl.builder()
+            .repository(new InMemoryOrganizationRepository())
+            .keyStore(new InMemoryKeyStore())
+            .tokenVerifier(new TokenVerifierImpl(new InMemoryPublicKeyProvider()))
+            .keyPairPool(KeyPairPool.builder().watermarks(0, 0).build())
+            .affinity(affinity)
+            .build();
+    OrganizationOwnerServiceImpl forwarded = new OrganizationOwnerServiceImpl(service);
+
+    try {
+      for (int i = 0; i < ORGANIZATIONS; i++) {
+        InviteOrganizationMemberRequest request =
+            new InviteOrganizationMemberRequest(
+                new Token("token"), "org-" + i, "member", Role.Member.name());
+        // processed locally, so the token is rejected instead of the silent owner timing out
+        assertThrows(
+            InvalidTokenException.class, () -> forwarded.inviteMember(request).block(TIMEOUT));
+      }
+    } finally {
+      service.shutdown();
+    }
+
+    assertEquals(0, forwardedCount("inviteMember"));
+  }
+
+  private void startWithOwner() {
+    node =
+        Microservices.builder()
+            .discovery(endpoint -> affinity.track(new ScalecubeServiceDiscovery(endpoint)))
+            .transport(RSocketServiceTransport::new)
+            .startAwait();
+    MonoProcessor<ServiceDiscoveryEvent> discovered =
+        node.discovery()
+            .listenDiscovery()
+            .filter(ServiceDiscoveryEvent::isEndpointAdded)
+            .next()
+            .toProcessor();
+    owner = startOwner(node.discovery().address());
+    discovered.block(TIMEOUT);
+    affinity.start(node);
+  }
+
+  /** Starts routing to a member at the address, which is discovered but serves nothing. */
+  private void startWithOwnerAt(Address address) {
+    node =
+        Microservices.builder()
+            .discovery(ScalecubeServiceDiscovery::new)
+            .transport(RSocketServiceTransport::new)
+            .startAwait();
+    ServiceEndpoint endpoint =
+        ServiceEndpoint.builder()
+            .id("owner")
+            .address(address)
+            .serviceRegistrations(
+                Collections.singletonList(
+                    new ServiceRegistration(
+                        OrganizationOwnerService.NAMESPACE,
+                        Collections.emptyMap(),
+                        Collections.emptyList())))
+            .build();
+    affinity.track(new OwnerDiscovery(endpoint));
+    affinity.start(node);
+  }
+
+  private Mono<Object> getOrganization(String organizationId) {
+    return dispatch(
+        "getOrganization", new GetOrganizationRequest(new Token("token"), organizationId));
+  }
+
+  private Mono<Object> inviteMember(String organizationId) {
+    return dispatch(
+        "inviteMember",
+        new InviteOrganizationMemberRequest(
+            new Token("token"), organizationId, "member", Role.Member.name()));
+  }
+
+  private Mono<Object> dispatch(String method, Object request) {
+    return chain.dispatch(method, request, req -> Mono.just("local"));
+  }
+
+  private long forwardedCount(String method) {
+    return registry
+        .meter(MetricRegistry.name(OrganizationAffinityIT.class, method, "forwarded"))
+        .getCount();
+  }
+
+  private long failedCount(String method) {
+    return registry
+        .meter(MetricRegistry.name(OrganizationAffinityIT.class, method, "forwarded", "failed"))
+        .getCount();
+  }
+
+  private Microservices startOwner(Address seed) {
+    return Microservices.builder()
+        .discovery(
+            endpoint ->
+                new ScalecubeServiceDiscovery(endpoint)
+                    .options(opts -> opts.membership(cfg -> cfg.seedMembers(seed))))
+        .transport(RSocketServiceTransport::new)
+        .services(new OrganizationOwnerServiceImpl(ownerService))
+        .startAwait();
+  }
+
+  private static Profile profile(String userId) {
+    return Profile.builder().userId(userId).email(userId + "@scalecube.io").name(userId).build();
+  }
+
+  /** Discovery which has found a single owner member. */
+  private static final class OwnerDiscovery implements ServiceDiscovery {
+
+    private final ServiceEndpoint owner;
+
+    private OwnerDiscovery(ServiceEndpoint owner) {
+      this.owner = owner;
+    }
+
+    @Override
+    public Address address() {
+      return owner.address();
+    }
+
+    @Override
+    public ServiceEndpoint serviceEndpoint() {
+      return owner;
+    }
+
+    @Override
+    public Flux<ServiceDiscoveryEvent> listenDiscovery() {
+      return Flux.just(ServiceDiscoveryEvent.newEndpointAdded(owner));
+    }
+
+    @Override
+    public Mono<ServiceDiscovery> start() {
+      return Mono.just(this);
+    }
+
+    @Override
+    public Mono<Void> shutdown() {
+      return Mono.empty();
+    }
+  }
+}
@@ -0,0 +1,477 @@
+package io.scalecube.organization.load;
+
+import static java.util.Objects.requireNonNull;
+
+import io.scalecube.account.api.AddOrganizationApiKeyRequest;
+import io.scalecube.account.api.ApiKey;
+import io.scalecube.account.api.CreateOrganizationRequest;
+import io.scalecube.account.api.DeleteOrganizationApiKeyRequest;
+import io.scalecube.account.api.DeleteOrganizationRequest;
+import io.scalecube.account.api.GetMembershipRequest;
+import io.scalecube.account.api.GetOrganizationMembersRequest;
+import io.scalecube.account.api.GetOrganizationRequest;
+import io.scalecube.account.api.GetPublicKeyRequest;
+import io.scalecube.account.api.InviteOrganizationMemberRequest;
+import io.scalecube.account.api.KickoutOrganizationMemberRequest;
+import io.scalecube.account.api.LeaveOrganizationRequest;
+import io.scalecube.account.api.OrganizationInfo;
+import io.scalecube.account.api.OrganizationService;
+import io.scalecube.account.api.Role;
+import io.scalecube.account.api.Token;
+import io.scalecube.account.api.UpdateOrganizationMemberRoleRequest;
+import io.scalecube.account.api.UpdateOrganizationRequest;
+import io.scalecube.organization.fixtures.InMemoryPublicKeyProvider;
+import io.scalecube.security.api.Profile;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import reactor.core.publisher.Mono;
+
+/**
+ * Open-loop load generator of the organization service.
+ *
+ * <p>Requests are sent at a fixed arrival rate, regardless of how fast the service responds, and
+ * the service method of every request is picked at random by the weights of the configured mix.
+ * The latency of a request is measured from the time it was scheduled to be sent, not from the
+ * time it was actually sent, so a stalled service or a stalled generator shows up in the
+ * percentiles instead of silently lowering the rate (coordinated omission correction).
+ *
+ * <p>Before the run, the generator seeds the service with organizations, members and API keys, and
+ * signs a token for every user. The requests keep track of the members and API keys they add and
+ * remove, so mutations target existing entities. A request which has nothing to act on, e.g. a
+ * member kick out when all members have left, is counted as skipped.
+ */
+public final class LoadGenerator {
+
+  /** Public names of the service methods the generator calls. */
+  public static final List<String> METHODS =
+      Collections.unmodifiableList(
+          Arrays.asList(
+              "createOrganization",
+              "getMyOrganizations",
+              "deleteOrganization",
+              "updateOrganization",
+              "getOrganizationMembers",
+              "inviteMember",
+              "kickoutMember",
+              "leaveOrganization",
+              "addApiKey",
+              "deleteApiKey",
+              "getOrganization",
+              "updateMemberRole",
+              "getPublicKey"));
+
+  private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(30);
+
+  private final OrganizationService service;
+  private final String[] methods;
+  private final int[] cumulativeWeights;
+  private final double rate;
+  private final Duration duration;
+  private final Duration warmup;
+  private final int organizations;
+  private final int membersPerOrganization;
+  private final int maxInFlight;
+
+  private final String runId = Long.toString(System.currentTimeMillis(), 36);
+  private final AtomicLong sequence = new AtomicLong();
+  private final List<User> users = new ArrayList<>();
+  private final List<OrganizationState> seeded = new ArrayList<>();
+  private final List<String> publicKeyIds = new ArrayList<>();
+  private final Queue<OrganizationState> created = new ConcurrentLinkedQueue<>();
+
+  private LoadGenerator(Builder builder) {
+    this.service = requireNonNull(builder.service, "service");
+    if (builder.mix.isEmpty()) {
+      throw new IllegalArgumentException("mix must not be empty");
+    }
+    if (builder.rate <= 0 || builder.organizations <= 0 || builder.maxInFlight <= 0) {
+      throw new IllegalArgumentException("rate, organizations and maxInFlight must be positive");
+    }
+    if (builder.users < builder.organizations + builder.membersPerOrganization) {
+      throw new IllegalArgumentException(
+          "users must be at least organizations + membersPerOrganization");
+    }
+    this.methods = builder.mix.keySet().toArray(new String[0]);
+    this.cumulativeWeights = new int[methods.length];
+    int total = 0;
+    for (int i = 0; i < methods.length; i++) {
+      total += builder.mix.get(methods[i]);
+      cumulativeWeights[i] = total;
+    }
+    this.rate = builder.rate;
+    this.duration = builder.duration;
+    this.warmup = builder.warmup;
+    this.organizations = builder.organizations;
+    this.membersPerOrganization = builder.membersPerOrganization;
+    this.maxInFlight = builder.maxInFlight;
+    for (int i = 0; i < builder.users; i++) {
+      users.add(new User("load-" + runId + "-user-" + i));
+    }
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Seeds the service, runs the warm up and then the measured phase.
+   *
+   * @return report of the measured phase.
+   */
+  public LoadReport run() {
+    seed();
+    if (!warmup.isZero()) {
+      drive(warmup, new LoadReport.Recorder(Arrays.asList(methods)));
+    }
+    LoadReport.Recorder recorder = new LoadReport.Recorder(Arrays.asList(methods));
+    long elapsed = drive(duration, recorder);
+    return recorder.report(rate, Duration.ofNanos(elapsed));
+  }
+
+  private void seed() {
+    for (int i = 0; i < organizations; i++) {
+      User owner = users.get(i);
+      OrganizationState organization = createOrganization(owner).block();
+      List<Integer> outsiders = new ArrayList<>();
+      for (int j = 0; j < users.size(); j++) {
+        if (j != i) {
+          outsiders.add(j);
+        }
+      }
+      Collections.shuffle(outsiders);
+      outsiders.forEach(organization.outsiders::add);
+      for (int j = 0; j < membersPerOrganization; j++) {
+        inviteMember(organization).block();
+      }
+      ApiKey[] apiKeys =
+          service
+              .addOrganizationApiKey(
+                  new AddOrganizationApiKeyRequest(
+                      owner.token,
+                      organization.id,
+                      "seed",
+                      Collections.singletonMap("role", Role.Member.name())))
+              .map(OrganizationInfo::apiKeys)
+              .block();
+      publicKeyIds.add(apiKeys[0].keyId());
+      seeded.add(organization);
+    }
+  }
+
+  private long drive(Duration phase, LoadReport.Recorder recorder) {
+    double periodNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+    AtomicInteger inFlight = new AtomicInteger();
+    long start = System.nanoTime();
+    long end = start + phase.toNanos();
+
+    for (long i = 0; ; i++) {
+      final long intended = start + (long) (i * periodNanos);
+      if (intended - end >= 0) {
+        break;
+      }
+      waitUntil(intended);
+
+      ThreadLocalRandom random = ThreadLocalRandom.current();
+      String method = nextMethod(random);
+      if (inFlight.get() >= maxInFlight) {
+        recorder.dropped(method);
+        continue;
+      }
+      Mono<?> request = request(method, random);
+      if (request == null) {
+        recorder.skipped(method);
+        continue;
+      }
+      inFlight.incrementAndGet();
+      request.subscribe(
+          null,
+          th -> {
+            recorder.failed(method, System.nanoTime() - intended, th);
+            inFlight.decrementAndGet();
+          },
+          () -> {
+            recorder.succeeded(method, System.nanoTime() - intended);
+            inFlight.decrementAndGet();
+          });
+    }
+
+    long drainDeadline = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+    while (inFlight.get() > 0 && System.nanoTime() - drainDeadline < 0) {
+      LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+    }
+    return System.nanoTime() - start;
+  }
+
+  private static void waitUntil(long deadline) {
+    long delay;
+    while ((delay = deadline - System.nanoTime()) > 0) {
+      LockSupport.parkNanos(delay);
+    }
+  }
+
+  private String nextMethod(ThreadLocalRandom random) {
+    int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+    for (int i = 0; i < cumulativeWeights.length; i++) {
+      if (value < cumulativeWeights[i]) {
+        return methods[i];
+      }
+    }
+    return methods[methods.length - 1];
+  }
+
+  /**
+   * Creates the request of the given service method.
+   *
+   * @return request, or null if the method has nothing to act on.
+   */
+  private Mono<?> request(String method, ThreadLocalRandom random) {
+    OrganizationState organization = seeded.get(random.nextInt(seeded.size()));
+    switch (method) {
+      case "createOrganization":
+        return createOrganization(users.get(random.nextInt(users.size())))
+            .doOnNext(created::add);
+      case "deleteOrganization":
+        OrganizationState disposable = created.poll();
+        return disposable == null
+            ? null
+            : service.deleteOrganization(
+                new DeleteOrganizationRequest(disposable.owner.token, disposable.id));
+      case "getMyOrganizations":
+        return service.getUserOrganizationsMembership(
+            new GetMembershipRequest(users.get(random.nextInt(users.size())).token));
+      case "updateOrganization":
+        return service.updateOrganization(
+            new UpdateOrganizationRequest(
+                organization.id,
+                organization.owner.token,
+                "load-" + runId + "-org-" + sequence.incrementAndGet(),
+                organization.owner.profile.email()));
+      case "getOrganizationMembers":
+        return service.getOrganizationMembers(
+            new GetOrganizationMembersRequest(organization.id, organization.owner.token));
+      case "getOrganization":
+        return service.getOrganization(
+            new GetOrganizationRequest(organization.owner.token, organization.id));
+      case "inviteMember":
+        return inviteMember(organization);
+      case "kickoutMember":
+        Integer kickedOut = organization.members.poll();
+        return kickedOut == null
+            ? null
+            : service
+                .kickoutMember(
+                    new KickoutOrganizationMemberRequest(
+                        organization.id,
+                        organization.owner.token,
+                        users.get(kickedOut).profile.userId()))
+                .doOnSuccess(response -> organization.outsiders.add(kickedOut));
+      case "leaveOrganization":
+        Integer leaving = organization.members.poll();
+        return leaving == null
+            ? null
+            : service
+                .leaveOrganization(
+                    new LeaveOrganizationRequest(users.get(leaving).token, organization.id))
+                .doOnSuccess(response -> organization.outsiders.add(leaving));
+      case "updateMemberRole":
+        Integer member = organization.members.peek();
+        return member == null
+            ? null
+            : service.updateOrganizationMemberRole(
+                new UpdateOrganizationMemberRoleRequest(
+                    organization.owner.token,
+                    organization.id,
+                    users.get(member).profile.userId(),
+                    random.nextBoolean() ? Role.Admin.name() : Role.Member.name()));
+      case "addApiKey":
+        String apiKeyName = "key-" + sequence.incrementAndGet();
+        return service
+            .addOrganizationApiKey(
+                new AddOrganizationApiKeyRequest(
+                    organization.owner.token,
+                    organization.id,
+                    apiKeyName,
+                    Collections.singletonMap("role", Role.Member.name())))
+            .doOnSuccess(response -> organization.apiKeyNames.add(apiKeyName));
+      case "deleteApiKey":
+        String deleted = organization.apiKeyNames.poll();
+        return deleted == null
+            ? null
+            : service.deleteOrganizationApiKey(
+                new DeleteOrganizationApiKeyRequest(
+                    organization.owner.token, organization.id, deleted));
+      case "getPublicKey":
+        return service.getPublicKey(
+            new GetPublicKeyRequest(publicKeyIds.get(random.nextInt(publicKeyIds.size()))));
+      default:
+        throw new IllegalArgumentException("Unsupported method: " + method);
+    }
+  }
+
+  private Mono<OrganizationState> createOrganization(User owner) {
+    return service
+        .createOrganization(
+            new CreateOrganizationRequest(
+                "load-" + runId + "-org-" + sequence.incrementAndGet(),
+                owner.profile.email(),
+                owner.token))
+        .map(response -> new OrganizationState(response.id(), owner));
+  }
+
+  private Mono<?> inviteMember(OrganizationState organization) {
+    Integer invited = organization.outsiders.poll();
+    if (invited == null) {
+      return null;
+    }
+    return service
+        .inviteMember(
+            new InviteOrganizationMemberRequest(
+                organization.owner.token,
+                organization.id,
+                users.get(invited).profile.userId(),
+                Role.Member.name()))
+        .doOnSuccess(response -> organization.members.add(invited))
+        .doOnError(th -> organization.outsiders.add(invited));
+  }
+
+  private static final class User {
+
+    private final Profile profile;
+    private final Token token;
+
+    private User(String userId) {
+      this.profile =
+          Profile.builder()
+              .userId(userId)
+              .email(userId + "@scalecube.io")
+              .emailVerified(true)
+              .name(userId)
+              .familyName("fname")
+              .givenName("lname")
+              .build();
+      this.token = InMemoryPublicKeyProvider.token(profile);
+    }
+  }
+
+  private static final class OrganizationState {
+
+    private final String id;
+    private final User owner;
+    private final Queue<Integer> members = new ConcurrentLinkedQueue<>();
+    private final Queue<Integer> outsiders = new ConcurrentLinkedQueue<>();
+    private final Queue<String> apiKeyNames = new ConcurrentLinkedQueue<>();
+
+    private OrganizationState(String id, User owner) {
+      this.id = id;
+      this.owner = owner;
+    }
+  }
+
+  public static class Builder {
+    private OrganizationService service;
+    private final Map<String, Integer> mix = new LinkedHashMap<>();
+    private double rate = 100;
+    private Duration duration = Duration.ofSeconds(60);
+    private Duration warmup = Duration.ofSeconds(10);
+    private int organizations = 100;
+    private int membersPerOrganization = 10;
+    private int users = 1000;
+    private int maxInFlight = 10_000;
+
+    public Builder service(OrganizationService service) {
+      this.service = service;
+      return this;
+    }
+
+    /**
+     * Adds a service method to the mix.
+     *
+     * @param method public name of the service method, one of {@link #METHODS}.
+     * @param weight relative weight of the method in the mix.
+     * @return this builder.
+     */
+    public Builder mix(String method, int weight) {
+      if (!METHODS.contains(method)) {
+        throw new IllegalArgumentException("Unsupported method: " + method);
+      }
+      if (weight < 0) {
+        throw new IllegalArgumentException("weight must not be negative: " + method);
+      }
+      if (weight > 0) {
+        mix.put(method, weight);
+      }
+      return this;
+    }
+
+    /**
+     * Sets the arrival rate.
+     *
+     * @param rate requests per second.
+     * @return this builder.
+     */
+    public Builder rate(double rate) {
+      this.rate = rate;
+      return this;
+    }
+
+    public Builder duration(Duration duration) {
+      this.duration = requireNonNull(duration, "duration");
+      return this;
+    }
+
+    public Builder warmup(Duration warmup) {
+      this.warmup = requireNonNull(warmup, "warmup");
+      return this;
+    }
+
+    public Builder organizations(int organizations) {
+      this.organizations = organizations;
+      return this;
+    }
+
+    public Builder membersPerOrganization(int membersPerOrganization) {
+      this.membersPerOrganization = membersPerOrganization;
+      return this;
+    }
+
+    /**
+     * Sets the number of users the generator signs tokens for. Users own the seeded organizations
+     * and are invited to them.
+     *
+     * @param users number of users.
+     * @return this builder.
+     */
+    public Builder users(int users) {
+      this.users = users;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of outstanding requests. Requests scheduled while the limit is
+     * reached are counted as dropped, so a stalled service does not exhaust the generator.
+     *
+     * @param maxInFlight maximum number of outstanding requests.
+     * @return this builder.
+     */
+    public Builder maxInFlight(int maxInFlight) {
+      this.maxInFlight = maxInFlight;
+      return this;
+    }
+
+    public LoadGenerator build() {
+      return new LoadGenerator(this);
+    }
+  }
+}
@@ -0,0 +1,118 @@
+package io.scalecube.organization.load;
+
+import io.scalecube.account.api.OrganizationService;
+import io.scalecube.net.Address;
+import io.scalecube.organization.OrganizationServiceImpl;
+import io.scalecube.organization.fixtures.InMemoryKeyStore;
+import io.scalecube.organization.fixtures.InMemoryOrganizationRepository;
+import io.scalecube.organization.fixtures.InMemoryPublicKeyProvider;
+import io.scalecube.organization.tokens.TokenVerifierImpl;
+import io.scalecube.services.Microservices;
+import io.scalecube.services.discovery.ScalecubeServiceDiscovery;
+import io.scalecube.services.discovery.api.ServiceDiscoveryEvent;
+import io.scalecube.services.transport.rsocket.RSocketServiceTransport;
+import java.time.Duration;
+import reactor.core.publisher.MonoProcessor;
+
+/**
+ * Runs the {@link LoadGenerator} against the organization service backed by the in-memory
+ * fixtures, and prints the report. Configured by system properties:
+ *
+ * <ul>
+ *   <li><code>load.transport</code>: <code>inprocess</code> (default) calls the service directly,
+ *       <code>rsocket</code> calls it over the RSocket transport from a second node;
+ *   <li><code>load.rate</code>: requests per second, 100 by default;
+ *   <li><code>load.duration</code> and <code>load.warmup</code>: seconds, 60 and 10 by default;
+ *   <li><code>load.organizations</code>, <code>load.members</code> and <code>load.users</code>:
+ *       seeded organizations, members per organization and users, 100, 10 and 1000 by default;
+ *   <li><code>load.mix</code>: comma separated <code>method=weight</code> pairs, e.g. <code>
+ *       getOrganization=80,updateOrganization=20</code>, by default a read mostly mix of all
+ *       service methods.
+ * </ul>
+ */
+public class LoadGeneratorRunner {
+
+  private static final String DEFAULT_MIX =
+      "getOrganization=30,getMyOrganizations=15,getOrganizationMembers=15,getPublicKey=10,"
+          + "updateOrganization=5,inviteMember=5,updateMemberRole=4,kickoutMember=3,"
+          + "leaveOrganization=2,addApiKey=4,deleteApiKey=3,createOrganization=2,"
+          + "deleteOrganization=2";
+
+  private static final Duration DISCOVERY_TIMEOUT = Duration.ofSeconds(30);
+
+  /**
+   * Bootstrap main.
+   *
+   * @param args application params.
+   */
+  public static void main(String[] args) {
+    OrganizationServiceImpl service =
+        OrganizationServiceImpl.builder()
+            .repository(new InMemoryOrganizationRepository())
+            .keyStore(new InMemoryKeyStore())
+            .tokenVerifier(new TokenVerifierImpl(new InMemoryPublicKeyProvider()))
+            .build();
+
+    String transport = System.getProperty("load.transport", "inprocess");
+    Microservices client = null;
+    Microservices server = null;
+    OrganizationService target = service;
+    if ("rsocket".equalsIgnoreCase(transport)) {
+      client =
+          Microservices.builder()
+              .discovery(ScalecubeServiceDiscovery::new)
+              .transport(RSocketServiceTransport::new)
+              .startAwait();
+      // subscribed before the server starts, so its endpoint is not missed
+      MonoProcessor<ServiceDiscoveryEvent> discovered =
+          client
+              .discovery()
+              .listenDiscovery()
+              .filter(ServiceDiscoveryEvent::isEndpointAdded)
+              .next()
+              .toProcessor();
+      server = startServer(service, client.discovery().address());
+      discovered.block(DISCOVERY_TIMEOUT);
+      target = client.call().api(OrganizationService.class);
+    } else if (!"inprocess".equalsIgnoreCase(transport)) {
+      throw new IllegalArgumentException("Unsupported transport: " + transport);
+    }
+
+    LoadGenerator.Builder generator =
+        LoadGenerator.builder()
+            .service(target)
+            .rate(Double.parseDouble(System.getProperty("load.rate", "100")))
+            .duration(Duration.ofSeconds(Long.getLong("load.duration", 60)))
+            .warmup(Duration.ofSeconds(Long.getLong("load.warmup", 10)))
+            .organizations(Integer.getInteger("load.organizations", 100))
+            .membersPerOrganization(Integer.getInteger("load.members", 10))
+            .users(Integer.getInteger("load.users", 1000));
+    for (String entry : System.getProperty("load.mix", DEFAULT_MIX).split(",")) {
+      String[] methodWeight = entry.trim().split("=");
+      generator.mix(methodWeight[0].trim(), Integer.parseInt(methodWeight[1].trim()));
+    }
+
+    try {
+      System.out.println(generator.build().run());
+    } finally {
+      if (client != null) {
+        client.shutdown().block();
+      }
+      if (server != null) {
+        server.shutdown().block();
+      }
+      service.shutdown();
+    }
+  }
+
+  private static Microservices startServer(OrganizationService service, Address seed) {
+    return Microservices.builder()
+        .discovery(
+            serviceEndpoint ->
+                new ScalecubeServiceDiscovery(serviceEndpoint)
+                    .options(opts -> opts.membership(cfg -> cfg.seedMembers(seed))))
+        .transport(RSocketServiceTransport::new)
+        .services(service)
+        .startAwait();
+  }
+}
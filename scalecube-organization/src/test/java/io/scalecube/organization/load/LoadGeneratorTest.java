@@ -0,0 +1,57 @@
+package io.scalecube.organization.load;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.scalecube.organization.OrganizationServiceImpl;
+import io.scalecube.organization.fixtures.InMemoryKeyStore;
+import io.scalecube.organization.fixtures.InMemoryOrganizationRepository;
+import io.scalecube.organization.fixtures.InMemoryPublicKeyProvider;
+import io.scalecube.organization.tokens.KeyAlgorithm;
+import io.scalecube.organization.tokens.KeyPairPool;
+import io.scalecube.organization.tokens.TokenVerifierImpl;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class LoadGeneratorTest {
+
+  private final OrganizationServiceImpl service =
+      OrganizationServiceImpl.builder()
+          .repository(new InMemoryOrganizationRepository())
+          .keyStore(new InMemoryKeyStore())
+          .tokenVerifier(new TokenVerifierImpl(new InMemoryPublicKeyProvider()))
+          // EC key pairs are generated in microseconds, so API keys don't dominate the short run
+          .keyPairPool(
+              KeyPairPool.builder().algorithm(KeyAlgorithm.EC).watermarks(0, 0).build())
+          .build();
+
+  @AfterEach
+  void tearDown() {
+    service.shutdown();
+  }
+
+  @Test
+  void shouldDriveAllMethodsAtFixedRate() {
+    LoadGenerator.Builder builder =
+        LoadGenerator.builder()
+            .service(service)
+            .rate(100)
+            .duration(Duration.ofMillis(300))
+            .warmup(Duration.ZERO)
+            .organizations(2)
+            .membersPerOrganization(4)
+            .users(20);
+    LoadGenerator.METHODS.forEach(method -> builder.mix(method, 1));
+
+    LoadReport report = builder.build().run();
+
+    assertEquals(LoadGenerator.METHODS.size() + 1, report.methods().size());
+    LoadReport.MethodStats total = report.total();
+    // open loop: every scheduled request is sent, skipped or dropped
+    assertEquals(30, total.requests() + total.skipped() + total.dropped(), 1);
+    assertTrue(total.successes() > 0, report.toString());
+    assertTrue(report.methods().get("getOrganization").successes() > 0, report.toString());
+    assertTrue(total.percentile(0.99) <= total.max(), report.toString());
+  }
+}
@@ -0,0 +1,235 @@
+package io.scalecube.organization.load;
+
+import com.codahale.metrics.Snapshot;
+import io.scalecube.account.api.ServiceOperationException;
+import io.scalecube.organization.metrics.LatencyHistogram;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Throughput and latency percentiles of a load generator run, per service method and in total.
+ * Latencies are measured from the scheduled send time of every request.
+ */
+public final class LoadReport {
+
+  /** Name of the totals of all service methods. */
+  public static final String TOTAL = "total";
+
+  private static final double[] PERCENTILES = {0.5, 0.9, 0.99, 0.999};
+  private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+  private final double rate;
+  private final Duration elapsed;
+  private final Map<String, MethodStats> methods;
+
+  private LoadReport(double rate, Duration elapsed, Map<String, MethodStats> methods) {
+    this.rate = rate;
+    this.elapsed = elapsed;
+    this.methods = Collections.unmodifiableMap(methods);
+  }
+
+  public Duration elapsed() {
+    return elapsed;
+  }
+
+  /**
+   * Returns the statistics of the service methods in the mix, and the {@link #TOTAL}.
+   *
+   * @return statistics by method name.
+   */
+  public Map<String, MethodStats> methods() {
+    return methods;
+  }
+
+  public MethodStats total() {
+    return methods.get(TOTAL);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder out = new StringBuilder();
+    out.append(
+        String.format(
+            Locale.ROOT,
+            "Target rate: %.1f req/s, elapsed: %.1f s%n",
+            rate,
+            elapsed.toMillis() / 1000.0));
+    out.append(
+        String.format(
+            Locale.ROOT,
+            "%-24s %9s %7s %7s %7s %9s %9s %9s %9s %9s %9s%n",
+            "method",
+            "requests",
+            "errors",
+            "skipped",
+            "dropped",
+            "req/s",
+            "p50 ms",
+            "p90 ms",
+            "p99 ms",
+            "p99.9 ms",
+            "max ms"));
+    methods.forEach(
+        (name, stats) -> {
+          out.append(
+              String.format(
+                  Locale.ROOT,
+                  "%-24s %9d %7d %7d %7d %9.1f",
+                  name,
+                  stats.requests(),
+                  stats.errors(),
+                  stats.skipped(),
+                  stats.dropped(),
+                  stats.throughput()));
+          for (double percentile : PERCENTILES) {
+            out.append(String.format(Locale.ROOT, " %9.3f", stats.percentile(percentile)));
+          }
+          out.append(String.format(Locale.ROOT, " %9.3f%n", stats.max()));
+        });
+    methods.forEach(
+        (name, stats) ->
+            stats.errorsByType.forEach(
+                (type, count) ->
+                    out.append(String.format(Locale.ROOT, "%s: %d x %s%n", name, count, type))));
+    return out.toString();
+  }
+
+  /** Statistics of a single service method. */
+  public static final class MethodStats {
+
+    private final long successes;
+    private final long errors;
+    private final long skipped;
+    private final long dropped;
+    private final Map<String, Long> errorsByType;
+    private final Snapshot latency;
+    private final double throughput;
+
+    private MethodStats(MethodRecorder recorder, Duration elapsed) {
+      this.successes = recorder.successes.sum();
+      this.errors = recorder.errors.sum();
+      this.skipped = recorder.skipped.sum();
+      this.dropped = recorder.dropped.sum();
+      Map<String, Long> errorsByType = new LinkedHashMap<>();
+      recorder.errorsByType.forEach((type, count) -> errorsByType.put(type, count.sum()));
+      this.errorsByType = Collections.unmodifiableMap(errorsByType);
+      this.latency = recorder.latency.getSnapshot();
+      this.throughput = (successes + errors) * 1e9 / Math.max(1, elapsed.toNanos());
+    }
+
+    /** Returns the number of completed and failed requests. */
+    public long requests() {
+      return successes + errors;
+    }
+
+    public long successes() {
+      return successes;
+    }
+
+    public long errors() {
+      return errors;
+    }
+
+    public long skipped() {
+      return skipped;
+    }
+
+    public long dropped() {
+      return dropped;
+    }
+
+    public Map<String, Long> errorsByType() {
+      return errorsByType;
+    }
+
+    /** Returns the completed and failed requests per second. */
+    public double throughput() {
+      return throughput;
+    }
+
+    /**
+     * Returns the latency percentile.
+     *
+     * @param quantile quantile in [0..1].
+     * @return latency in milliseconds.
+     */
+    public double percentile(double quantile) {
+      return latency.getValue(quantile) / NANOS_PER_MILLI;
+    }
+
+    /** Returns the maximum latency in milliseconds. */
+    public double max() {
+      return latency.getMax() / NANOS_PER_MILLI;
+    }
+  }
+
+  /** Records the outcome of the requests of a run. */
+  static final class Recorder {
+
+    private final Map<String, MethodRecorder> methods = new LinkedHashMap<>();
+    private final MethodRecorder total = new MethodRecorder();
+
+    Recorder(List<String> methodNames) {
+      methodNames.forEach(method -> methods.put(method, new MethodRecorder()));
+    }
+
+    void succeeded(String method, long latencyNanos) {
+      methods.get(method).succeeded(latencyNanos);
+      total.succeeded(latencyNanos);
+    }
+
+    void failed(String method, long latencyNanos, Throwable th) {
+      methods.get(method).failed(latencyNanos, th);
+      total.failed(latencyNanos, th);
+    }
+
+    void skipped(String method) {
+      methods.get(method).skipped.increment();
+      total.skipped.increment();
+    }
+
+    void dropped(String method) {
+      methods.get(method).dropped.increment();
+      total.dropped.increment();
+    }
+
+    LoadReport report(double rate, Duration elapsed) {
+      Map<String, MethodStats> stats = new LinkedHashMap<>();
+      methods.forEach((method, recorder) -> stats.put(method, new MethodStats(recorder, elapsed)));
+      stats.put(TOTAL, new MethodStats(total, elapsed));
+      return new LoadReport(rate, elapsed, stats);
+    }
+  }
+
+  private static final class MethodRecorder {
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder successes = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final Map<String, LongAdder> errorsByType = new ConcurrentHashMap<>();
+
+    private void succeeded(long latencyNanos) {
+      latency.update(latencyNanos);
+      successes.increment();
+    }
+
+    private void failed(long latencyNanos, Throwable th) {
+      latency.update(latencyNanos);
+      errors.increment();
+      Throwable cause =
+          th instanceof ServiceOperationException && th.getCause() != null ? th.getCause() : th;
+      errorsByType
+          .computeIfAbsent(cause.getClass().getSimpleName(), type -> new LongAdder())
+          .increment();
+    }
+  }
+}
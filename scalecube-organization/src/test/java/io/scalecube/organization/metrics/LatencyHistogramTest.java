@@ -0,0 +1,50 @@
+package io.scalecube.organization.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.codahale.metrics.Snapshot;
+import org.junit.jupiter.api.Test;
+
+class LatencyHistogramTest {
+
+  @Test
+  void bucketShouldContainValue() {
+    for (long value = 0; value < 1L << 41; value = value * 3 / 2 + 1) {
+      int index = LatencyHistogram.bucketIndex(value);
+      assertTrue(LatencyHistogram.highestValue(index) >= value, "value " + value);
+      assertTrue(index == 0 || LatencyHistogram.highestValue(index - 1) < value, "value " + value);
+    }
+  }
+
+  @Test
+  void percentilesShouldBeWithinRelativeError() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (long i = 1; i <= 100_000; i++) {
+      histogram.update(i * 1_000);
+    }
+
+    Snapshot snapshot = histogram.getSnapshot();
+
+    assertEquals(100_000, snapshot.size());
+    assertEquals(1_000, snapshot.getMin());
+    assertEquals(100_000_000, snapshot.getMax());
+    assertEquals(50_000_500, snapshot.getMean(), 1);
+    assertWithinError(50_000_000, snapshot.getMedian());
+    assertWithinError(99_000_000, snapshot.get99thPercentile());
+    assertWithinError(99_900_000, snapshot.get999thPercentile());
+  }
+
+  @Test
+  void emptyHistogramShouldReturnZeros() {
+    Snapshot snapshot = new LatencyHistogram().getSnapshot();
+
+    assertEquals(0, snapshot.size());
+    assertEquals(0, snapshot.getMax());
+    assertEquals(0.0, snapshot.get99thPercentile());
+  }
+
+  private static void assertWithinError(double expected, double actual) {
+    assertTrue(Math.abs(actual - expected) <= expected / 64, expected + " vs " + actual);
+  }
+}
@@ -0,0 +1,78 @@
+package io.scalecube.organization.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.codahale.metrics.MetricRegistry;
+import io.scalecube.account.api.OrganizationNotFoundException;
+import io.scalecube.account.api.ServiceOperationException;
+import io.scalecube.organization.operation.OperationChain;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+class MetricsInterceptorTest {
+
+  private final MetricRegistry registry = new MetricRegistry();
+  private final OperationChain chain =
+      OperationChain.builder().interceptor(new MetricsInterceptor(registry, Service.class)).build();
+
+  @Test
+  void shouldRecordLatencySuccessAndErrorsByType() {
+    chain.dispatch("getOrganization", "request", request -> Mono.just("response")).block();
+    assertThrows(
+        ServiceOperationException.class,
+        () ->
+            chain
+                .dispatch(
+                    "getOrganization",
+                    "request",
+                    request ->
+                        Mono.error(
+                            new ServiceOperationException(
+                                request, new OrganizationNotFoundException("org-1"))))
+                .block());
+
+    String prefix = MetricRegistry.name(Service.class, "getOrganization");
+    assertEquals(2, registry.timer(prefix + ".latency").getCount());
+    assertEquals(1, registry.meter(prefix + ".success").getCount());
+    assertEquals(
+        1, registry.meter(prefix + ".errors.OrganizationNotFoundException").getCount());
+    assertEquals(0L, registry.getGauges().get(prefix + ".in-flight").getValue());
+  }
+
+  @Test
+  void shouldExportPrometheusText() {
+    chain.dispatch("addApiKey", "request", request -> Mono.just("response")).block();
+
+    String text = PrometheusTextFormat.format(registry);
+
+    String name = PrometheusTextFormat.sanitize(MetricRegistry.name(Service.class, "addApiKey"));
+    assertTrue(text.contains("# TYPE " + name + "_latency_seconds summary\n"), text);
+    assertTrue(text.contains(name + "_latency_seconds{quantile=\"0.999\"} "), text);
+    assertTrue(text.contains(name + "_latency_seconds_count 1\n"), text);
+    assertTrue(text.contains(name + "_success_total 1\n"), text);
+    assertTrue(text.contains(name + "_in_flight 0\n"), text);
+  }
+
+  @Test
+  void shouldShareMetricsOfRegistry() {
+    chain.dispatch("getOrganization", "request", request -> Mono.just("response")).block();
+    OperationChain other =
+        OperationChain.builder().interceptor(new MetricsInterceptor(registry, Service.class)).build();
+
+    Disposable pending =
+        other.dispatch("getOrganization", "request", request -> Mono.never()).subscribe();
+
+    String name = MetricRegistry.name(Service.class, "in-flight");
+    String prefix = MetricRegistry.name(Service.class, "getOrganization");
+    assertEquals(1L, registry.getGauges().get(name).getValue());
+    assertEquals(1L, registry.getGauges().get(prefix + ".in-flight").getValue());
+    pending.dispose();
+    assertEquals(0L, registry.getGauges().get(name).getValue());
+    assertEquals(1, registry.timer(prefix + ".latency").getCount());
+  }
+
+  private static class Service {}
+}
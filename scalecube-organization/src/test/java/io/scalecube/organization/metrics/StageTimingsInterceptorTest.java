@@ -0,0 +1,73 @@
+package io.scalecube.organization.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.codahale.metrics.MetricRegistry;
+import io.scalecube.organization.operation.OperationChain;
+import io.scalecube.organization.operation.OperationInterceptor;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class StageTimingsInterceptorTest {
+
+  private final MetricRegistry registry = new MetricRegistry();
+  private final AtomicReference<StageTimings> timingsOnExit = new AtomicReference<>();
+  private final OperationChain chain =
+      OperationChain.builder()
+          .interceptor(new StageTimingsInterceptor(registry, Service.class))
+          .interceptor(
+              new OperationInterceptor() {
+                @Override
+                public <I, O> Mono<O> intercept(String method, I request, Mono<O> next) {
+                  return Mono.subscriberContext()
+                      .flatMap(
+                          context ->
+                              next.doOnSuccess(
+                                  response ->
+                                      timingsOnExit.set(context.get(StageTimings.class))));
+                }
+              })
+          .build();
+
+  @Test
+  void shouldRecordStagesOfRequest() {
+    chain
+        .dispatch(
+            "addApiKey",
+            "request",
+            request ->
+                StageTimings.time(Stage.REPOSITORY_READ, Mono.just("organization"))
+                    .then(StageTimings.time(Stage.KEY_STORE, Mono.empty()))
+                    .thenMany(StageTimings.time(Stage.REPOSITORY_READ, Flux.just(1, 2)))
+                    .then(StageTimings.time(Stage.REPOSITORY_WRITE, Mono.just("response"))))
+        .block();
+
+    StageTimings timings = timingsOnExit.get();
+    assertNotNull(timings);
+    assertEquals(2, timings.count(Stage.REPOSITORY_READ));
+    assertEquals(1, timings.count(Stage.KEY_STORE));
+    // the last stage is recorded before the response reaches the outer interceptors
+    assertEquals(1, timings.count(Stage.REPOSITORY_WRITE));
+    assertEquals(0, timings.count(Stage.TOKEN_VERIFY));
+    assertTrue(timings.toString().contains("repository-read="), timings.toString());
+
+    String prefix = MetricRegistry.name(Service.class, "addApiKey", "stage");
+    assertEquals(1, registry.timer(prefix + ".repository-read").getCount());
+    assertEquals(1, registry.timer(prefix + ".key-store").getCount());
+    assertFalse(registry.getTimers().containsKey(prefix + ".token-verify"));
+  }
+
+  @Test
+  void shouldNotTimeCallsOutsideOfRequest() {
+    assertEquals(
+        "value", StageTimings.time(Stage.REPOSITORY_READ, Mono.just("value")).block());
+    assertTrue(registry.getTimers().isEmpty());
+  }
+
+  private static class Service {}
+}
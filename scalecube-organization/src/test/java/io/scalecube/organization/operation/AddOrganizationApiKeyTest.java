@@ -0,0 +1,106 @@
+package io.scalecube.organization.operation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.scalecube.account.api.AddOrganizationApiKeyRequest;
+import io.scalecube.account.api.Role;
+import io.scalecube.account.api.ServiceOperationException;
+import io.scalecube.organization.domain.Organization;
+import io.scalecube.organization.fixtures.InMemoryKeyStore;
+import io.scalecube.organization.fixtures.InMemoryOrganizationRepository;
+import io.scalecube.organization.fixtures.InMemoryPublicKeyProvider;
+import io.scalecube.organization.repository.exception.OptimisticLockingFailureException;
+import io.scalecube.organization.tokens.KeyAlgorithm;
+import io.scalecube.organization.tokens.KeyPairPool;
+import io.scalecube.organization.tokens.TokenVerifierImpl;
+import io.scalecube.security.api.Profile;
+import java.security.KeyPair;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+class AddOrganizationApiKeyTest {
+
+  private static final Duration TIMEOUT = Duration.ofSeconds(5);
+  private static final String ORGANIZATION_ID = "org";
+
+  private final AtomicBoolean conflict = new AtomicBoolean();
+  private final InMemoryOrganizationRepository repository =
+      new InMemoryOrganizationRepository() {
+        @Override
+        public Mono<Organization> save(String id, Organization entity) {
+          return conflict.get()
+              ? Mono.error(new OptimisticLockingFailureException("conflict", null))
+              : super.save(id, entity);
+        }
+      };
+  private final List<String> storedKeyIds = new ArrayList<>();
+  private final List<String> deletedKeyIds = new ArrayList<>();
+  private final InMemoryKeyStore keyStore =
+      new InMemoryKeyStore() {
+        @Override
+        public Mono<Void> store(String alias, KeyPair keyPair) {
+          return super.store(alias, keyPair).doOnSuccess(v -> storedKeyIds.add(alias));
+        }
+
+        @Override
+        public Mono<Void> delete(String keyId) {
+          return super.delete(keyId).doOnSuccess(v -> deletedKeyIds.add(keyId));
+        }
+      };
+  private final AddOrganizationApiKey operation =
+      AddOrganizationApiKey.builder()
+          .tokenVerifier(new TokenVerifierImpl(new InMemoryPublicKeyProvider()))
+          .repository(repository)
+          .keyPairPool(
+              KeyPairPool.builder().algorithm(KeyAlgorithm.EC).watermarks(0, 0).build())
+          .keyStore(keyStore)
+          .build();
+
+  @BeforeEach
+  void setUp() {
+    repository
+        .save(ORGANIZATION_ID, new Organization(ORGANIZATION_ID, "name", "email", "owner"))
+        .block(TIMEOUT);
+  }
+
+  @Test
+  void shouldKeepKeyPairOfAddedApiKey() {
+    operation.execute(request()).block(TIMEOUT);
+
+    assertEquals(1, storedKeyIds.size());
+    assertTrue(deletedKeyIds.isEmpty());
+    assertEquals(1, repository.findById(ORGANIZATION_ID).block(TIMEOUT).apiKeys().size());
+  }
+
+  @Test
+  void shouldDeleteKeyPairOnConflict() {
+    conflict.set(true);
+
+    ServiceOperationException ex =
+        assertThrows(
+            ServiceOperationException.class, () -> operation.execute(request()).block(TIMEOUT));
+
+    assertTrue(ex.getCause() instanceof OptimisticLockingFailureException, ex.toString());
+    assertEquals(1, storedKeyIds.size());
+    assertEquals(storedKeyIds, deletedKeyIds);
+    assertThrows(RuntimeException.class, () -> keyStore.getPublicKey(storedKeyIds.get(0)).block());
+  }
+
+  private static AddOrganizationApiKeyRequest request() {
+    Profile owner =
+        Profile.builder().userId("owner").email("owner@scalecube.io").name("owner").build();
+    return new AddOrganizationApiKeyRequest(
+        InMemoryPublicKeyProvider.token(owner),
+        ORGANIZATION_ID,
+        "key",
+        Collections.singletonMap("role", Role.Member.name()));
+  }
+}
@@ -0,0 +1,92 @@
+package io.scalecube.organization.operation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.codahale.metrics.MetricRegistry;
+import io.scalecube.account.api.ServiceOperationException;
+import io.scalecube.organization.repository.exception.DataIntegrityViolationException;
+import io.scalecube.organization.repository.exception.OptimisticLockingFailureException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+class ConflictRetryInterceptorTest {
+
+  private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+  private final MetricRegistry registry = new MetricRegistry();
+  private final OperationChain chain =
+      OperationChain.builder()
+          .interceptor(
+              ConflictRetryInterceptor.builder()
+                  .maxRetries(2)
+                  .backoff(Duration.ofMillis(1), Duration.ofMillis(2))
+                  .metrics(registry, Service.class)
+                  .build())
+          .build();
+  private final AtomicInteger attempts = new AtomicInteger();
+
+  @Test
+  void shouldRepeatConflictingRequest() {
+    String response =
+        chain
+            .dispatch(
+                "inviteMember",
+                "request",
+                request ->
+                    attempts.incrementAndGet() < 3
+                        ? Mono.error(conflict())
+                        : Mono.just("response"))
+            .block(TIMEOUT);
+
+    assertEquals("response", response);
+    assertEquals(3, attempts.get());
+    assertEquals(2, registry.meter(conflicts("inviteMember")).getCount());
+    assertEquals(0, registry.meter(conflicts("inviteMember") + ".exhausted").getCount());
+  }
+
+  @Test
+  void shouldReturnConflictOnceRetriesAreExhausted() {
+    Mono<String> result =
+        chain.dispatch(
+            "addApiKey",
+            "request",
+            request -> {
+              attempts.incrementAndGet();
+              return Mono.error(conflict());
+            });
+
+    assertThrows(ServiceOperationException.class, () -> result.block(TIMEOUT));
+    assertEquals(3, attempts.get());
+    assertEquals(3, registry.meter(conflicts("addApiKey")).getCount());
+    assertEquals(1, registry.meter(conflicts("addApiKey") + ".exhausted").getCount());
+  }
+
+  @Test
+  void shouldNotRepeatOtherErrors() {
+    Mono<String> result =
+        chain.dispatch(
+            "addApiKey",
+            "request",
+            request -> {
+              attempts.incrementAndGet();
+              return Mono.error(new DataIntegrityViolationException("durability", null));
+            });
+
+    assertThrows(DataIntegrityViolationException.class, () -> result.block(TIMEOUT));
+    assertEquals(1, attempts.get());
+  }
+
+  private static Throwable conflict() {
+    return new ServiceOperationException(
+        "request", new OptimisticLockingFailureException("CAS mismatch", null));
+  }
+
+  private static String conflicts(String method) {
+    return MetricRegistry.name(Service.class, method, "conflicts");
+  }
+
+  private static class Service {}
+}
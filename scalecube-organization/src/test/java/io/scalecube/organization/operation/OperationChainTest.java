@@ -0,0 +1,66 @@
+package io.scalecube.organization.operation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+class OperationChainTest {
+
+  private final List<String> events = new ArrayList<>();
+
+  @Test
+  void firstInterceptorShouldBeOutermost() {
+    OperationChain chain =
+        OperationChain.builder()
+            .interceptor(recording("first"))
+            .interceptor(recording("second"))
+            .build();
+
+    String response =
+        chain
+            .dispatch(
+                "getOrganization",
+                "request",
+                request -> Mono.fromCallable(() -> record("operation", "response")))
+            .block();
+
+    assertEquals("response", response);
+    assertEquals(
+        Arrays.asList(
+            "first: enter", "second: enter", "operation", "second: exit", "first: exit"),
+        events);
+  }
+
+  @Test
+  void operationShouldBeInvokedOnSubscription() {
+    OperationChain chain = OperationChain.builder().interceptor(recording("first")).build();
+
+    Mono<String> response =
+        chain.dispatch(
+            "getOrganization", "request", request -> Mono.just(record("operation", "response")));
+
+    assertEquals(0, events.size());
+    response.block();
+    assertEquals(Arrays.asList("first: enter", "operation", "first: exit"), events);
+  }
+
+  private OperationInterceptor recording(String name) {
+    return new OperationInterceptor() {
+      @Override
+      public <I, O> Mono<O> intercept(String method, I request, Mono<O> next) {
+        return Mono.fromRunnable(() -> events.add(name + ": enter"))
+            .then(next)
+            .doOnSuccess(response -> events.add(name + ": exit"));
+      }
+    };
+  }
+
+  private String record(String event, String response) {
+    events.add(event);
+    return response;
+  }
+}
@@ -0,0 +1,139 @@
+package io.scalecube.organization.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.scalecube.account.api.OrganizationMember;
+import io.scalecube.account.api.Role;
+import io.scalecube.organization.domain.Organization;
+import io.scalecube.organization.fixtures.InMemoryOrganizationRepository;
+import io.scalecube.organization.repository.exception.OptimisticLockingFailureException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+
+class CoalescingOrganizationsRepositoryTest {
+
+  private static final Duration TIMEOUT = Duration.ofSeconds(5);
+  private static final String ORGANIZATION_ID = "org";
+
+  private final AtomicInteger saves = new AtomicInteger();
+  private final AtomicBoolean gateNextSave = new AtomicBoolean();
+  private final AtomicBoolean failNextSave = new AtomicBoolean();
+  private final MonoProcessor<Void> firstSaveGate = MonoProcessor.create();
+  private final InMemoryOrganizationRepository delegate =
+      new InMemoryOrganizationRepository() {
+        @Override
+        public Mono<Organization> save(String id, Organization entity) {
+          saves.incrementAndGet();
+          if (failNextSave.compareAndSet(true, false)) {
+            return Mono.error(new OptimisticLockingFailureException("conflict", null));
+          }
+          Mono<Organization> save = super.save(id, entity);
+          return gateNextSave.compareAndSet(true, false)
+              ? save.delaySubscription(firstSaveGate)
+              : save;
+        }
+      };
+  private final OrganizationsRepository repository =
+      new CoalescingOrganizationsRepository(delegate);
+
+  @BeforeEach
+  void setUp() {
+    delegate
+        .save(ORGANIZATION_ID, new Organization(ORGANIZATION_ID, "name", "email", "owner"))
+        .block(TIMEOUT);
+    saves.set(0);
+    gateNextSave.set(true);
+  }
+
+  @Test
+  void shouldSaveQueuedMutationsTogether() {
+    MonoProcessor<String> first =
+        repository.mutateMembers(ORGANIZATION_ID, invite("a")).toProcessor();
+    MonoProcessor<String> second =
+        repository.mutateMembers(ORGANIZATION_ID, invite("b")).toProcessor();
+    MonoProcessor<String> third =
+        repository.mutate(ORGANIZATION_ID, invite("c")).toProcessor();
+    assertEquals(1, saves.get());
+
+    firstSaveGate.onComplete();
+
+    assertEquals("a", first.block(TIMEOUT));
+    assertEquals("b", second.block(TIMEOUT));
+    assertEquals("c", third.block(TIMEOUT));
+    assertEquals(2, saves.get());
+    Organization organization = delegate.findById(ORGANIZATION_ID).block(TIMEOUT);
+    assertTrue(organization.isMember("a"));
+    assertTrue(organization.isMember("b"));
+    assertTrue(organization.isMember("c"));
+  }
+
+  @Test
+  void shouldRejectFailedMutationOnly() {
+    MonoProcessor<String> first =
+        repository.mutateMembers(ORGANIZATION_ID, invite("a")).toProcessor();
+    MonoProcessor<String> rejected =
+        repository
+            .<String>mutateMembers(
+                ORGANIZATION_ID,
+                organization -> {
+                  throw new IllegalArgumentException("rejected");
+                })
+            .toProcessor();
+    MonoProcessor<String> third =
+        repository.mutateMembers(ORGANIZATION_ID, invite("b")).toProcessor();
+
+    firstSaveGate.onComplete();
+
+    assertEquals("a", first.block(TIMEOUT));
+    assertThrows(IllegalArgumentException.class, () -> rejected.block(TIMEOUT));
+    assertEquals("b", third.block(TIMEOUT));
+    assertEquals(2, saves.get());
+  }
+
+  @Test
+  void shouldFailEveryQueuedMutationWhenBatchSaveFails() {
+    MonoProcessor<String> first =
+        repository.mutateMembers(ORGANIZATION_ID, invite("a")).toProcessor();
+    MonoProcessor<String> second =
+        repository.mutateMembers(ORGANIZATION_ID, invite("b")).toProcessor();
+    MonoProcessor<String> third =
+        repository.mutateMembers(ORGANIZATION_ID, invite("c")).toProcessor();
+    failNextSave.set(true);
+
+    firstSaveGate.onComplete();
+
+    assertEquals("a", first.block(TIMEOUT));
+    assertThrows(OptimisticLockingFailureException.class, () -> second.block(TIMEOUT));
+    assertThrows(OptimisticLockingFailureException.class, () -> third.block(TIMEOUT));
+
+    assertEquals("d", repository.mutateMembers(ORGANIZATION_ID, invite("d")).block(TIMEOUT));
+    assertEquals(3, saves.get());
+    Organization organization = delegate.findById(ORGANIZATION_ID).block(TIMEOUT);
+    assertTrue(organization.isMember("a"));
+    assertTrue(organization.isMember("d"));
+  }
+
+  @Test
+  void shouldCompleteEmptyWhenOrganizationDoesNotExist() {
+    firstSaveGate.onComplete();
+
+    assertNull(repository.mutateMembers("unknown", invite("a")).block(TIMEOUT));
+    assertEquals(0, saves.get());
+  }
+
+  private static Function<Organization, String> invite(String userId) {
+    return organization -> {
+      organization.addMember(new OrganizationMember(userId, Role.Member.name()));
+      return userId;
+    };
+  }
+}
@@ -0,0 +1,41 @@
+package io.scalecube.organization.repository.couchbase;
+
+import static io.scalecube.organization.repository.couchbase.CouchbaseExceptionTranslator.translateExceptionIfPossible;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.couchbase.client.core.DocumentConcurrentlyModifiedException;
+import com.couchbase.client.core.ReplicaNotConfiguredException;
+import com.couchbase.client.java.error.CASMismatchException;
+import com.couchbase.client.java.error.DurabilityException;
+import io.scalecube.organization.repository.exception.DataAccessException;
+import io.scalecube.organization.repository.exception.DataIntegrityViolationException;
+import io.scalecube.organization.repository.exception.OptimisticLockingFailureException;
+import org.junit.jupiter.api.Test;
+
+class CouchbaseExceptionTranslatorTest {
+
+  @Test
+  void shouldTranslateConcurrentModificationsToOptimisticLockingFailure() {
+    assertTranslated(OptimisticLockingFailureException.class, new CASMismatchException());
+    assertTranslated(
+        OptimisticLockingFailureException.class,
+        new DocumentConcurrentlyModifiedException("modified", 1L));
+  }
+
+  @Test
+  void shouldTranslateFailedDurabilityToDataIntegrityViolation() {
+    // the mutation may have been applied, repeating it on a fresh read is not safe
+    assertTranslated(DataIntegrityViolationException.class, new DurabilityException());
+    assertTranslated(
+        DataIntegrityViolationException.class,
+        new ReplicaNotConfiguredException("no replica", 1L));
+  }
+
+  private static void assertTranslated(
+      Class<? extends DataAccessException> expected, RuntimeException ex) {
+    DataAccessException translated = translateExceptionIfPossible(ex);
+    assertEquals(expected, translated.getClass());
+    assertSame(ex, translated.getCause());
+  }
+}
@@ -0,0 +1,139 @@
+package io.scalecube.organization.repository.couchbase;
+
+import static io.scalecube.organization.repository.couchbase.CouchbaseOrganizationsRepository.memberChanges;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.couchbase.client.java.document.json.JsonArray;
+import com.couchbase.client.java.document.json.JsonObject;
+import io.scalecube.account.api.OrganizationMember;
+import io.scalecube.account.api.Role;
+import io.scalecube.organization.domain.Organization;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CouchbaseOrganizationsRepositoryTest {
+
+  private final Organization organization = new Organization("org", "name", "email", "owner");
+  private List<OrganizationMember> members;
+
+  @BeforeEach
+  void setUp() {
+    for (String userId : Arrays.asList("a", "b", "c", "d")) {
+      organization.addMember(new OrganizationMember(userId, Role.Member.name()));
+    }
+    // owner, a, b, c, d as read from the members array
+    members = organization.members();
+  }
+
+  @Test
+  void shouldPlanNothingWithoutChanges() {
+    organization.addMember(new OrganizationMember("a", Role.Admin.name()));
+    organization.removeMember("stranger");
+
+    assertTrue(memberChanges(members, organization).isEmpty());
+  }
+
+  @Test
+  void shouldAppendInvitedMember() {
+    organization.addMember(new OrganizationMember("e", Role.Admin.name()));
+
+    assertEquals(
+        Arrays.asList(MemberSpec.arrayAppend("members", member("e", Role.Admin))),
+        memberChanges(members, organization));
+  }
+
+  @Test
+  void shouldReplaceRoleAtMemberPosition() {
+    organization.updateMemberRole("c", Role.Admin);
+
+    assertEquals(
+        Arrays.asList(MemberSpec.replace("members[3].role", Role.Admin.name())),
+        memberChanges(members, organization));
+  }
+
+  @Test
+  void shouldRemoveMemberAtPosition() {
+    organization.removeMember("owner");
+
+    assertEquals(
+        Arrays.asList(MemberSpec.remove("members[0]")), memberChanges(members, organization));
+  }
+
+  @Test
+  void shouldRemoveSeveralMembersFromTheLast() {
+    organization.removeMember("a");
+    organization.removeMember("c");
+
+    assertEquals(
+        Arrays.asList(MemberSpec.remove("members[3]"), MemberSpec.remove("members[1]")),
+        memberChanges(members, organization));
+  }
+
+  @Test
+  void shouldReplaceRolesBeforeRemovingMembers() {
+    organization.removeMember("a");
+    organization.updateMemberRole("b", Role.Admin);
+
+    assertEquals(
+        Arrays.asList(
+            MemberSpec.replace("members[2].role", Role.Admin.name()),
+            MemberSpec.remove("members[1]")),
+        memberChanges(members, organization));
+  }
+
+  @Test
+  void shouldKeepPositionOfReinvitedMember() {
+    organization.removeMember("b");
+    organization.addMember(new OrganizationMember("b", Role.Member.name()));
+
+    assertTrue(memberChanges(members, organization).isEmpty());
+
+    organization.removeMember("b");
+    organization.addMember(new OrganizationMember("b", Role.Admin.name()));
+
+    assertEquals(
+        Arrays.asList(MemberSpec.replace("members[2].role", Role.Admin.name())),
+        memberChanges(members, organization));
+  }
+
+  @Test
+  void shouldAppendUpToSixteenMembers() {
+    for (int i = 0; i < 16; i++) {
+      organization.addMember(new OrganizationMember("new-" + i, Role.Member.name()));
+    }
+
+    List<MemberSpec> specs = memberChanges(members, organization);
+
+    assertEquals(16, specs.size());
+    assertEquals(
+        MemberSpec.arrayAppend("members", member("new-15", Role.Member)), specs.get(15));
+  }
+
+  @Test
+  void shouldReplaceWholeMembersArrayBeyondSixteenChanges() {
+    organization.removeMember("a");
+    for (int i = 0; i < 16; i++) {
+      organization.addMember(new OrganizationMember("new-" + i, Role.Member.name()));
+    }
+
+    List<MemberSpec> specs = memberChanges(members, organization);
+
+    JsonArray array =
+        JsonArray.from(
+            member("owner", Role.Owner),
+            member("b", Role.Member),
+            member("c", Role.Member),
+            member("d", Role.Member));
+    for (int i = 0; i < 16; i++) {
+      array.add(member("new-" + i, Role.Member));
+    }
+    assertEquals(Arrays.asList(MemberSpec.replace("members", array)), specs);
+  }
+
+  private static JsonObject member(String userId, Role role) {
+    return JsonObject.create().put("id", userId).put("role", role.name());
+  }
+}
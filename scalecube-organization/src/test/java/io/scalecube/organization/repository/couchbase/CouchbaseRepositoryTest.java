@@ -0,0 +1,123 @@
+package io.scalecube.organization.repository.couchbase;
+
+import static io.scalecube.organization.repository.couchbase.CouchbaseRepository.toJsonBytes;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.couchbase.client.core.message.ResponseStatus;
+import com.couchbase.client.core.message.kv.subdoc.multi.Lookup;
+import com.couchbase.client.java.error.subdoc.PathNotFoundException;
+import com.couchbase.client.java.subdoc.DocumentFragment;
+import com.couchbase.client.java.subdoc.SubdocOperationResult;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.scalecube.account.api.OrganizationMember;
+import io.scalecube.account.api.Role;
+import io.scalecube.organization.domain.Organization;
+import io.scalecube.organization.tokens.JwtApiKey;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class CouchbaseRepositoryTest {
+
+  private static final String[] FIELDS = {"id", "name", "email", "members"};
+
+  private final JacksonTranslationService service = new JacksonTranslationService();
+
+  @Test
+  void shouldAssembleFoundFields() {
+    byte[] json = toJsonBytes(lookup(document(), FIELDS), FIELDS);
+
+    assertEquals(
+        "{\"id\":\"org-id\",\"name\":\"org-name\",\"email\":\"test@scalecube.io\","
+            + "\"members\":[{\"id\":\"owner\",\"role\":\"Owner\"},"
+            + "{\"id\":\"member\",\"role\":\"Admin\"}]}",
+        new String(json, StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void shouldLeaveOutMissingFields() {
+    ObjectNode document = document();
+    document.remove("email");
+    document.remove("members");
+
+    byte[] json = toJsonBytes(lookup(document, FIELDS), FIELDS);
+
+    assertEquals(
+        "{\"id\":\"org-id\",\"name\":\"org-name\"}", new String(json, StandardCharsets.UTF_8));
+    Organization organization = service.decode(json, Organization.class);
+    assertNull(organization.email());
+    assertTrue(organization.members().isEmpty());
+  }
+
+  @Test
+  void shouldDecodeFoundFields() {
+    Organization organization =
+        service.decode(toJsonBytes(lookup(document(), FIELDS), FIELDS), Organization.class);
+
+    assertEquals("org-id", organization.id());
+    assertEquals("test@scalecube.io", organization.email());
+    assertEquals(2, organization.members().size());
+    assertEquals(Role.Owner, organization.role("owner"));
+    assertEquals(Role.Admin, organization.role("member"));
+    assertTrue(organization.isLastOwner("owner"));
+  }
+
+  @Test
+  void shouldReadMembershipWithoutApiKeys() {
+    // an organization read this way must never be saved whole, that would wipe its API keys
+    String[] fields = CouchbaseOrganizationsRepository.MEMBERSHIP_FIELDS;
+
+    Organization organization =
+        service.decode(toJsonBytes(lookup(document(), fields), fields), Organization.class);
+
+    assertEquals(2, organization.members().size());
+    assertTrue(organization.apiKeys().isEmpty());
+  }
+
+  /** Returns the stored document of an organization with two members and an API key. */
+  private ObjectNode document() {
+    Organization organization =
+        new Organization("org-id", "org-name", "test@scalecube.io", "owner");
+    organization.addMember(new OrganizationMember("member", Role.Admin.name()));
+    organization.addApiKey(
+        new JwtApiKey("key", Collections.singletonMap("role", "Owner"), "token", "key-id"));
+    try {
+      return (ObjectNode) new ObjectMapper().readTree(service.encodeToBytes(organization));
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  /** Returns the result of a raw sub-document lookup of the fields of the document. */
+  private static DocumentFragment<Lookup> lookup(JsonNode document, String... fields) {
+    List<SubdocOperationResult<Lookup>> results = new ArrayList<>();
+    for (String field : fields) {
+      JsonNode value = document.get(field);
+      if (value == null) {
+        results.add(
+            SubdocOperationResult.createError(
+                field,
+                Lookup.GET,
+                ResponseStatus.SUBDOC_PATH_NOT_FOUND,
+                new PathNotFoundException("org-id", field)));
+      } else {
+        results.add(
+            SubdocOperationResult.createResult(
+                field,
+                Lookup.GET,
+                ResponseStatus.SUCCESS,
+                null,
+                value.toString().getBytes(StandardCharsets.UTF_8)));
+      }
+    }
+    return new DocumentFragment<>("org-id", 1, null, results);
+  }
+}
@@ -7,7 +7,10 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import io.scalecube.account.api.OrganizationMember;
 import io.scalecube.account.api.Role;
 import io.scalecube.organization.domain.Organization;
+import io.scalecube.organization.tokens.JwtApiKey;
 import io.scalecube.security.api.Profile;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
 import org.junit.jupiter.api.Test;
 
 class JacksonTranslationServiceTest {
@@ -60,4 +63,80 @@ class JacksonTranslationServiceTest {
     assertThat(org.email(), is(email));
     assertThat(org.members().iterator().next().id(), is(ownerUserId));
   }
+
+  @Test
+  void shouldDecodeOrganizationFromBytes() {
+    JacksonTranslationService service = new JacksonTranslationService();
+    byte[] bytes =
+        service.encodeToBytes(new Organization("org-id", "org-name", "test@scalecube.io", "1"));
+
+    Organization org = service.decode(bytes, Organization.class);
+
+    assertThat(org.id(), is("org-id"));
+    assertThat(org.name(), is("org-name"));
+    assertThat(org.members().iterator().next().id(), is("1"));
+  }
+
+  @Test
+  void shouldDecodeOrganizationNestedUnderField() {
+    JacksonTranslationService service = new JacksonTranslationService();
+    String row =
+        "{\"organizations\":"
+            + service.encode(new Organization("org-id", "org-name", "test@scalecube.io", "1"))
+            + "}";
+
+    Organization org =
+        service.decode(row.getBytes(StandardCharsets.UTF_8), "organizations", Organization.class);
+
+    assertThat(org.id(), is("org-id"));
+    assertThat(org.email(), is("test@scalecube.io"));
+  }
+
+  @Test
+  void shouldDecodeDeflatedApiKeys() {
+    JacksonTranslationService service = new JacksonTranslationService(ApiKeysEncoding.DEFLATE);
+    Organization organization = new Organization("org-id", "org-name", "test@scalecube.io", "1");
+    organization.addApiKey(
+        new JwtApiKey("key", Collections.singletonMap("role", "Owner"), "token", "key-id"));
+
+    String s = service.encode(organization);
+    Organization org = service.decode(s, Organization.class);
+
+    assertThat(s.contains("\"apiKeys\":["), is(false));
+    assertThat(org.apiKeys().size(), is(1));
+    assertThat(org.apiKeys().iterator().next().name(), is("key"));
+    assertThat(org.apiKeys().iterator().next().claims().get("role"), is("Owner"));
+  }
+
+  @Test
+  void shouldDecodeJsonApiKeysWithDeflateEncoding() {
+    Organization organization = new Organization("org-id", "org-name", "test@scalecube.io", "1");
+    organization.addApiKey(
+        new JwtApiKey("key", Collections.singletonMap("role", "Owner"), "token", "key-id"));
+    String s = new JacksonTranslationService().encode(organization);
+
+    Organization org =
+        new JacksonTranslationService(ApiKeysEncoding.DEFLATE).decode(s, Organization.class);
+
+    assertThat(org.apiKeys().size(), is(1));
+    assertThat(org.apiKeys().iterator().next().name(), is("key"));
+  }
+
+  @Test
+  void shouldDecodeMembersArray() {
+    JacksonTranslationService service = new JacksonTranslationService();
+    String s =
+        "{\"id\":\"org-id\",\"name\":\"org-name\",\"email\":\"test@scalecube.io\","
+            + "\"members\":[{\"id\":\"1\",\"role\":\"Owner\"},"
+            + "{\"id\":\"2\",\"role\":\"Member\"}],\"apiKeys\":[]}";
+
+    Organization org = service.decode(s, Organization.class);
+
+    assertThat(org.members().size(), is(2));
+    assertThat(org.role("2"), is(Role.Member));
+    assertThat(org.isLastOwner("1"), is(true));
+    assertThat(
+        service.encode(org).contains("\"members\":[{\"id\":\"1\",\"role\":\"Owner\"},"),
+        is(true));
+  }
 }
@@ -0,0 +1,60 @@
+package io.scalecube.organization.repository.couchbase;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.couchbase.client.core.lang.Tuple2;
+import com.couchbase.client.core.message.ResponseStatus;
+import com.couchbase.client.deps.io.netty.buffer.ByteBuf;
+import com.couchbase.client.deps.io.netty.buffer.Unpooled;
+import com.couchbase.client.java.error.TranscodingException;
+import com.couchbase.client.java.transcoder.TranscoderUtils;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+class JsonBytesTranscoderTest {
+
+  private static final byte[] JSON = "{\"id\":\"org-id\"}".getBytes(StandardCharsets.UTF_8);
+
+  private final JsonBytesTranscoder transcoder = new JsonBytesTranscoder();
+
+  @Test
+  void shouldEncodeAsJson() {
+    Tuple2<ByteBuf, Integer> encoded = transcoder.encode(JsonBytesDocument.create("id", JSON, 0));
+
+    assertThat(TranscoderUtils.hasJsonFlags(encoded.value2()), is(true));
+    assertArrayEquals(JSON, TranscoderUtils.copyByteBufToByteArray(encoded.value1()));
+  }
+
+  @Test
+  void shouldDecodeJsonBytes() {
+    JsonBytesDocument document =
+        transcoder.decode(
+            "id",
+            Unpooled.copiedBuffer(JSON),
+            42,
+            0,
+            TranscoderUtils.JSON_COMPAT_FLAGS,
+            ResponseStatus.SUCCESS);
+
+    assertThat(document.id(), is("id"));
+    assertThat(document.cas(), is(42L));
+    assertArrayEquals(JSON, document.content());
+  }
+
+  @Test
+  void shouldRejectNonJsonDocument() {
+    assertThrows(
+        TranscodingException.class,
+        () ->
+            transcoder.decode(
+                "id",
+                Unpooled.copiedBuffer(JSON),
+                42,
+                0,
+                TranscoderUtils.BINARY_COMPAT_FLAGS,
+                ResponseStatus.SUCCESS));
+  }
+}
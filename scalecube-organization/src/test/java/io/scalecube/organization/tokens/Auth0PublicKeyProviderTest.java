@@ -0,0 +1,135 @@
+package io.scalecube.organization.tokens;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.test.StepVerifier;
+
+class Auth0PublicKeyProviderTest {
+
+  private static final String KEY_ID = "42";
+
+  private final AtomicInteger requests = new AtomicInteger();
+  private final AtomicInteger failures = new AtomicInteger();
+
+  private KeyPair keyPair;
+  private DisposableServer server;
+  private Auth0PublicKeyProvider publicKeyProvider;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+    keyPairGenerator.initialize(2048);
+    keyPair = keyPairGenerator.generateKeyPair();
+
+    String jwks = jwks((RSAPublicKey) keyPair.getPublic());
+
+    server =
+        HttpServer.create()
+            .host("localhost")
+            .port(0)
+            .route(
+                routes ->
+                    routes.get(
+                        "/.well-known/jwks.json",
+                        (request, response) -> {
+                          requests.incrementAndGet();
+                          if (failures.getAndDecrement() > 0) {
+                            return response.status(503).send();
+                          }
+                          return response
+                              .header("Content-Type", "application/json")
+                              .sendString(Mono.just(jwks));
+                        }))
+            .bindNow();
+
+    publicKeyProvider =
+        new Auth0PublicKeyProvider(
+            JwksClient.builder()
+                .responseTimeout(Duration.ofSeconds(2))
+                .retry(2, Duration.ofMillis(10), Duration.ofMillis(50))
+                .build(),
+            JwksCache.builder());
+  }
+
+  @AfterEach
+  void tearDown() {
+    server.disposeNow();
+  }
+
+  @Test
+  void shouldFetchPublicKeyOnce() {
+    String token = token(KEY_ID);
+
+    StepVerifier.create(publicKeyProvider.getPublicKey(token))
+        .expectNext(keyPair.getPublic())
+        .verifyComplete();
+    StepVerifier.create(publicKeyProvider.getPublicKey(token))
+        .expectNext(keyPair.getPublic())
+        .verifyComplete();
+
+    assertEquals(1, requests.get());
+  }
+
+  @Test
+  void shouldRetryOnServerError() {
+    failures.set(2);
+
+    StepVerifier.create(publicKeyProvider.getPublicKey(token(KEY_ID)))
+        .expectNext(keyPair.getPublic())
+        .verifyComplete();
+
+    assertEquals(3, requests.get());
+  }
+
+  @Test
+  void shouldFailOnUnknownKeyId() {
+    StepVerifier.create(publicKeyProvider.getPublicKey(token("unknown")))
+        .expectError(InvalidTokenException.class)
+        .verify();
+  }
+
+  @Test
+  void shouldFailWhenIssuerIsUnavailable() {
+    failures.set(Integer.MAX_VALUE);
+
+    StepVerifier.create(publicKeyProvider.getPublicKey(token(KEY_ID)))
+        .expectError(InvalidTokenException.class)
+        .verify();
+
+    assertEquals(3, requests.get());
+  }
+
+  private String token(String kid) {
+    return Jwts.builder()
+        .setHeaderParam("kid", kid)
+        .setIssuer("http://localhost:" + server.port() + "/")
+        .setSubject("1")
+        .signWith(keyPair.getPrivate(), SignatureAlgorithm.RS256)
+        .compact();
+  }
+
+  private static String jwks(RSAPublicKey publicKey) {
+    Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+    return "{\"keys\":[{\"kty\":\"RSA\",\"kid\":\""
+        + KEY_ID
+        + "\",\"alg\":\"RS256\",\"use\":\"sig\",\"n\":\""
+        + encoder.encodeToString(publicKey.getModulus().toByteArray())
+        + "\",\"e\":\""
+        + encoder.encodeToString(publicKey.getPublicExponent().toByteArray())
+        + "\"}]}";
+  }
+}
@@ -0,0 +1,155 @@
+package io.scalecube.organization.tokens;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.security.KeyPairGenerator;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+class JwksCacheTest {
+
+  private static final String ISSUER = "https://issuer/";
+
+  private final AtomicLong clock = new AtomicLong();
+  private final AtomicInteger loads = new AtomicInteger();
+  private PublicKey publicKey;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    publicKey = KeyPairGenerator.getInstance("RSA").generateKeyPair().getPublic();
+  }
+
+  private JwksCache.Builder cache(BlockingKeyLoader loader) {
+    return JwksCache.builder()
+        .loader(
+            (issuer, kid) -> {
+              loads.incrementAndGet();
+              return Mono.fromCallable(() -> loader.load(issuer, kid));
+            })
+        .ttl(Duration.ofNanos(100))
+        .refreshAhead(Duration.ofNanos(80))
+        .negativeTtl(Duration.ofNanos(10))
+        .clock(clock::get);
+  }
+
+  @Test
+  void concurrentMissesShouldLoadOnce() throws Exception {
+    CountDownLatch loading = new CountDownLatch(1);
+    JwksCache cache =
+        cache(
+                (issuer, kid) -> {
+                  try {
+                    loading.await(5, TimeUnit.SECONDS);
+                  } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                  }
+                  return Optional.of(publicKey);
+                })
+            .build();
+
+    ExecutorService executor = Executors.newFixedThreadPool(16);
+    try {
+      List<Future<PublicKey>> results = new ArrayList<>();
+      for (int i = 0; i < 100; i++) {
+        results.add(executor.submit(() -> cache.get(ISSUER, "kid").block()));
+      }
+      loading.countDown();
+      for (Future<PublicKey> result : results) {
+        assertSame(publicKey, result.get(5, TimeUnit.SECONDS));
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertEquals(1, loads.get());
+  }
+
+  @Test
+  void unknownKeyShouldBeCachedForNegativeTtl() {
+    JwksCache cache = cache((issuer, kid) -> Optional.empty()).build();
+
+    assertThrows(InvalidTokenException.class, () -> cache.get(ISSUER, "unknown").block());
+    assertThrows(InvalidTokenException.class, () -> cache.get(ISSUER, "unknown").block());
+    assertEquals(1, loads.get());
+
+    clock.addAndGet(10);
+    assertThrows(InvalidTokenException.class, () -> cache.get(ISSUER, "unknown").block());
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  void failedLoadShouldNotBeCached() {
+    AtomicInteger attempts = new AtomicInteger();
+    JwksCache cache =
+        cache(
+                (issuer, kid) -> {
+                  if (attempts.incrementAndGet() == 1) {
+                    throw new InvalidTokenException("unavailable");
+                  }
+                  return Optional.of(publicKey);
+                })
+            .build();
+
+    assertThrows(InvalidTokenException.class, () -> cache.get(ISSUER, "kid").block());
+    assertSame(publicKey, cache.get(ISSUER, "kid").block());
+  }
+
+  @Test
+  void expiredKeyShouldBeReloaded() {
+    JwksCache cache = cache((issuer, kid) -> Optional.of(publicKey)).build();
+
+    cache.get(ISSUER, "kid").block();
+    clock.addAndGet(100);
+    cache.get(ISSUER, "kid").block();
+
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  void keyDueForRefreshShouldBeServedAndReloaded() {
+    JwksCache cache = cache((issuer, kid) -> Optional.of(publicKey)).build();
+
+    cache.get(ISSUER, "kid").block();
+    clock.addAndGet(80);
+    assertSame(publicKey, cache.get(ISSUER, "kid").block());
+    assertEquals(2, loads.get());
+
+    // refreshed entry is fresh again
+    clock.addAndGet(50);
+    cache.get(ISSUER, "kid").block();
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  void cacheShouldBeBounded() {
+    JwksCache cache = cache((issuer, kid) -> Optional.of(publicKey)).maxSize(10).build();
+
+    for (int i = 0; i < 50; i++) {
+      clock.incrementAndGet();
+      cache.get(ISSUER, "kid-" + i).block();
+    }
+
+    assertTrue(cache.size() <= 10);
+  }
+
+  private interface BlockingKeyLoader {
+
+    Optional<PublicKey> load(String issuer, String kid);
+  }
+}
@@ -0,0 +1,71 @@
+package io.scalecube.organization.tokens;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import com.codahale.metrics.MetricRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class KeyPairPoolTest {
+
+  private final MetricRegistry metrics = new MetricRegistry();
+  private KeyPairPool keyPairPool;
+
+  @AfterEach
+  void tearDown() {
+    if (keyPairPool != null) {
+      keyPairPool.shutdown();
+    }
+  }
+
+  private KeyPairPool.Builder pool(int lowWatermark, int highWatermark) {
+    return KeyPairPool.builder()
+        .keySize(512)
+        .watermarks(lowWatermark, highWatermark)
+        .workers(2)
+        .metricRegistry(metrics);
+  }
+
+  @Test
+  void poolShouldBeFilledUpToHighWatermark() throws Exception {
+    keyPairPool = pool(2, 8).build();
+
+    awaitDepth(8);
+  }
+
+  @Test
+  void poolShouldBeRefilledBelowLowWatermark() throws Exception {
+    keyPairPool = pool(4, 8).build();
+    awaitDepth(8);
+
+    for (int i = 0; i < 5; i++) {
+      assertNotNull(keyPairPool.take());
+    }
+
+    awaitDepth(8);
+    assertEquals(0, inlineGenerations());
+  }
+
+  @Test
+  void emptyPoolShouldGenerateInline() {
+    keyPairPool = pool(0, 0).build();
+
+    assertNotNull(keyPairPool.take());
+
+    assertEquals(0, keyPairPool.depth());
+    assertEquals(1, inlineGenerations());
+  }
+
+  private long inlineGenerations() {
+    return metrics.meter(MetricRegistry.name(KeyPairPool.class, "inline-generations")).getCount();
+  }
+
+  private void awaitDepth(int depth) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 10_000;
+    while (keyPairPool.depth() < depth && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    assertEquals(depth, keyPairPool.depth());
+  }
+}
@@ -0,0 +1,49 @@
+package io.scalecube.organization.tokens;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.scalecube.organization.jwt.WebToken;
+import java.security.KeyPair;
+import java.util.Collections;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class ParsedJwtTest {
+
+  @ParameterizedTest
+  @CsvSource({"RSA, 2048, RS256", "EC, 256, ES256", "EC, 384, ES384", "EC, 521, ES512"})
+  void shouldVerifyApiKeySignature(String algorithm, int keySize, String jwsAlgorithm) {
+    KeyPair keyPair = KeyAlgorithm.of(algorithm).newKeyPairGenerator(keySize).generateKeyPair();
+
+    ParsedJwt token = ParsedJwt.parse(apiKey(keyPair));
+
+    assertEquals(jwsAlgorithm, token.header().get("alg"));
+    assertEquals("key-1", token.keyId());
+    token.verifySignature(keyPair.getPublic());
+  }
+
+  @ParameterizedTest
+  @CsvSource({"RSA, 2048", "EC, 256"})
+  void shouldFailOnOtherKey(String algorithm, int keySize) {
+    KeyAlgorithm keyAlgorithm = KeyAlgorithm.of(algorithm);
+    KeyPair keyPair = keyAlgorithm.newKeyPairGenerator(keySize).generateKeyPair();
+    KeyPair otherKeyPair = keyAlgorithm.newKeyPairGenerator(keySize).generateKeyPair();
+
+    ParsedJwt token = ParsedJwt.parse(apiKey(keyPair));
+
+    assertThrows(
+        InvalidTokenException.class, () -> token.verifySignature(otherKeyPair.getPublic()));
+  }
+
+  private static String apiKey(KeyPair keyPair) {
+    return new WebToken("scalecube.io", "org-1")
+        .createToken(
+            "org-1",
+            "org-1",
+            null,
+            "key-1",
+            keyPair.getPrivate(),
+            Collections.singletonMap("role", "Owner"));
+  }
+}
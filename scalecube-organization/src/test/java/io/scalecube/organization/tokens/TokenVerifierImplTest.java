@@ -0,0 +1,78 @@
+package io.scalecube.organization.tokens;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.scalecube.account.api.Token;
+import io.scalecube.organization.fixtures.InMemoryPublicKeyProvider;
+import io.scalecube.security.api.Profile;
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+class TokenVerifierImplTest {
+
+  private final TokenVerifier tokenVerifier = new TokenVerifierImpl(new InMemoryPublicKeyProvider());
+
+  private final Profile profile =
+      Profile.builder()
+          .userId("1")
+          .tenant("tenant")
+          .email("user1@gmail.com")
+          .emailVerified(true)
+          .name("foo")
+          .familyName("fname")
+          .givenName("lname")
+          .claims(Collections.singletonMap("role", "admin"))
+          .build();
+
+  @Test
+  void shouldVerifyToken() {
+    StepVerifier.create(tokenVerifier.verify(InMemoryPublicKeyProvider.token(profile)))
+        .assertNext(
+            result -> {
+              assertEquals(profile.userId(), result.userId());
+              assertEquals(profile.tenant(), result.tenant());
+              assertEquals(profile.email(), result.email());
+              assertTrue(result.isEmailVerified());
+              assertEquals(profile.name(), result.name());
+              assertEquals(profile.familyName(), result.familyName());
+              assertEquals(profile.givenName(), result.givenName());
+              assertEquals("admin", result.claims().get("role"));
+            })
+        .verifyComplete();
+  }
+
+  @Test
+  void shouldFailOnTamperedClaims() {
+    String[] parts = InMemoryPublicKeyProvider.token(profile).token().split("\\.");
+    String otherClaims =
+        InMemoryPublicKeyProvider.token(Profile.builder().userId("2").build())
+            .token()
+            .split("\\.")[1];
+
+    Token token = new Token(parts[0] + "." + otherClaims + "." + parts[2]);
+
+    StepVerifier.create(tokenVerifier.verify(token))
+        .expectError(InvalidTokenException.class)
+        .verify();
+  }
+
+  @Test
+  void shouldFailOnUnsignedToken() {
+    String[] parts = InMemoryPublicKeyProvider.token(profile).token().split("\\.");
+    // {"alg":"none"}
+    Token token = new Token("eyJhbGciOiJub25lIn0." + parts[1] + ".");
+
+    StepVerifier.create(tokenVerifier.verify(token))
+        .expectError(InvalidTokenException.class)
+        .verify();
+  }
+
+  @Test
+  void shouldFailOnExpiredToken() {
+    StepVerifier.create(tokenVerifier.verify(InMemoryPublicKeyProvider.expiredToken(profile)))
+        .expectError(InvalidTokenException.class)
+        .verify();
+  }
+}
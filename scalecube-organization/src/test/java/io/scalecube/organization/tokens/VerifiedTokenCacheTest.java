@@ -0,0 +1,91 @@
+package io.scalecube.organization.tokens;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.codahale.metrics.MetricRegistry;
+import io.scalecube.security.api.Profile;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class VerifiedTokenCacheTest {
+
+  private final AtomicLong clock = new AtomicLong(1_000_000);
+
+  private final VerifiedTokenCache cache =
+      VerifiedTokenCache.builder().maxTtl(Duration.ofMillis(1000)).clock(clock::get).build();
+
+  private static Profile profile(Long exp) {
+    return Profile.builder()
+        .userId("1")
+        .claims(exp != null ? Collections.singletonMap("exp", exp) : Collections.emptyMap())
+        .build();
+  }
+
+  @Test
+  void shouldReturnCachedProfile() {
+    Profile profile = profile(null);
+    cache.put("token", profile);
+
+    assertSame(profile, cache.get("token"));
+    assertNull(cache.get("another-token"));
+  }
+
+  @Test
+  void shouldExpireAtMaxTtl() {
+    cache.put("token", profile(null));
+
+    clock.addAndGet(1000);
+    assertNull(cache.get("token"));
+  }
+
+  @Test
+  void shouldExpireAtTokenExpiration() {
+    // exp is in seconds, earlier than max ttl
+    cache.put("token", profile(clock.get() / 1000));
+
+    assertNull(cache.get("token"));
+  }
+
+  @Test
+  void shouldBeBounded() {
+    VerifiedTokenCache cache =
+        VerifiedTokenCache.builder().maxSize(10).clock(clock::get).build();
+
+    for (int i = 0; i < 50; i++) {
+      cache.put("token-" + i, profile(null));
+    }
+
+    assertTrue(cache.size() <= 10);
+  }
+
+  @Test
+  void shouldEvictBatchOfEntriesWhenFull() {
+    VerifiedTokenCache cache =
+        VerifiedTokenCache.builder().maxSize(100).clock(clock::get).build();
+    for (int i = 0; i < 100; i++) {
+      cache.put("token-" + i, profile(null));
+    }
+
+    cache.put("token-100", profile(null));
+
+    assertEquals(91, cache.size());
+  }
+
+  @Test
+  void shouldShareMetricRegistry() {
+    MetricRegistry registry = new MetricRegistry();
+    VerifiedTokenCache.builder().metricRegistry(registry).build();
+    VerifiedTokenCache cache = VerifiedTokenCache.builder().metricRegistry(registry).build();
+
+    cache.get("token");
+
+    assertEquals(1, registry.getGauges().size());
+    assertEquals(
+        1, registry.meter(MetricRegistry.name(VerifiedTokenCache.class, "misses")).getCount());
+  }
+}
@@ -0,0 +1,126 @@
+package io.scalecube.organization.tokens.store;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.scalecube.organization.domain.ApiKeysCleanup;
+import io.scalecube.organization.domain.Organization;
+import io.scalecube.organization.fixtures.InMemoryOrganizationRepository;
+import io.scalecube.organization.tokens.KeyStoreException;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+class ApiKeysCleanupWorkerTest {
+
+  private final InMemoryOrganizationRepository repository = new InMemoryOrganizationRepository();
+  private final RecordingKeyStore keyStore = new RecordingKeyStore();
+  private final ApiKeysCleanupWorker worker =
+      ApiKeysCleanupWorker.builder()
+          .repository(repository)
+          .keyStore(keyStore)
+          .concurrency(4)
+          .build();
+
+  @Test
+  void shouldDeleteAllKeysAndRemoveCleanup() {
+    List<String> keyIds =
+        IntStream.range(0, 100).mapToObj(i -> "key-" + i).collect(Collectors.toList());
+    ApiKeysCleanup cleanup = new ApiKeysCleanup("org-1", keyIds);
+
+    worker.schedule(cleanup).then(worker.run(cleanup)).block();
+
+    assertEquals(new HashSet<>(keyIds), keyStore.deleted);
+    assertEquals(0L, (long) repository.findApiKeysCleanups().count().block());
+  }
+
+  @Test
+  void shouldKeepFailedKeysUntilNextSweep() {
+    keyStore.failing.add("key-2");
+    ApiKeysCleanup cleanup = new ApiKeysCleanup("org-1", Arrays.asList("key-1", "key-2"));
+
+    worker.schedule(cleanup).then(worker.run(cleanup)).block();
+
+    ApiKeysCleanup remaining = repository.findApiKeysCleanups().blockFirst();
+    assertEquals(Collections.singletonList("key-2"), remaining.keyIds());
+
+    keyStore.failing.clear();
+    worker.sweep().block();
+
+    assertTrue(keyStore.deleted.contains("key-2"));
+    assertEquals(0L, (long) repository.findApiKeysCleanups().count().block());
+  }
+
+  @Test
+  void shouldSkipCleanupOfExistingOrganization() {
+    Organization organization = new Organization("org-1", "org", "org@scalecube.io", "user-1");
+    repository.save(organization.id(), organization).block();
+    ApiKeysCleanup cleanup = new ApiKeysCleanup("org-1", Collections.singletonList("key-1"));
+
+    worker.schedule(cleanup).then(worker.sweep()).block();
+
+    assertTrue(keyStore.deleted.isEmpty());
+    assertEquals(1L, (long) repository.findApiKeysCleanups().count().block());
+  }
+
+  @Test
+  void shouldCancelCleanupOfOrganizationWhichFailedToBeDeleted() {
+    Organization organization = new Organization("org-1", "org", "org@scalecube.io", "user-1");
+    repository.save(organization.id(), organization).block();
+    ApiKeysCleanup cleanup = new ApiKeysCleanup("org-1", Collections.singletonList("key-1"));
+
+    worker.schedule(cleanup).then(worker.cancel(cleanup)).block();
+
+    assertEquals(0L, (long) repository.findApiKeysCleanups().count().block());
+  }
+
+  @Test
+  void shouldKeepCancelledCleanupOfDeletedOrganization() {
+    ApiKeysCleanup cleanup = new ApiKeysCleanup("org-1", Collections.singletonList("key-1"));
+
+    worker.schedule(cleanup).then(worker.cancel(cleanup)).then(worker.sweep()).block();
+
+    assertTrue(keyStore.deleted.contains("key-1"));
+    assertEquals(0L, (long) repository.findApiKeysCleanups().count().block());
+  }
+
+  private static class RecordingKeyStore implements KeyStore {
+
+    private final Set<String> deleted = ConcurrentHashMap.newKeySet();
+    private final Set<String> failing = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public Mono<Void> store(String alias, KeyPair keyPair) {
+      return Mono.empty();
+    }
+
+    @Override
+    public Mono<PublicKey> getPublicKey(String keyId) {
+      return Mono.empty();
+    }
+
+    @Override
+    public Mono<PrivateKey> getPrivateKey(String keyId) {
+      return Mono.empty();
+    }
+
+    @Override
+    public Mono<Void> delete(String keyId) {
+      return Mono.defer(
+          () ->
+              failing.contains(keyId)
+                  ? Mono.error(new KeyStoreException("unavailable"))
+                  : Mono.fromRunnable(() -> deleted.add(keyId)));
+    }
+  }
+}
@@ -0,0 +1,80 @@
+package io.scalecube.organization.tokens.store;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.codahale.metrics.MetricRegistry;
+import java.security.KeyPairGenerator;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PublicKeyCacheTest {
+
+  private final MetricRegistry metrics = new MetricRegistry();
+  private final AtomicLong clock = new AtomicLong(1_000_000);
+  private PublicKey publicKey;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    publicKey = KeyPairGenerator.getInstance("RSA").generateKeyPair().getPublic();
+  }
+
+  @Test
+  void cachedKeyShouldBeServedUntilInvalidated() {
+    PublicKeyCache cache = PublicKeyCache.builder().metricRegistry(metrics).build();
+
+    assertNull(cache.get("key"));
+    cache.putIfValid("key", publicKey, cache.stamp());
+    assertSame(publicKey, cache.get("key"));
+
+    cache.invalidate("key");
+    assertNull(cache.get("key"));
+
+    assertEquals(1, metrics.meter(MetricRegistry.name(PublicKeyCache.class, "hits")).getCount());
+    assertEquals(2, metrics.meter(MetricRegistry.name(PublicKeyCache.class, "misses")).getCount());
+  }
+
+  @Test
+  void keyReadBeforeInvalidationShouldNotBeCached() {
+    PublicKeyCache cache = PublicKeyCache.builder().build();
+    cache.put("key", publicKey);
+
+    long stamp = cache.stamp();
+    cache.invalidate("key");
+    cache.putIfValid("key", publicKey, stamp);
+
+    assertNull(cache.get("key"));
+  }
+
+  @Test
+  void keyDeletedOnAnotherNodeShouldNotBeServedAfterTtl() {
+    PublicKeyCache deletingNode = PublicKeyCache.builder().build();
+    PublicKeyCache cache =
+        PublicKeyCache.builder().ttl(Duration.ofMillis(1000)).clock(clock::get).build();
+    deletingNode.put("key", publicKey);
+    cache.putIfValid("key", publicKey, cache.stamp());
+
+    deletingNode.invalidate("key");
+    clock.addAndGet(999);
+    assertSame(publicKey, cache.get("key"));
+
+    clock.addAndGet(1);
+    assertNull(cache.get("key"));
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  void cacheShouldBeBounded() {
+    PublicKeyCache cache = PublicKeyCache.builder().maxSize(10).build();
+
+    for (int i = 0; i < 50; i++) {
+      cache.put("key-" + i, publicKey);
+    }
+
+    assertEquals(10, cache.size());
+  }
+}
@@ -0,0 +1,115 @@
+package io.scalecube.organization.tokens.store;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+import reactor.test.StepVerifier;
+
+class VaultClientTest {
+
+  private static final String PATH = "secret/organization-service/api-keys/42";
+
+  private final Map<String, String> secrets = new ConcurrentHashMap<>();
+  private final AtomicInteger failures = new AtomicInteger();
+  private final AtomicInteger logins = new AtomicInteger();
+
+  private volatile String validToken = "token-1";
+  private DisposableServer server;
+  private VaultClient vaultClient;
+
+  @BeforeEach
+  void setUp() {
+    server =
+        HttpServer.create()
+            .host("localhost")
+            .port(0)
+            .handle(this::handle)
+            .bindNow();
+
+    vaultClient =
+        VaultClient.builder()
+            .address("http://localhost:" + server.port())
+            .tokenSupplier(() -> "token-" + logins.incrementAndGet())
+            .engineVersion(2)
+            .retry(2, Duration.ofMillis(10), Duration.ofMillis(50))
+            .build();
+  }
+
+  @AfterEach
+  void tearDown() {
+    server.disposeNow();
+  }
+
+  private Mono<Void> handle(HttpServerRequest request, HttpServerResponse response) {
+    if (!validToken.equals(request.requestHeaders().get("X-Vault-Token"))) {
+      return response.status(403).send();
+    }
+    if (failures.getAndDecrement() > 0) {
+      return response.status(503).send();
+    }
+    String uri = request.uri();
+    switch (request.method().name()) {
+      case "POST":
+        return request
+            .receive()
+            .aggregate()
+            .asString()
+            .flatMap(
+                body -> {
+                  secrets.put(uri.replace("/data/", "/"), body);
+                  return response.status(204).send().then();
+                });
+      case "GET":
+        String body = secrets.get(uri.replace("/data/", "/"));
+        if (body == null) {
+          return response.status(404).send();
+        }
+        return response.sendString(Mono.just("{\"data\":" + body + "}")).then();
+      case "DELETE":
+        secrets.remove(uri.replace("/metadata/", "/"));
+        return response.status(204).send();
+      default:
+        return response.status(405).send();
+    }
+  }
+
+  @Test
+  void shouldWriteReadAndDeleteSecrets() {
+    Map<String, String> keys = Collections.singletonMap("public-key", "encoded");
+
+    StepVerifier.create(vaultClient.write(PATH, keys)).verifyComplete();
+    StepVerifier.create(vaultClient.read(PATH)).expectNext(keys).verifyComplete();
+    StepVerifier.create(vaultClient.delete(PATH)).verifyComplete();
+    StepVerifier.create(vaultClient.read(PATH)).verifyComplete();
+  }
+
+  @Test
+  void shouldRetryOnServerError() {
+    failures.set(2);
+
+    StepVerifier.create(vaultClient.read(PATH)).verifyComplete();
+  }
+
+  @Test
+  void shouldLoginAgainWhenTokenIsRejected() {
+    StepVerifier.create(vaultClient.read(PATH)).verifyComplete();
+    assertEquals(1, logins.get());
+
+    validToken = "token-2";
+
+    StepVerifier.create(vaultClient.read(PATH)).verifyComplete();
+    assertEquals(2, logins.get());
+  }
+}